@@ -0,0 +1,96 @@
+package ru.hehmdalolkek.shop.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import ru.hehmdalolkek.shop.config.AccessTokenProperties;
+import ru.hehmdalolkek.shop.config.CredentialCacheProperties;
+import ru.hehmdalolkek.shop.security.AccessTokenConfig;
+import ru.hehmdalolkek.shop.security.AccessTokenKeys;
+import ru.hehmdalolkek.shop.security.CachingAuthenticationProvider;
+import ru.hehmdalolkek.shop.security.VerifiedCredentialCache;
+import ru.hehmdalolkek.shop.service.impl.AccessTokenServiceImpl;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthenticationBenchmark {
+
+    private static final String USERNAME = "user";
+
+    private static final String PASSWORD = "password";
+
+    private DaoAuthenticationProvider basicAuthenticationProvider;
+
+    private CachingAuthenticationProvider cachingAuthenticationProvider;
+
+    private JwtAuthenticationProvider jwtAuthenticationProvider;
+
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        PasswordEncoder passwordEncoder = PasswordEncoderFactories.createDelegatingPasswordEncoder();
+        InMemoryUserDetailsManager userDetailsService = new InMemoryUserDetailsManager(User.withUsername(USERNAME)
+                .password(passwordEncoder.encode(PASSWORD))
+                .roles("ADMIN")
+                .build());
+        this.basicAuthenticationProvider = new DaoAuthenticationProvider(passwordEncoder);
+        this.basicAuthenticationProvider.setUserDetailsService(userDetailsService);
+        this.cachingAuthenticationProvider = new CachingAuthenticationProvider(this.basicAuthenticationProvider,
+                userDetailsService, new VerifiedCredentialCache(new CredentialCacheProperties()));
+
+        AccessTokenConfig accessTokenConfig = new AccessTokenConfig();
+        AccessTokenProperties accessTokenProperties = new AccessTokenProperties();
+        AccessTokenKeys accessTokenKeys = new AccessTokenKeys(accessTokenProperties, true);
+        this.jwtAuthenticationProvider = new JwtAuthenticationProvider(accessTokenConfig.jwtDecoder(accessTokenKeys));
+        this.jwtAuthenticationProvider.setJwtAuthenticationConverter(accessTokenConfig.jwtAuthenticationConverter());
+
+        Authentication authentication = this.cachingAuthenticationProvider.authenticate(credentials());
+        this.accessToken = new AccessTokenServiceImpl(
+                accessTokenConfig.jwtEncoder(accessTokenKeys), accessTokenKeys, accessTokenProperties)
+                .issueAccessToken(authentication)
+                .getAccessToken();
+    }
+
+    @Benchmark
+    public Authentication basic() {
+        return this.basicAuthenticationProvider.authenticate(credentials());
+    }
+
+    @Benchmark
+    public Authentication cachedBasic() {
+        return this.cachingAuthenticationProvider.authenticate(credentials());
+    }
+
+    @Benchmark
+    public Authentication bearerToken() {
+        return this.jwtAuthenticationProvider.authenticate(new BearerTokenAuthenticationToken(this.accessToken));
+    }
+
+    private static Authentication credentials() {
+        return UsernamePasswordAuthenticationToken.unauthenticated(USERNAME, PASSWORD);
+    }
+
+}
@@ -0,0 +1,70 @@
+package ru.hehmdalolkek.shop.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.hehmdalolkek.shop.model.Product;
+import ru.hehmdalolkek.shop.web.dto.ProductDto;
+import ru.hehmdalolkek.shop.web.mapper.ProductMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductMapperBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int size;
+
+    private List<Product> products;
+
+    private List<ProductDto> productDtos;
+
+    @Setup
+    public void setUp() {
+        this.products = new ArrayList<>(this.size);
+        this.productDtos = new ArrayList<>(this.size);
+        for (int i = 1; i <= this.size; i++) {
+            Product product = new Product();
+            product.setId(i);
+            product.setTitle("Product " + i);
+            product.setPrice(i + 0.99);
+            product.setActive(true);
+            this.products.add(product);
+            this.productDtos.add(ProductMapper.INSTANCE.productToProductDto(product));
+        }
+    }
+
+    @Benchmark
+    public List<ProductDto> productToProductDto() {
+        List<ProductDto> productDtos = new ArrayList<>(this.products.size());
+        for (Product product : this.products) {
+            productDtos.add(ProductMapper.INSTANCE.productToProductDto(product));
+        }
+        return productDtos;
+    }
+
+    @Benchmark
+    public List<Product> productDtoToProduct() {
+        List<Product> products = new ArrayList<>(this.productDtos.size());
+        for (ProductDto productDto : this.productDtos) {
+            products.add(ProductMapper.INSTANCE.productDtoToProduct(productDto));
+        }
+        return products;
+    }
+
+}
@@ -0,0 +1,81 @@
+package ru.hehmdalolkek.shop.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.RowMapper;
+import ru.hehmdalolkek.shop.dao.mapper.ProductDtoRowMapper;
+import ru.hehmdalolkek.shop.model.Product;
+import ru.hehmdalolkek.shop.web.dto.ProductDto;
+import ru.hehmdalolkek.shop.web.mapper.ProductMapper;
+
+import javax.sql.rowset.CachedRowSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductReadPathBenchmark {
+
+    @Param({"1000", "10000"})
+    private int rows;
+
+    private CachedRowSet resultSet;
+
+    private final RowMapper<Product> byNameProductRowMapper = (rs, rowNum) -> {
+        Product product = new Product();
+        product.setId(rs.getInt("product_id"));
+        product.setTitle(rs.getString("title"));
+        product.setPrice(rs.getDouble("price"));
+        product.setActive(rs.getBoolean("active"));
+        return product;
+    };
+
+    private final ProductDtoRowMapper productDtoRowMapper = new ProductDtoRowMapper();
+
+    @Setup
+    public void setUp() throws SQLException {
+        this.resultSet = ProductResultSets.activeProducts(this.rows);
+    }
+
+    @Benchmark
+    public List<ProductDto> byNameProductThenMapStruct() throws SQLException {
+        List<Product> products = new ArrayList<>();
+        this.resultSet.beforeFirst();
+        int rowNum = 0;
+        while (this.resultSet.next()) {
+            products.add(this.byNameProductRowMapper.mapRow(this.resultSet, rowNum++));
+        }
+        List<ProductDto> productDtos = new ArrayList<>();
+        for (Product product : products) {
+            productDtos.add(ProductMapper.INSTANCE.productToProductDto(product));
+        }
+        return productDtos;
+    }
+
+    @Benchmark
+    public List<ProductDto> byIndexProductDto() throws SQLException {
+        List<ProductDto> productDtos = new ArrayList<>();
+        this.resultSet.beforeFirst();
+        int rowNum = 0;
+        while (this.resultSet.next()) {
+            productDtos.add(this.productDtoRowMapper.mapRow(this.resultSet, rowNum++));
+        }
+        return productDtos;
+    }
+
+}
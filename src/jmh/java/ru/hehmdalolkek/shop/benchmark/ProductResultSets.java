@@ -0,0 +1,42 @@
+package ru.hehmdalolkek.shop.benchmark;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+import javax.sql.rowset.RowSetProvider;
+import java.sql.SQLException;
+import java.sql.Types;
+
+final class ProductResultSets {
+
+    private ProductResultSets() {
+    }
+
+    static CachedRowSet activeProducts(int rows) throws SQLException {
+        RowSetMetaDataImpl metaData = new RowSetMetaDataImpl();
+        metaData.setColumnCount(4);
+        addColumn(metaData, 1, "product_id", Types.INTEGER);
+        addColumn(metaData, 2, "title", Types.VARCHAR);
+        addColumn(metaData, 3, "price", Types.DOUBLE);
+        addColumn(metaData, 4, "active", Types.BOOLEAN);
+        CachedRowSet resultSet = RowSetProvider.newFactory().createCachedRowSet();
+        resultSet.setMetaData(metaData);
+        for (int i = 1; i <= rows; i++) {
+            resultSet.moveToInsertRow();
+            resultSet.updateInt(1, i);
+            resultSet.updateString(2, "Product " + i);
+            resultSet.updateDouble(3, i + 0.99);
+            resultSet.updateBoolean(4, true);
+            resultSet.insertRow();
+        }
+        resultSet.moveToCurrentRow();
+        return resultSet;
+    }
+
+    private static void addColumn(RowSetMetaDataImpl metaData, int column, String name, int type)
+            throws SQLException {
+        metaData.setColumnName(column, name);
+        metaData.setColumnLabel(column, name);
+        metaData.setColumnType(column, type);
+    }
+
+}
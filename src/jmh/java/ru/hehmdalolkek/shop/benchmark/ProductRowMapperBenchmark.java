@@ -0,0 +1,69 @@
+package ru.hehmdalolkek.shop.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.hehmdalolkek.shop.dao.mapper.ProductDtoRowMapper;
+import ru.hehmdalolkek.shop.dao.mapper.ProductRowMapper;
+import ru.hehmdalolkek.shop.model.Product;
+import ru.hehmdalolkek.shop.web.dto.ProductDto;
+
+import javax.sql.rowset.CachedRowSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductRowMapperBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int rows;
+
+    private CachedRowSet resultSet;
+
+    private final ProductRowMapper productRowMapper = new ProductRowMapper();
+
+    private final ProductDtoRowMapper productDtoRowMapper = new ProductDtoRowMapper();
+
+    @Setup
+    public void setUp() throws SQLException {
+        this.resultSet = ProductResultSets.activeProducts(this.rows);
+    }
+
+    @Benchmark
+    public List<Product> productRowMapper() throws SQLException {
+        List<Product> products = new ArrayList<>();
+        this.resultSet.beforeFirst();
+        int rowNum = 0;
+        while (this.resultSet.next()) {
+            products.add(this.productRowMapper.mapRow(this.resultSet, rowNum++));
+        }
+        return products;
+    }
+
+    @Benchmark
+    public List<ProductDto> productDtoRowMapper() throws SQLException {
+        List<ProductDto> productDtos = new ArrayList<>();
+        this.resultSet.beforeFirst();
+        int rowNum = 0;
+        while (this.resultSet.next()) {
+            productDtos.add(this.productDtoRowMapper.mapRow(this.resultSet, rowNum++));
+        }
+        return productDtos;
+    }
+
+}
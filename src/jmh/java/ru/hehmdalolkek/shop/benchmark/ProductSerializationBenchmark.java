@@ -0,0 +1,69 @@
+package ru.hehmdalolkek.shop.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.hehmdalolkek.shop.web.dto.ProductDto;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductSerializationBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int size;
+
+    private List<ProductDto> productDtos;
+
+    private ObjectWriter productListWriter;
+
+    private final OutputStream outputStream = OutputStream.nullOutputStream();
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        this.productListWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, ProductDto.class));
+        this.productDtos = new ArrayList<>(this.size);
+        for (int i = 1; i <= this.size; i++) {
+            this.productDtos.add(ProductDto.builder()
+                    .productId(i)
+                    .title("Product " + i)
+                    .price(i + 0.99)
+                    .active(true)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public byte[] writeValueAsBytes() throws JsonProcessingException {
+        return this.productListWriter.writeValueAsBytes(this.productDtos);
+    }
+
+    @Benchmark
+    public void writeValueToStream() throws IOException {
+        this.productListWriter.writeValue(this.outputStream, this.productDtos);
+    }
+
+}
@@ -0,0 +1,21 @@
+package ru.hehmdalolkek.shop.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "shop.security.access-token")
+public class AccessTokenProperties {
+
+    private Duration ttl = Duration.ofMinutes(15);
+
+    private String activeKeyId;
+
+    // key id -> base64 encoded HMAC secret of at least 256 bits
+    private Map<String, String> keys = new LinkedHashMap<>();
+
+}
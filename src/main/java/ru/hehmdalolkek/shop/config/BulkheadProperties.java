@@ -0,0 +1,16 @@
+package ru.hehmdalolkek.shop.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shop.datasource.bulkhead")
+public class BulkheadProperties {
+
+    private Integer maxConcurrentConnections;
+
+    private Duration acquireTimeout = Duration.ofSeconds(30);
+
+}
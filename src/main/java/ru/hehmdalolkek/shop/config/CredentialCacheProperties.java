@@ -0,0 +1,18 @@
+package ru.hehmdalolkek.shop.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shop.security.credential-cache")
+public class CredentialCacheProperties {
+
+    private boolean enabled = true;
+
+    private Duration ttl = Duration.ofMinutes(1);
+
+    private long maximumSize = 10_000;
+
+}
@@ -0,0 +1,38 @@
+package ru.hehmdalolkek.shop.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.hehmdalolkek.shop.dao.interfaces.ProductDao;
+import ru.hehmdalolkek.shop.dao.loader.BatchingLoader;
+import ru.hehmdalolkek.shop.model.Product;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(prefix = "shop.dao.product-loader", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(ProductLoaderProperties.class)
+public class ProductLoaderConfig {
+
+    // the dao looks products up through this loader, so it is resolved lazily to break the cycle
+    @Bean
+    public BatchingLoader<Integer, Product> productByIdLoader(ProductLoaderProperties properties,
+                                                             ObjectProvider<ProductDao> productDao) {
+        return new BatchingLoader<>(
+                "product-loader",
+                productIds -> {
+                    Map<Integer, Product> products = new HashMap<>();
+                    for (Product product : productDao.getObject().getProductsByIdsFromPrimary(productIds)) {
+                        products.put(product.getId(), product);
+                    }
+                    return products;
+                },
+                properties.getWindow(),
+                properties.getMaxBatchSize(),
+                properties.getMaxConcurrentBatches());
+    }
+
+}
@@ -0,0 +1,20 @@
+package ru.hehmdalolkek.shop.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shop.dao.product-loader")
+public class ProductLoaderProperties {
+
+    private boolean enabled = true;
+
+    private Duration window = Duration.ofMillis(1);
+
+    private int maxBatchSize = 100;
+
+    private int maxConcurrentBatches = 4;
+
+}
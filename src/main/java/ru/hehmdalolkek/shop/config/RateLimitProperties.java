@@ -0,0 +1,41 @@
+package ru.hehmdalolkek.shop.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.HttpMethod;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "shop.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled;
+
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    private long maximumClients = 100_000;
+
+    // the first rule matching the request path and method applies
+    private List<Rule> rules = new ArrayList<>();
+
+    @Data
+    public static class Rule {
+
+        // any method when not set
+        private HttpMethod method;
+
+        private String path;
+
+        private long limit;
+
+        private Duration period = Duration.ofSeconds(1);
+
+        // requests allowed at once after an idle period, defaults to limit
+        private Long burst;
+
+    }
+
+}
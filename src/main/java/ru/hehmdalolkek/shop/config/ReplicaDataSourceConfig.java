@@ -0,0 +1,122 @@
+package ru.hehmdalolkek.shop.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import ru.hehmdalolkek.shop.dao.datasource.ReadReplicaDataSource;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(prefix = "shop.datasource.replica", name = "url")
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+public class ReplicaDataSourceConfig {
+
+    private static final String PRIMARY_DATA_SOURCE_BEAN_NAME = "primaryDataSource";
+    private static final String REPLICA_DATA_SOURCE_BEAN_NAME = "replicaDataSource";
+
+    @Bean
+    @ConditionalOnMissingBean(JdbcConnectionDetails.class)
+    public JdbcConnectionDetails jdbcConnectionDetails(DataSourceProperties dataSourceProperties) {
+        return new JdbcConnectionDetails() {
+
+            @Override
+            public String getUsername() {
+                return dataSourceProperties.determineUsername();
+            }
+
+            @Override
+            public String getPassword() {
+                return dataSourceProperties.determinePassword();
+            }
+
+            @Override
+            public String getJdbcUrl() {
+                return dataSourceProperties.determineUrl();
+            }
+
+            @Override
+            public String getDriverClassName() {
+                return dataSourceProperties.determineDriverClassName();
+            }
+
+        };
+    }
+
+    @Bean(autowireCandidate = false)
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(JdbcConnectionDetails connectionDetails,
+                                              ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(connectionDetails.getDriverClassName())
+                .url(connectionDetails.getJdbcUrl())
+                .username(connectionDetails.getUsername())
+                .password(connectionDetails.getPassword())
+                .build();
+        dataSource.setPoolName("primary");
+        meterRegistry.ifAvailable(registry ->
+                dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        return dataSource;
+    }
+
+    @Bean(autowireCandidate = false)
+    @ConfigurationProperties(prefix = "shop.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(JdbcConnectionDetails connectionDetails,
+                                              ReplicaDataSourceProperties replicaProperties,
+                                              ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(connectionDetails.getDriverClassName())
+                .url(replicaProperties.getUrl())
+                .username(replicaProperties.getUsername() != null
+                        ? replicaProperties.getUsername()
+                        : connectionDetails.getUsername())
+                .password(replicaProperties.getPassword() != null
+                        ? replicaProperties.getPassword()
+                        : connectionDetails.getPassword())
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        dataSource.setConnectionTimeout(replicaProperties.getConnectionTimeout().toMillis());
+        // the replica may be down at startup, reads fall back to the primary until it is back
+        dataSource.setInitializationFailTimeout(-1);
+        meterRegistry.ifAvailable(registry ->
+                dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        return dataSource;
+    }
+
+    // the pools are looked up by name rather than through their bean methods, since they may be wrapped
+    // (see VirtualThreadsConfig) and no longer be HikariDataSource instances
+    @Bean(autowireCandidate = false)
+    public ReadReplicaDataSource readReplicaDataSource(BeanFactory beanFactory,
+                                                       ReplicaDataSourceProperties replicaProperties) {
+        return new ReadReplicaDataSource(
+                beanFactory.getBean(REPLICA_DATA_SOURCE_BEAN_NAME, DataSource.class),
+                beanFactory.getBean(PRIMARY_DATA_SOURCE_BEAN_NAME, DataSource.class),
+                replicaProperties.getReadYourWritesWindow());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(BeanFactory beanFactory, ReplicaDataSourceProperties replicaProperties) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(
+                beanFactory.getBean(PRIMARY_DATA_SOURCE_BEAN_NAME, DataSource.class));
+        dataSource.setReadOnlyDataSource(readReplicaDataSource(beanFactory, replicaProperties));
+        return dataSource;
+    }
+
+}
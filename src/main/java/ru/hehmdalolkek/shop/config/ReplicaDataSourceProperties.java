@@ -0,0 +1,22 @@
+package ru.hehmdalolkek.shop.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shop.datasource.replica")
+public class ReplicaDataSourceProperties {
+
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    private Duration connectionTimeout = Duration.ofSeconds(1);
+
+    private Duration readYourWritesWindow = Duration.ZERO;
+
+}
@@ -0,0 +1,11 @@
+package ru.hehmdalolkek.shop.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+// innermost advice on the DAOs, behind the cache and the DAO metrics
+@Configuration
+@EnableTransactionManagement(order = Ordered.LOWEST_PRECEDENCE)
+public class TransactionConfig {
+}
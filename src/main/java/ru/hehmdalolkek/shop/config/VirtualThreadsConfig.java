@@ -0,0 +1,42 @@
+package ru.hehmdalolkek.shop.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import ru.hehmdalolkek.shop.dao.datasource.BulkheadDataSource;
+
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfig {
+
+    private static final int DEFAULT_MAXIMUM_POOL_SIZE = 10;
+
+    // requests are no longer capped by the Tomcat pool, so the connection pool is the first thing they would pile on;
+    // every pool gets its own bulkhead, so with a replica the primary and the replica are limited separately
+    @Bean
+    public static BeanPostProcessor bulkheadDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource pool)) {
+                    return bean;
+                }
+                BulkheadProperties properties = Binder.get(environment)
+                        .bind("shop.datasource.bulkhead", BulkheadProperties.class)
+                        .orElseGet(BulkheadProperties::new);
+                int maxConcurrentConnections = properties.getMaxConcurrentConnections() != null
+                        ? properties.getMaxConcurrentConnections()
+                        : pool.getMaximumPoolSize() > 0 ? pool.getMaximumPoolSize() : DEFAULT_MAXIMUM_POOL_SIZE;
+                return new BulkheadDataSource(pool, maxConcurrentConnections, properties.getAcquireTimeout());
+            }
+
+        };
+    }
+
+}
@@ -0,0 +1,127 @@
+package ru.hehmdalolkek.shop.dao.aspect;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Aspect
+@Component
+@Order(DaoMetricsAspect.ORDER)
+public class DaoMetricsAspect {
+
+    // inside the cache advice, so cache hits are not timed as DAO operations,
+    // and outside the transaction advice, so the commit is part of the timed operation
+    public static final int ORDER = Ordered.LOWEST_PRECEDENCE - 1;
+
+    public static final String DAO_OPERATIONS_METRIC = "shop.dao.operations";
+
+    private static final String SUCCESS = "SUCCESS";
+    private static final String ERROR = "ERROR";
+    private static final String CANCELLED = "CANCELLED";
+    private static final String NO_EXCEPTION = "none";
+    private static final int MAX_LOGGED_PARAMETER_LENGTH = 100;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    private final long slowQueryThresholdNanos;
+
+    public DaoMetricsAspect(MeterRegistry meterRegistry,
+                            @Value("${shop.dao.slow-query-threshold:500ms}") Duration slowQueryThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryThresholdNanos = slowQueryThreshold.toNanos();
+    }
+
+    @Around("execution(public * ru.hehmdalolkek.shop.dao.interfaces.*.*(..))")
+    public Object timeDaoOperation(ProceedingJoinPoint joinPoint) throws Throwable {
+        long startNanos = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            record(joinPoint, ERROR, e, System.nanoTime() - startNanos);
+            throw e;
+        }
+        // reactive operations only run once subscribed, so they are timed from subscription to termination
+        if (result instanceof Mono<?> mono) {
+            return Mono.defer(() -> {
+                long subscribedNanos = System.nanoTime();
+                return mono
+                        .doOnSuccess(value -> record(joinPoint, SUCCESS, null, System.nanoTime() - subscribedNanos))
+                        .doOnError(e -> record(joinPoint, ERROR, e, System.nanoTime() - subscribedNanos))
+                        .doOnCancel(() -> record(joinPoint, CANCELLED, null, System.nanoTime() - subscribedNanos));
+            });
+        }
+        if (result instanceof Flux<?> flux) {
+            return Flux.defer(() -> {
+                long subscribedNanos = System.nanoTime();
+                return flux
+                        .doOnComplete(() -> record(joinPoint, SUCCESS, null, System.nanoTime() - subscribedNanos))
+                        .doOnError(e -> record(joinPoint, ERROR, e, System.nanoTime() - subscribedNanos))
+                        .doOnCancel(() -> record(joinPoint, CANCELLED, null, System.nanoTime() - subscribedNanos));
+            });
+        }
+        record(joinPoint, SUCCESS, null, System.nanoTime() - startNanos);
+        return result;
+    }
+
+    private void record(ProceedingJoinPoint joinPoint, String outcome, Throwable error, long durationNanos) {
+        String operation = joinPoint.getSignature().getName();
+        String exception = error != null ? error.getClass().getSimpleName() : NO_EXCEPTION;
+        this.timers.computeIfAbsent(new TimerKey(operation, outcome, exception), this::timer)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+        if (durationNanos >= this.slowQueryThresholdNanos) {
+            log.warn("Slow DAO operation {} took {} ms with parameters {}",
+                    operation, TimeUnit.NANOSECONDS.toMillis(durationNanos), parameters(joinPoint));
+        }
+    }
+
+    private Timer timer(TimerKey key) {
+        return Timer.builder(DAO_OPERATIONS_METRIC)
+                .description("Time spent in DAO operations")
+                .tag("operation", key.operation())
+                .tag("outcome", key.outcome())
+                .tag("exception", key.exception())
+                .register(this.meterRegistry);
+    }
+
+    // each argument is shortened on its own, so a large batch cannot hide the arguments after it
+    private static String parameters(ProceedingJoinPoint joinPoint) {
+        return Arrays.stream(joinPoint.getArgs())
+                .map(DaoMetricsAspect::parameter)
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    private static String parameter(Object arg) {
+        if (arg instanceof Collection<?> collection) {
+            return arg.getClass().getSimpleName() + "(size=" + collection.size() + ")";
+        }
+        String parameter = String.valueOf(arg);
+        return parameter.length() > MAX_LOGGED_PARAMETER_LENGTH
+                ? parameter.substring(0, MAX_LOGGED_PARAMETER_LENGTH) + "..."
+                : parameter;
+    }
+
+    private record TimerKey(String operation, String outcome, String exception) {
+    }
+
+}
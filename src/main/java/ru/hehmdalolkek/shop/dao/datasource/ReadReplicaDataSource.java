@@ -0,0 +1,69 @@
+package ru.hehmdalolkek.shop.dao.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.hehmdalolkek.shop.model.event.ProductChangedEvent;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+@Slf4j
+public class ReadReplicaDataSource extends DelegatingDataSource {
+
+    private final DataSource primaryDataSource;
+
+    private final long readYourWritesWindowNanos;
+
+    private volatile long lastWriteNanos;
+
+    public ReadReplicaDataSource(DataSource replicaDataSource, DataSource primaryDataSource,
+                                 Duration readYourWritesWindow) {
+        super(replicaDataSource);
+        this.primaryDataSource = primaryDataSource;
+        this.readYourWritesWindowNanos = readYourWritesWindow.toNanos();
+        this.lastWriteNanos = System.nanoTime() - this.readYourWritesWindowNanos;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (isWithinReadYourWritesWindow()) {
+            return this.primaryDataSource.getConnection();
+        }
+        try {
+            return super.getConnection();
+        } catch (SQLException e) {
+            log.warn("Read replica is unavailable, reading from primary: {}", e.getMessage());
+            return this.primaryDataSource.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (isWithinReadYourWritesWindow()) {
+            return this.primaryDataSource.getConnection(username, password);
+        }
+        try {
+            return super.getConnection(username, password);
+        } catch (SQLException e) {
+            log.warn("Read replica is unavailable, reading from primary: {}", e.getMessage());
+            return this.primaryDataSource.getConnection(username, password);
+        }
+    }
+
+    // ahead of the listeners that re-read the changed products, so they already see the primary
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        this.lastWriteNanos = System.nanoTime();
+    }
+
+    private boolean isWithinReadYourWritesWindow() {
+        return System.nanoTime() - this.lastWriteNanos < this.readYourWritesWindowNanos;
+    }
+
+}
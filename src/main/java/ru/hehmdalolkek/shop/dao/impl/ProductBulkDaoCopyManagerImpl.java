@@ -0,0 +1,131 @@
+package ru.hehmdalolkek.shop.dao.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ru.hehmdalolkek.shop.config.CacheConfig;
+import ru.hehmdalolkek.shop.dao.interfaces.ProductBulkDao;
+import ru.hehmdalolkek.shop.model.ProductImportResult;
+import ru.hehmdalolkek.shop.model.exception.ProductImportException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+@Repository
+public class ProductBulkDaoCopyManagerImpl implements ProductBulkDao {
+
+    private static final String CREATE_TEMPORARY_TABLE_PRODUCTS_IMPORT = "CREATE TEMPORARY TABLE products_import " +
+            "(line bigserial, title varchar(255), price float8, active boolean) ON COMMIT DROP";
+    private static final String COPY_INTO_PRODUCTS_IMPORT = "COPY products_import (title, price, active) " +
+            "FROM STDIN WITH (FORMAT csv, HEADER true)";
+    // mirrors the ProductDto constraints, NaN sorts above every number in postgres so it fails the upper bound
+    private static final String SELECT_INVALID_PRODUCTS_IMPORT_LINES = "SELECT line + 1 FROM products_import " +
+            "WHERE title IS NULL OR char_length(title) < 2 " +
+            "OR price IS NULL OR NOT (price >= 1 AND price < 'Infinity') " +
+            "ORDER BY line LIMIT 10";
+    private static final String MERGE_PRODUCTS_IMPORT_INTO_PRODUCTS = "INSERT INTO products (title, price, active) " +
+            "SELECT DISTINCT ON (title) title, price, COALESCE(active, true) " +
+            "FROM products_import " +
+            "ORDER BY title, line DESC " +
+            "ON CONFLICT (title) " +
+            "DO UPDATE SET price = EXCLUDED.price, active = EXCLUDED.active";
+    private static final String SUPPRESS_PRODUCT_NOTIFICATIONS =
+            "SET LOCAL shop.suppress_product_notifications = 'on'";
+    private static final String NOTIFY_ALL_PRODUCTS_CHANGED = "SELECT pg_notify('product_changes', " +
+            "coalesce(current_setting('shop.node_id', true), '') || ':*')";
+    private static final String COPY_ALL_PRODUCTS_TO_STDOUT = "COPY (" +
+            "SELECT product_id, title, price, active FROM products ORDER BY product_id" +
+            ") TO STDOUT WITH (FORMAT csv, HEADER true)";
+    private static final String COPY_ACTIVE_PRODUCTS_TO_STDOUT = "COPY (" +
+            "SELECT product_id, title, price, active FROM products WHERE active = true ORDER BY product_id" +
+            ") TO STDOUT WITH (FORMAT csv, HEADER true)";
+    private static final String COPY_INACTIVE_PRODUCTS_TO_STDOUT = "COPY (" +
+            "SELECT product_id, title, price, active FROM products WHERE active = false ORDER BY product_id" +
+            ") TO STDOUT WITH (FORMAT csv, HEADER true)";
+
+    private static final String DATA_EXCEPTION_SQL_STATE_CLASS = "22";
+    private static final String INTEGRITY_CONSTRAINT_VIOLATION_SQL_STATE_CLASS = "23";
+
+    private final NamedParameterJdbcOperations namedJdbcOperations;
+
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, allEntries = true)
+    @Transactional
+    @Override
+    public ProductImportResult importProducts(InputStream csv) {
+        ConnectionCallback<ProductImportResult> importCallback = connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_TEMPORARY_TABLE_PRODUCTS_IMPORT);
+                CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+                long received = copyManager.copyIn(COPY_INTO_PRODUCTS_IMPORT, csv);
+                List<Long> invalidLines = new ArrayList<>();
+                try (ResultSet rs = statement.executeQuery(SELECT_INVALID_PRODUCTS_IMPORT_LINES)) {
+                    while (rs.next()) {
+                        invalidLines.add(rs.getLong(1));
+                    }
+                }
+                if (!invalidLines.isEmpty()) {
+                    throw new ProductImportException(
+                            "Invalid products csv: title must have 2 to 255 characters and price must be "
+                                    + "a finite number of at least 1, check lines "
+                                    + invalidLines.stream().map(String::valueOf).collect(Collectors.joining(", ")));
+                }
+                statement.execute(SUPPRESS_PRODUCT_NOTIFICATIONS);
+                int imported = statement.executeUpdate(MERGE_PRODUCTS_IMPORT_INTO_PRODUCTS);
+                statement.execute(NOTIFY_ALL_PRODUCTS_CHANGED);
+                return new ProductImportResult(received, imported);
+            } catch (SQLException e) {
+                if (isInvalidData(e)) {
+                    throw new ProductImportException("Invalid products csv: " + e.getMessage(), e);
+                }
+                throw e;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        return this.namedJdbcOperations.getJdbcOperations().execute(importCallback);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public long exportProducts(Boolean active, OutputStream csv) {
+        String copySql;
+        if (active == null) {
+            copySql = COPY_ALL_PRODUCTS_TO_STDOUT;
+        } else if (active) {
+            copySql = COPY_ACTIVE_PRODUCTS_TO_STDOUT;
+        } else {
+            copySql = COPY_INACTIVE_PRODUCTS_TO_STDOUT;
+        }
+        ConnectionCallback<Long> exportCallback = connection -> {
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            try {
+                return copyManager.copyOut(copySql, csv);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        return this.namedJdbcOperations.getJdbcOperations().execute(exportCallback);
+    }
+
+    private boolean isInvalidData(SQLException e) {
+        String sqlState = e.getSQLState();
+        return sqlState != null
+                && (sqlState.startsWith(DATA_EXCEPTION_SQL_STATE_CLASS)
+                || sqlState.startsWith(INTEGRITY_CONSTRAINT_VIOLATION_SQL_STATE_CLASS));
+    }
+
+}
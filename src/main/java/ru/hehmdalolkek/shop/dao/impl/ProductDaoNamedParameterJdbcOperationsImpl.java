@@ -1,48 +1,154 @@
 package ru.hehmdalolkek.shop.dao.impl;
 
-import lombok.RequiredArgsConstructor;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.ServerErrorMessage;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
-import org.springframework.jdbc.support.GeneratedKeyHolder;
-import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.hehmdalolkek.shop.config.CacheConfig;
 import ru.hehmdalolkek.shop.dao.interfaces.ProductDao;
+import ru.hehmdalolkek.shop.dao.loader.BatchingLoader;
 import ru.hehmdalolkek.shop.model.Product;
+import ru.hehmdalolkek.shop.model.ProductCursor;
+import ru.hehmdalolkek.shop.model.ProductFilter;
+import ru.hehmdalolkek.shop.model.ProductSaveResult;
+import ru.hehmdalolkek.shop.model.ProductSaveStatus;
+import ru.hehmdalolkek.shop.model.ProductSort;
+import ru.hehmdalolkek.shop.model.exception.ProductIsAlreadyExistsException;
+import ru.hehmdalolkek.shop.dao.mapper.ProductDtoRowMapper;
 import ru.hehmdalolkek.shop.dao.mapper.ProductRowMapper;
+import ru.hehmdalolkek.shop.web.dto.ProductDto;
 
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static java.lang.String.format;
+import static ru.hehmdalolkek.shop.dao.impl.ProductQueries.*;
 
-@RequiredArgsConstructor
 @Repository
 public class ProductDaoNamedParameterJdbcOperationsImpl implements ProductDao {
 
-    private static final String SELECT_PRODUCT_BY_ID = "SELECT * FROM products WHERE product_id = :productId";
-    private static final String DELETE_PRODUCT_BY_ID = "DELETE FROM products WHERE product_id = :productId";
-    private static final String SELECT_ALL_ACTIVE_PRODUCTS = "SELECT * FROM products WHERE active = true";
-    private static final String INSERT_INTO_PRODUCTS = "INSERT INTO products (title, price, active) " +
-            "VALUES (:title, :price, true)";
-    private static final String INSERT_OR_UPDATE_PRODUCT_BY_ID = "INSERT INTO products (product_id, title, price, active) " +
-            "VALUES (:productId, :title, :price, :active) " +
+    private static final String UPSERT_PRODUCTS = "WITH input AS (" +
+            "SELECT * FROM unnest(:productIds::int[], :titles::varchar[], :prices::float8[], :actives::boolean[]) " +
+            "AS i(product_id, title, price, active)) " +
+            "INSERT INTO products (product_id, title, price, active) " +
+            "SELECT COALESCE(i.product_id, nextval('products_product_id_seq')), i.title, i.price, " +
+            "COALESCE(i.active, true) " +
+            "FROM input i " +
+            "WHERE NOT EXISTS (SELECT 1 FROM products p " +
+            "WHERE p.title = i.title AND p.product_id IS DISTINCT FROM i.product_id) " +
             "ON CONFLICT (product_id) " +
-            "DO UPDATE SET title = EXCLUDED.title, price = EXCLUDED.price, active = EXCLUDED.active";
-    private static final String UPDATE_PRODUCT_SET_ACTIVE_IS_FALSE_BY_ID = "UPDATE products SET active = false " +
-            "WHERE product_id = :productId";
-    private static final String EXISTS_PRODUCT_BY_TITLE = "SELECT (EXISTS (SELECT * FROM products WHERE title = :title))";
+            "DO UPDATE SET title = EXCLUDED.title, price = EXCLUDED.price, active = EXCLUDED.active " +
+            "RETURNING " + PRODUCT_COLUMNS + ", (xmax = 0) AS created";
+    private static final String SUPPRESS_PRODUCT_NOTIFICATIONS =
+            "SET LOCAL shop.suppress_product_notifications = 'on'";
+    private static final String NOTIFY_ALL_PRODUCTS_CHANGED = "SELECT pg_notify('product_changes', " +
+            "coalesce(current_setting('shop.node_id', true), '') || ':*')";
+
+    private static final int STREAM_FETCH_SIZE = 1000;
+    private static final int SAVE_PRODUCTS_CHUNK_SIZE = 1000;
+    private static final int UPSERT_PRODUCTS_CREATED_COLUMN = 5;
+    private static final int SAVE_PRODUCTS_CHUNK_ATTEMPTS = 3;
 
     private final NamedParameterJdbcOperations namedJdbcOperations;
 
+    private final BatchingLoader<Integer, Product> productByIdLoader;
+
+    public ProductDaoNamedParameterJdbcOperationsImpl(NamedParameterJdbcOperations namedJdbcOperations,
+                                                      ObjectProvider<BatchingLoader<Integer, Product>> productByIdLoader) {
+        this.namedJdbcOperations = namedJdbcOperations;
+        this.productByIdLoader = productByIdLoader.getIfAvailable();
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<ProductDto> getAllActiveProducts() {
+        return this.namedJdbcOperations.query(SELECT_ALL_ACTIVE_PRODUCTS, new ProductDtoRowMapper());
+    }
+
     @Transactional(readOnly = true)
     @Override
-    public List<Product> getAllActiveProducts() {
-        return this.namedJdbcOperations.query(SELECT_ALL_ACTIVE_PRODUCTS, new ProductRowMapper());
+    public void streamAllActiveProducts(Consumer<ProductDto> consumer) {
+        ProductDtoRowMapper rowMapper = new ProductDtoRowMapper();
+        RowCallbackHandler rowCallbackHandler = rs -> consumer.accept(rowMapper.mapRow(rs, rs.getRow()));
+        this.namedJdbcOperations.getJdbcOperations().query(
+                connection -> {
+                    PreparedStatement statement = connection.prepareStatement(SELECT_ALL_ACTIVE_PRODUCTS);
+                    statement.setFetchSize(STREAM_FETCH_SIZE);
+                    return statement;
+                },
+                rowCallbackHandler
+        );
     }
 
     @Transactional(readOnly = true)
     @Override
+    public List<ProductDto> getActiveProducts(ProductFilter filter, ProductSort sort, ProductCursor after,
+                                              int limit) {
+        SqlParameterSource params = new MapSqlParameterSource()
+                .addValue("minPrice", filter.getMinPrice())
+                .addValue("maxPrice", filter.getMaxPrice())
+                .addValue("afterProductId", after != null ? after.getProductId() : 0)
+                .addValue("afterPrice", after != null ? after.getPrice() : null)
+                .addValue("afterTitle", after != null ? after.getTitle() : null)
+                .addValue("limit", limit);
+        String sql = switch (sort) {
+            case ID -> SELECT_ACTIVE_PRODUCTS_AFTER_ID;
+            case PRICE -> after != null
+                    ? SELECT_ACTIVE_PRODUCTS_BY_PRICE_AFTER_ID
+                    : SELECT_ACTIVE_PRODUCTS_BY_PRICE;
+            case PRICE_DESC -> after != null
+                    ? SELECT_ACTIVE_PRODUCTS_BY_PRICE_DESC_AFTER_ID
+                    : SELECT_ACTIVE_PRODUCTS_BY_PRICE_DESC;
+            case TITLE -> after != null
+                    ? SELECT_ACTIVE_PRODUCTS_BY_TITLE_AFTER_ID
+                    : SELECT_ACTIVE_PRODUCTS_BY_TITLE;
+            case TITLE_DESC -> after != null
+                    ? SELECT_ACTIVE_PRODUCTS_BY_TITLE_DESC_AFTER_ID
+                    : SELECT_ACTIVE_PRODUCTS_BY_TITLE_DESC;
+        };
+        return this.namedJdbcOperations.query(sql, params, new ProductDtoRowMapper());
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<ProductDto> searchActiveProducts(String query, int limit) {
+        SqlParameterSource params = new MapSqlParameterSource()
+                .addValue("query", query)
+                .addValue("pattern", containsPattern(query))
+                .addValue("limit", limit);
+        return this.namedJdbcOperations.query(SEARCH_ACTIVE_PRODUCTS_BY_TITLE, params, new ProductDtoRowMapper());
+    }
+
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#productId")
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    @Override
     public Optional<Product> getProductById(int productId) {
+        // a caller's transaction may hold uncommitted writes, and waiting on a batch would pin its connection
+        if (this.productByIdLoader != null && !TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Optional.ofNullable(this.productByIdLoader.load(productId));
+        }
         SqlParameterSource params = new MapSqlParameterSource("productId", productId);
         List<Product> products =
                 this.namedJdbcOperations.query(SELECT_PRODUCT_BY_ID, params, new ProductRowMapper());
@@ -53,45 +159,164 @@ public class ProductDaoNamedParameterJdbcOperationsImpl implements ProductDao {
         }
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public List<Product> getProductsByIds(Collection<Integer> productIds) {
+        return selectProductsByIds(productIds);
+    }
+
+    // not read-only, so the loader fills the product cache from the primary rather than a lagging replica
     @Transactional
     @Override
-    public Boolean productExistsByTitle(String title) {
-        SqlParameterSource params = new MapSqlParameterSource("title", title);
-        return this.namedJdbcOperations.queryForObject(EXISTS_PRODUCT_BY_TITLE, params, Boolean.class);
+    public List<Product> getProductsByIdsFromPrimary(Collection<Integer> productIds) {
+        return selectProductsByIds(productIds);
     }
 
+    @CachePut(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#result.id")
     @Transactional
     @Override
-    public Product saveProduct(Product product) {
+    public Product insertProduct(Product product) {
         SqlParameterSource params = new MapSqlParameterSource()
                 .addValue("productId", product.getId())
                 .addValue("title", product.getTitle())
                 .addValue("price", product.getPrice())
                 .addValue("active", product.getActive());
-        KeyHolder keyHolder = new GeneratedKeyHolder();
-        if (product.getId() != null) {
-            this.namedJdbcOperations.update(
-                    INSERT_OR_UPDATE_PRODUCT_BY_ID,
-                    params,
-                    keyHolder,
-                    new String[]{"product_id"}
-            );
-        } else {
-            this.namedJdbcOperations.update(
-                    INSERT_INTO_PRODUCTS,
-                    params,
-                    keyHolder,
-                    new String[]{"product_id"}
-            );
+        String sql = product.getId() != null ? INSERT_INTO_PRODUCTS_WITH_ID : INSERT_INTO_PRODUCTS;
+        try {
+            return this.namedJdbcOperations.queryForObject(sql, params, new ProductRowMapper());
+        } catch (DuplicateKeyException e) {
+            throw productIsAlreadyExists(product, e);
+        }
+    }
+
+    @CachePut(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#product.id", unless = "#result == null")
+    @Transactional
+    @Override
+    public Optional<Product> updateProduct(Product product) {
+        SqlParameterSource params = new MapSqlParameterSource()
+                .addValue("productId", product.getId())
+                .addValue("title", product.getTitle())
+                .addValue("price", product.getPrice())
+                .addValue("active", product.getActive());
+        try {
+            List<Product> products =
+                    this.namedJdbcOperations.query(UPDATE_PRODUCT_BY_ID, params, new ProductRowMapper());
+            return products.isEmpty() ? Optional.empty() : Optional.of(products.get(0));
+        } catch (DuplicateKeyException e) {
+            throw productIsAlreadyExists(product, e);
+        }
+    }
+
+    private List<Product> selectProductsByIds(Collection<Integer> productIds) {
+        SqlParameterSource params =
+                new MapSqlParameterSource("productIds", productIds.toArray(Integer[]::new));
+        return this.namedJdbcOperations.query(SELECT_PRODUCTS_BY_IDS, params, new ProductRowMapper());
+    }
+
+    private ProductIsAlreadyExistsException productIsAlreadyExists(Product product, DuplicateKeyException e) {
+        boolean titleConflict = false;
+        if (e.getMostSpecificCause() instanceof PSQLException psqlException) {
+            ServerErrorMessage serverErrorMessage = psqlException.getServerErrorMessage();
+            titleConflict = serverErrorMessage != null
+                    && PRODUCTS_TITLE_UNIQUE_CONSTRAINT.equals(serverErrorMessage.getConstraint());
+        }
+        if (titleConflict) {
+            return new ProductIsAlreadyExistsException(
+                    format("Product with title=%s is already exists", product.getTitle()));
+        }
+        return new ProductIsAlreadyExistsException(
+                format("Product with id=%d is already exists", product.getId()));
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, allEntries = true)
+    @Transactional
+    @Override
+    public List<ProductSaveResult> saveProducts(List<Product> products) {
+        // one notification for the whole batch instead of one per row, every node then clears its cache once
+        this.namedJdbcOperations.getJdbcOperations().execute(SUPPRESS_PRODUCT_NOTIFICATIONS);
+        ProductSaveResult[] results = new ProductSaveResult[products.size()];
+        Set<String> titles = new HashSet<>();
+        Set<Integer> productIds = new HashSet<>();
+        List<Integer> chunk = new ArrayList<>(SAVE_PRODUCTS_CHUNK_SIZE);
+        for (int i = 0; i < products.size(); i++) {
+            Product product = products.get(i);
+            if (titles.contains(product.getTitle())
+                    || (product.getId() != null && productIds.contains(product.getId()))) {
+                results[i] = new ProductSaveResult(product, ProductSaveStatus.CONFLICT);
+                continue;
+            }
+            titles.add(product.getTitle());
+            if (product.getId() != null) {
+                productIds.add(product.getId());
+            }
+            chunk.add(i);
+            if (chunk.size() == SAVE_PRODUCTS_CHUNK_SIZE) {
+                saveProductsChunk(products, chunk, results);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            saveProductsChunk(products, chunk, results);
+        }
+        this.namedJdbcOperations.getJdbcOperations().execute(NOTIFY_ALL_PRODUCTS_CHANGED);
+        return Arrays.asList(results);
+    }
+
+    private void saveProductsChunk(List<Product> products, List<Integer> chunk, ProductSaveResult[] results) {
+        Integer[] productIds = new Integer[chunk.size()];
+        String[] titles = new String[chunk.size()];
+        Double[] prices = new Double[chunk.size()];
+        Boolean[] actives = new Boolean[chunk.size()];
+        Map<String, Integer> indexesByTitle = new HashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            Product product = products.get(chunk.get(i));
+            productIds[i] = product.getId();
+            titles[i] = product.getTitle();
+            prices[i] = product.getPrice();
+            actives[i] = product.getActive();
+            indexesByTitle.put(product.getTitle(), chunk.get(i));
+        }
+        SqlParameterSource params = new MapSqlParameterSource()
+                .addValue("productIds", productIds)
+                .addValue("titles", titles)
+                .addValue("prices", prices)
+                .addValue("actives", actives);
+        ProductRowMapper rowMapper = new ProductRowMapper();
+        RowCallbackHandler rowCallbackHandler = rs -> {
+            Product savedProduct = rowMapper.mapRow(rs, rs.getRow());
+            ProductSaveStatus status = rs.getBoolean(UPSERT_PRODUCTS_CREATED_COLUMN)
+                    ? ProductSaveStatus.CREATED
+                    : ProductSaveStatus.UPDATED;
+            results[indexesByTitle.get(savedProduct.getTitle())] = new ProductSaveResult(savedProduct, status);
+        };
+        // the title guard cannot see a title that a concurrent transaction has inserted but not yet committed;
+        // when that transaction commits first the chunk fails, and a retry from a savepoint sees the title
+        TransactionStatus transactionStatus = TransactionAspectSupport.currentTransactionStatus();
+        for (int attempt = 1; ; attempt++) {
+            Object savepoint = transactionStatus.createSavepoint();
+            try {
+                this.namedJdbcOperations.query(UPSERT_PRODUCTS, params, rowCallbackHandler);
+                transactionStatus.releaseSavepoint(savepoint);
+                break;
+            } catch (DuplicateKeyException e) {
+                transactionStatus.rollbackToSavepoint(savepoint);
+                for (int index : chunk) {
+                    results[index] = null;
+                }
+                if (attempt == SAVE_PRODUCTS_CHUNK_ATTEMPTS) {
+                    throw new ProductIsAlreadyExistsException(
+                            "Products with the same titles are being saved concurrently");
+                }
+            }
+        }
+        for (int index : chunk) {
+            if (results[index] == null) {
+                results[index] = new ProductSaveResult(products.get(index), ProductSaveStatus.CONFLICT);
+            }
         }
-        int productId = keyHolder.getKey().intValue();
-        return this.namedJdbcOperations.queryForObject(
-                SELECT_PRODUCT_BY_ID,
-                new MapSqlParameterSource("productId", productId),
-                new ProductRowMapper()
-        );
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#productId")
     @Transactional
     @Override
     public void softDeleteProduct(int productId) {
@@ -99,6 +324,7 @@ public class ProductDaoNamedParameterJdbcOperationsImpl implements ProductDao {
         namedJdbcOperations.update(UPDATE_PRODUCT_SET_ACTIVE_IS_FALSE_BY_ID, params);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#productId")
     @Transactional
     @Override
     public void hardDeleteProduct(int productId) {
@@ -0,0 +1,72 @@
+package ru.hehmdalolkek.shop.dao.impl;
+
+// sql shared by the jdbc and the reactive product daos
+final class ProductQueries {
+
+    static final String PRODUCT_COLUMNS = "product_id, title, price, active";
+    static final String ACTIVE_PRODUCTS_IN_PRICE_RANGE = "FROM products " +
+            "WHERE active = true " +
+            "AND price BETWEEN COALESCE(CAST(:minPrice AS float8), '-Infinity') " +
+            "AND COALESCE(CAST(:maxPrice AS float8), 'Infinity') ";
+    static final String SELECT_PRODUCT_BY_ID = "SELECT " + PRODUCT_COLUMNS + " FROM products " +
+            "WHERE product_id = :productId";
+    static final String SELECT_PRODUCTS_BY_IDS = "SELECT " + PRODUCT_COLUMNS + " FROM products " +
+            "WHERE product_id = ANY(:productIds::int[])";
+    static final String DELETE_PRODUCT_BY_ID = "DELETE FROM products WHERE product_id = :productId";
+    static final String SELECT_ALL_ACTIVE_PRODUCTS = "SELECT " + PRODUCT_COLUMNS + " FROM products " +
+            "WHERE active = true " +
+            "ORDER BY product_id";
+    static final String SELECT_ACTIVE_PRODUCTS_AFTER_ID = "SELECT " + PRODUCT_COLUMNS + " " + ACTIVE_PRODUCTS_IN_PRICE_RANGE +
+            "AND product_id > :afterProductId " +
+            "ORDER BY product_id LIMIT :limit";
+    static final String SELECT_ACTIVE_PRODUCTS_BY_PRICE = "SELECT " + PRODUCT_COLUMNS + " " + ACTIVE_PRODUCTS_IN_PRICE_RANGE +
+            "ORDER BY price, product_id LIMIT :limit";
+    static final String SELECT_ACTIVE_PRODUCTS_BY_PRICE_AFTER_ID = "SELECT " + PRODUCT_COLUMNS + " " + ACTIVE_PRODUCTS_IN_PRICE_RANGE +
+            "AND (price, product_id) > (:afterPrice, :afterProductId) " +
+            "ORDER BY price, product_id LIMIT :limit";
+    static final String SELECT_ACTIVE_PRODUCTS_BY_PRICE_DESC = "SELECT " + PRODUCT_COLUMNS + " " + ACTIVE_PRODUCTS_IN_PRICE_RANGE +
+            "ORDER BY price DESC, product_id DESC LIMIT :limit";
+    static final String SELECT_ACTIVE_PRODUCTS_BY_PRICE_DESC_AFTER_ID = "SELECT " + PRODUCT_COLUMNS + " " + ACTIVE_PRODUCTS_IN_PRICE_RANGE +
+            "AND (price, product_id) < (:afterPrice, :afterProductId) " +
+            "ORDER BY price DESC, product_id DESC LIMIT :limit";
+    static final String SELECT_ACTIVE_PRODUCTS_BY_TITLE = "SELECT " + PRODUCT_COLUMNS + " " + ACTIVE_PRODUCTS_IN_PRICE_RANGE +
+            "ORDER BY title, product_id LIMIT :limit";
+    static final String SELECT_ACTIVE_PRODUCTS_BY_TITLE_AFTER_ID = "SELECT " + PRODUCT_COLUMNS + " " + ACTIVE_PRODUCTS_IN_PRICE_RANGE +
+            "AND (title, product_id) > (:afterTitle, :afterProductId) " +
+            "ORDER BY title, product_id LIMIT :limit";
+    static final String SELECT_ACTIVE_PRODUCTS_BY_TITLE_DESC = "SELECT " + PRODUCT_COLUMNS + " " + ACTIVE_PRODUCTS_IN_PRICE_RANGE +
+            "ORDER BY title DESC, product_id DESC LIMIT :limit";
+    static final String SELECT_ACTIVE_PRODUCTS_BY_TITLE_DESC_AFTER_ID = "SELECT " + PRODUCT_COLUMNS + " " + ACTIVE_PRODUCTS_IN_PRICE_RANGE +
+            "AND (title, product_id) < (:afterTitle, :afterProductId) " +
+            "ORDER BY title DESC, product_id DESC LIMIT :limit";
+    static final String SEARCH_ACTIVE_PRODUCTS_BY_TITLE = "SELECT " + PRODUCT_COLUMNS + " FROM products " +
+            "WHERE active = true " +
+            "AND (title ILIKE :pattern OR :query <% title) " +
+            "ORDER BY word_similarity(:query, title) DESC, product_id LIMIT :limit";
+    static final String INSERT_INTO_PRODUCTS = "INSERT INTO products (title, price, active) " +
+            "VALUES (:title, :price, true) " +
+            "RETURNING " + PRODUCT_COLUMNS;
+    static final String INSERT_INTO_PRODUCTS_WITH_ID = "INSERT INTO products (product_id, title, price, active) " +
+            "VALUES (:productId, :title, :price, COALESCE(:active, true)) " +
+            "RETURNING " + PRODUCT_COLUMNS;
+    static final String UPDATE_PRODUCT_BY_ID = "UPDATE products " +
+            "SET title = :title, price = :price, active = COALESCE(:active, active) " +
+            "WHERE product_id = :productId " +
+            "RETURNING " + PRODUCT_COLUMNS;
+    static final String UPDATE_PRODUCT_SET_ACTIVE_IS_FALSE_BY_ID = "UPDATE products SET active = false " +
+            "WHERE product_id = :productId";
+
+    static final String PRODUCTS_TITLE_UNIQUE_CONSTRAINT = "products_title_key";
+
+    private ProductQueries() {
+    }
+
+    static String containsPattern(String query) {
+        String escapedQuery = query
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escapedQuery + "%";
+    }
+
+}
@@ -0,0 +1,14 @@
+package ru.hehmdalolkek.shop.dao.interfaces;
+
+import ru.hehmdalolkek.shop.model.ProductImportResult;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface ProductBulkDao {
+
+    ProductImportResult importProducts(InputStream csv);
+
+    long exportProducts(Boolean active, OutputStream csv);
+
+}
@@ -1,19 +1,38 @@
 package ru.hehmdalolkek.shop.dao.interfaces;
 
 import ru.hehmdalolkek.shop.model.Product;
+import ru.hehmdalolkek.shop.model.ProductCursor;
+import ru.hehmdalolkek.shop.model.ProductFilter;
+import ru.hehmdalolkek.shop.model.ProductSaveResult;
+import ru.hehmdalolkek.shop.model.ProductSort;
+import ru.hehmdalolkek.shop.web.dto.ProductDto;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface ProductDao {
 
-    List<Product> getAllActiveProducts();
+    List<ProductDto> getAllActiveProducts();
+
+    void streamAllActiveProducts(Consumer<ProductDto> consumer);
+
+    List<ProductDto> getActiveProducts(ProductFilter filter, ProductSort sort, ProductCursor after, int limit);
+
+    List<ProductDto> searchActiveProducts(String query, int limit);
 
     Optional<Product> getProductById(int productId);
 
-    Boolean productExistsByTitle(String title);
+    List<Product> getProductsByIds(Collection<Integer> productIds);
+
+    List<Product> getProductsByIdsFromPrimary(Collection<Integer> productIds);
+
+    Product insertProduct(Product product);
+
+    Optional<Product> updateProduct(Product product);
 
-    Product saveProduct(Product product);
+    List<ProductSaveResult> saveProducts(List<Product> products);
 
     void softDeleteProduct(int productId);
 
@@ -0,0 +1,133 @@
+package ru.hehmdalolkek.shop.dao.listener;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import ru.hehmdalolkek.shop.config.CacheConfig;
+import ru.hehmdalolkek.shop.model.event.ProductChangedEvent;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+@Slf4j
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(name = "shop.product-changes.listen", havingValue = "true", matchIfMissing = true)
+public class ProductChangeNotificationListener implements SmartLifecycle {
+
+    private static final String LISTEN_PRODUCT_CHANGES = "LISTEN product_changes";
+    private static final String ALL_PRODUCTS_PAYLOAD = "*";
+    private static final char NODE_ID_SEPARATOR = ':';
+    private static final int POLL_TIMEOUT_MILLIS = 1000;
+    private static final long RECONNECT_DELAY_MILLIS = 5000;
+
+    private final JdbcConnectionDetails connectionDetails;
+
+    private final CacheManager cacheManager;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ProductChangeOrigin productChangeOrigin;
+
+    private volatile boolean running;
+
+    private Thread listenerThread;
+
+    @Override
+    public void start() {
+        this.running = true;
+        this.listenerThread = new Thread(this::listen, "product-change-listener");
+        this.listenerThread.setDaemon(true);
+        this.listenerThread.start();
+    }
+
+    @Override
+    public void stop() {
+        this.running = false;
+        this.listenerThread.interrupt();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    private void listen() {
+        while (this.running) {
+            try (Connection connection = DriverManager.getConnection(
+                    this.connectionDetails.getJdbcUrl(),
+                    this.connectionDetails.getUsername(),
+                    this.connectionDetails.getPassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute(LISTEN_PRODUCT_CHANGES);
+                }
+                // anything changed while we were not listening is unknown, so start from an empty cache
+                onProductChanged(ALL_PRODUCTS_PAYLOAD);
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (this.running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        onNotification(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!this.running) {
+                    return;
+                }
+                log.warn("Product changes listener lost its connection, reconnecting in {} ms",
+                        RECONNECT_DELAY_MILLIS, e);
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // "<node id>:<product id or *>", the node id is empty for changes made outside the application
+    private void onNotification(String payload) {
+        int separator = payload.indexOf(NODE_ID_SEPARATOR);
+        if (separator < 0) {
+            onProductChanged(payload);
+        } else if (!this.productChangeOrigin.isThisNode(payload.substring(0, separator))) {
+            onProductChanged(payload.substring(separator + 1));
+        }
+    }
+
+    private void onProductChanged(String payload) {
+        Cache cache = this.cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        if (ALL_PRODUCTS_PAYLOAD.equals(payload)) {
+            if (cache != null) {
+                cache.clear();
+            }
+            this.eventPublisher.publishEvent(new ProductChangedEvent());
+            return;
+        }
+        int productId;
+        try {
+            productId = Integer.parseInt(payload);
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring product change notification with unexpected payload '{}'", payload);
+            return;
+        }
+        if (cache != null) {
+            cache.evict(productId);
+        }
+        this.eventPublisher.publishEvent(new ProductChangedEvent(productId));
+    }
+
+}
@@ -0,0 +1,35 @@
+package ru.hehmdalolkek.shop.dao.listener;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+import static java.lang.String.format;
+
+// tags every pooled connection of this node, so the change trigger can name the node in its notifications;
+// a node's own changes are already handled in-process when they commit
+@Component
+public class ProductChangeOrigin implements BeanPostProcessor {
+
+    private static final String SET_NODE_ID = "SET shop.node_id = '%s'";
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public boolean isThisNode(String nodeId) {
+        return this.nodeId.equals(nodeId);
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource dataSource) {
+            String setNodeId = format(SET_NODE_ID, this.nodeId);
+            dataSource.setConnectionInitSql(dataSource.getConnectionInitSql() != null
+                    ? dataSource.getConnectionInitSql() + "; " + setNodeId
+                    : setNodeId);
+        }
+        return bean;
+    }
+
+}
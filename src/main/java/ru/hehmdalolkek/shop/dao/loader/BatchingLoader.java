@@ -0,0 +1,141 @@
+package ru.hehmdalolkek.shop.dao.loader;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+@Slf4j
+public class BatchingLoader<K, V> implements AutoCloseable {
+
+    private final Function<List<K>, Map<K, V>> batchFunction;
+
+    private final long windowNanos;
+
+    private final int maxBatchSize;
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final BlockingQueue<K> pending = new LinkedBlockingQueue<>();
+
+    private final Semaphore batchPermits;
+
+    private final ExecutorService batchExecutor;
+
+    private final Thread dispatcher;
+
+    public BatchingLoader(String name, Function<List<K>, Map<K, V>> batchFunction, Duration window,
+                          int maxBatchSize, int maxConcurrentBatches) {
+        if (maxBatchSize < 1 || maxConcurrentBatches < 1) {
+            throw new IllegalArgumentException(
+                    "Max batch size and max concurrent batches of " + name + " must be positive");
+        }
+        this.batchFunction = batchFunction;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.batchPermits = new Semaphore(maxConcurrentBatches);
+        this.batchExecutor = Executors.newCachedThreadPool(daemonThreadFactory(name + "-batch"));
+        this.dispatcher = daemonThreadFactory(name + "-dispatcher").newThread(this::dispatch);
+        this.dispatcher.start();
+    }
+
+    public V load(K key) {
+        CompletableFuture<V> future = this.inFlight.get(key);
+        if (future == null) {
+            CompletableFuture<V> newFuture = new CompletableFuture<>();
+            future = this.inFlight.putIfAbsent(key, newFuture);
+            if (future == null) {
+                future = newFuture;
+                this.pending.add(key);
+            }
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        this.dispatcher.interrupt();
+        this.batchExecutor.shutdown();
+        IllegalStateException closed = new IllegalStateException("Loader is closed");
+        this.inFlight.values().forEach(future -> future.completeExceptionally(closed));
+    }
+
+    private void dispatch() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                // keys keep piling up while every batch permit is taken, so a busy database gets bigger batches
+                this.batchPermits.acquire();
+                List<K> keys = new ArrayList<>();
+                keys.add(this.pending.take());
+                long deadline = System.nanoTime() + this.windowNanos;
+                while (keys.size() < this.maxBatchSize) {
+                    K key = this.pending.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (key == null) {
+                        break;
+                    }
+                    keys.add(key);
+                }
+                this.batchExecutor.execute(() -> {
+                    try {
+                        runBatch(keys);
+                    } finally {
+                        this.batchPermits.release();
+                    }
+                });
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runBatch(List<K> keys) {
+        Map<K, V> values;
+        try {
+            values = this.batchFunction.apply(keys);
+        } catch (RuntimeException | Error e) {
+            log.debug("Batch of {} keys failed: {}", keys.size(), e.getMessage());
+            for (K key : keys) {
+                this.inFlight.remove(key).completeExceptionally(e);
+            }
+            return;
+        }
+        for (K key : keys) {
+            this.inFlight.remove(key).complete(values.get(key));
+        }
+    }
+
+    private static ThreadFactory daemonThreadFactory(String name) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+}
@@ -0,0 +1,13 @@
+package ru.hehmdalolkek.shop.dao.mapper;
+
+final class ProductColumns {
+
+    static final int PRODUCT_ID = 1;
+    static final int TITLE = 2;
+    static final int PRICE = 3;
+    static final int ACTIVE = 4;
+
+    private ProductColumns() {
+    }
+
+}
@@ -0,0 +1,19 @@
+package ru.hehmdalolkek.shop.dao.mapper;
+
+import org.springframework.jdbc.core.RowMapper;
+import ru.hehmdalolkek.shop.web.dto.ProductDto;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+public class ProductDtoRowMapper implements RowMapper<ProductDto> {
+    @Override
+    public ProductDto mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return ProductDto.builder()
+                .productId(rs.getInt(ProductColumns.PRODUCT_ID))
+                .title(rs.getString(ProductColumns.TITLE))
+                .price(rs.getDouble(ProductColumns.PRICE))
+                .active(rs.getBoolean(ProductColumns.ACTIVE))
+                .build();
+    }
+}
@@ -10,10 +10,10 @@ public class ProductRowMapper implements RowMapper<Product> {
     @Override
     public Product mapRow(ResultSet rs, int rowNum) throws SQLException {
         Product product = new Product();
-        product.setId(rs.getInt("product_id"));
-        product.setTitle(rs.getString("title"));
-        product.setPrice(rs.getDouble("price"));
-        product.setActive(rs.getBoolean("active"));
+        product.setId(rs.getInt(ProductColumns.PRODUCT_ID));
+        product.setTitle(rs.getString(ProductColumns.TITLE));
+        product.setPrice(rs.getDouble(ProductColumns.PRICE));
+        product.setActive(rs.getBoolean(ProductColumns.ACTIVE));
         return product;
     }
 }
@@ -0,0 +1,18 @@
+package ru.hehmdalolkek.shop.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductCursor {
+
+    private int productId;
+
+    private Double price;
+
+    private String title;
+
+}
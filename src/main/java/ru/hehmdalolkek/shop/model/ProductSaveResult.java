@@ -0,0 +1,16 @@
+package ru.hehmdalolkek.shop.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSaveResult {
+
+    private Product product;
+
+    private ProductSaveStatus status;
+
+}
@@ -0,0 +1,11 @@
+package ru.hehmdalolkek.shop.model;
+
+public enum ProductSaveStatus {
+
+    CREATED,
+
+    UPDATED,
+
+    CONFLICT
+
+}
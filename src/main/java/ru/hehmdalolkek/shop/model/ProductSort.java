@@ -0,0 +1,11 @@
+package ru.hehmdalolkek.shop.model;
+
+public enum ProductSort {
+
+    ID,
+    PRICE,
+    PRICE_DESC,
+    TITLE,
+    TITLE_DESC
+
+}
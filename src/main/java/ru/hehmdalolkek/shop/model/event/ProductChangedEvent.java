@@ -0,0 +1,14 @@
+package ru.hehmdalolkek.shop.model.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChangedEvent {
+
+    private Integer productId;
+
+}
@@ -0,0 +1,13 @@
+package ru.hehmdalolkek.shop.model.exception;
+
+public class ProductCursorException extends RuntimeException {
+
+    public ProductCursorException(String message) {
+        super(message);
+    }
+
+    public ProductCursorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
@@ -0,0 +1,13 @@
+package ru.hehmdalolkek.shop.model.exception;
+
+public class ProductImportException extends RuntimeException {
+
+    public ProductImportException(String message) {
+        super(message);
+    }
+
+    public ProductImportException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
@@ -0,0 +1,68 @@
+package ru.hehmdalolkek.shop.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+import ru.hehmdalolkek.shop.config.AccessTokenProperties;
+
+@Configuration
+@EnableConfigurationProperties(AccessTokenProperties.class)
+public class AccessTokenConfig {
+
+    public static final String TOKEN_PATH = "/api/v1/auth/token";
+
+    public static final String ISSUER = "shop";
+
+    public static final String ROLES_CLAIM = "roles";
+
+    private static final Profiles EPHEMERAL_KEY_PROFILES = Profiles.of("dev", "test");
+
+    // a random key would log users out on every restart and reject tokens from the other instances
+    @Bean
+    public AccessTokenKeys accessTokenKeys(AccessTokenProperties accessTokenProperties, Environment environment) {
+        return new AccessTokenKeys(accessTokenProperties, environment.acceptsProfiles(EPHEMERAL_KEY_PROFILES));
+    }
+
+    @Bean
+    public JwtEncoder jwtEncoder(AccessTokenKeys accessTokenKeys) {
+        return new NimbusJwtEncoder(new ImmutableJWKSet<>(accessTokenKeys.getSigningKeys()));
+    }
+
+    // every configured key verifies, so tokens signed before a rotation stay valid until they expire
+    @Bean
+    public JwtDecoder jwtDecoder(AccessTokenKeys accessTokenKeys) {
+        DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+        jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(
+                JWSAlgorithm.HS256, new ImmutableJWKSet<>(accessTokenKeys.getVerificationKeys())));
+        jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+        NimbusJwtDecoder jwtDecoder = new NimbusJwtDecoder(jwtProcessor);
+        jwtDecoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(ISSUER));
+        return jwtDecoder;
+    }
+
+    @Bean
+    public JwtAuthenticationConverter jwtAuthenticationConverter() {
+        JwtGrantedAuthoritiesConverter authoritiesConverter = new JwtGrantedAuthoritiesConverter();
+        authoritiesConverter.setAuthoritiesClaimName(ROLES_CLAIM);
+        authoritiesConverter.setAuthorityPrefix("");
+        JwtAuthenticationConverter authenticationConverter = new JwtAuthenticationConverter();
+        authenticationConverter.setJwtGrantedAuthoritiesConverter(authoritiesConverter);
+        return authenticationConverter;
+    }
+
+}
@@ -0,0 +1,81 @@
+package ru.hehmdalolkek.shop.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.OctetSequenceKey;
+import lombok.extern.slf4j.Slf4j;
+import ru.hehmdalolkek.shop.config.AccessTokenProperties;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static java.lang.String.format;
+
+@Slf4j
+public class AccessTokenKeys {
+
+    private static final String EPHEMERAL_KEY_ID = "ephemeral";
+
+    private static final int MIN_SECRET_LENGTH = 32;
+
+    private final String activeKeyId;
+
+    private final JWKSet keys;
+
+    public AccessTokenKeys(AccessTokenProperties properties, boolean ephemeralKeyAllowed) {
+        Map<String, String> secrets = properties.getKeys();
+        List<JWK> keys = new ArrayList<>(secrets.size());
+        if (secrets.isEmpty()) {
+            if (!ephemeralKeyAllowed) {
+                throw new IllegalStateException("No access token keys configured in shop.security.access-token.keys, " +
+                        "a random key is only generated with the dev or test profile");
+            }
+            // without configured keys tokens are only valid for this instance until it restarts
+            log.warn("No access token keys configured, tokens are signed with a random key until restart");
+            byte[] secret = new byte[MIN_SECRET_LENGTH];
+            new SecureRandom().nextBytes(secret);
+            keys.add(key(EPHEMERAL_KEY_ID, secret));
+            this.activeKeyId = EPHEMERAL_KEY_ID;
+        } else {
+            for (Map.Entry<String, String> secret : secrets.entrySet()) {
+                keys.add(key(secret.getKey(), Base64.getDecoder().decode(secret.getValue())));
+            }
+            this.activeKeyId = properties.getActiveKeyId() != null || secrets.size() > 1
+                    ? properties.getActiveKeyId()
+                    : secrets.keySet().iterator().next();
+        }
+        if (this.activeKeyId == null || keys.stream().noneMatch(key -> this.activeKeyId.equals(key.getKeyID()))) {
+            throw new IllegalStateException(format(
+                    "Active access token key '%s' is not one of the configured keys", this.activeKeyId));
+        }
+        this.keys = new JWKSet(keys);
+    }
+
+    public String getActiveKeyId() {
+        return this.activeKeyId;
+    }
+
+    public JWKSet getSigningKeys() {
+        return new JWKSet(this.keys.getKeyByKeyId(this.activeKeyId));
+    }
+
+    public JWKSet getVerificationKeys() {
+        return this.keys;
+    }
+
+    private static JWK key(String keyId, byte[] secret) {
+        if (secret.length < MIN_SECRET_LENGTH) {
+            throw new IllegalStateException(format(
+                    "Access token key '%s' must be at least %d bytes long", keyId, MIN_SECRET_LENGTH));
+        }
+        return new OctetSequenceKey.Builder(secret)
+                .keyID(keyId)
+                .algorithm(JWSAlgorithm.HS256)
+                .build();
+    }
+
+}
@@ -0,0 +1,61 @@
+package ru.hehmdalolkek.shop.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AccountStatusUserDetailsChecker;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsChecker;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+@RequiredArgsConstructor
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    private final AuthenticationProvider delegate;
+
+    private final UserDetailsService userDetailsService;
+
+    private final VerifiedCredentialCache verifiedCredentialCache;
+
+    private final UserDetailsChecker userDetailsChecker = new AccountStatusUserDetailsChecker();
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        String username = authentication.getName();
+        if (!(authentication.getCredentials() instanceof String password)) {
+            return this.delegate.authenticate(authentication);
+        }
+        String encodedPassword = this.verifiedCredentialCache.getEncodedPassword(username, password);
+        if (encodedPassword != null) {
+            // the user is reloaded so that a changed password or a disabled account takes effect immediately
+            UserDetails user = loadUser(username);
+            if (user != null && encodedPassword.equals(user.getPassword())) {
+                this.userDetailsChecker.check(user);
+                return UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities());
+            }
+            this.verifiedCredentialCache.evictUser(username);
+        }
+        Authentication result = this.delegate.authenticate(authentication);
+        if (result != null && result.getPrincipal() instanceof UserDetails user && user.getPassword() != null) {
+            this.verifiedCredentialCache.put(username, password, user.getPassword());
+        }
+        return result;
+    }
+
+    private UserDetails loadUser(String username) {
+        try {
+            return this.userDetailsService.loadUserByUsername(username);
+        } catch (UsernameNotFoundException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return this.delegate.supports(authentication);
+    }
+
+}
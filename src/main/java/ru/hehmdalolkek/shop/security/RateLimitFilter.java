@@ -0,0 +1,53 @@
+package ru.hehmdalolkek.shop.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.URI;
+
+import static java.lang.String.format;
+
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()) {
+            String path = request.getRequestURI().substring(request.getContextPath().length());
+            long waitNanos = this.rateLimiter.tryAcquire(
+                    authentication.getName(), HttpMethod.valueOf(request.getMethod()), path);
+            if (waitNanos > 0) {
+                long retryAfterSeconds = RateLimiter.retryAfterSeconds(waitNanos);
+                ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.TOO_MANY_REQUESTS,
+                        format("Rate limit exceeded, retry after %d s", retryAfterSeconds));
+                problemDetail.setInstance(URI.create(request.getRequestURI()));
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                this.objectMapper.writeValue(response.getOutputStream(), problemDetail);
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+}
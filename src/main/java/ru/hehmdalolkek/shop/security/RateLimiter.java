@@ -0,0 +1,109 @@
+package ru.hehmdalolkek.shop.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import ru.hehmdalolkek.shop.config.RateLimitProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static java.lang.String.format;
+
+// GCRA, the single-timestamp form of a token bucket: a client's state is the theoretical arrival time
+// of its next request, advanced with a CAS, so admission takes no locks
+public class RateLimiter {
+
+    private final List<Rule> rules;
+
+    private final Cache<Bucket, AtomicLong> theoreticalArrivalTimes;
+
+    private final LongSupplier nanoTime;
+
+    public RateLimiter(RateLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    public RateLimiter(RateLimitProperties properties, LongSupplier nanoTime) {
+        this.rules = new ArrayList<>(properties.getRules().size());
+        for (RateLimitProperties.Rule rule : properties.getRules()) {
+            this.rules.add(Rule.of(rule));
+        }
+        this.theoreticalArrivalTimes = Caffeine.newBuilder()
+                .expireAfterAccess(properties.getIdleTimeout())
+                .maximumSize(properties.getMaximumClients())
+                .build();
+        this.nanoTime = nanoTime;
+    }
+
+    // returns 0 when the request is admitted, otherwise the nanoseconds until it would be
+    public long tryAcquire(String principal, HttpMethod method, String path) {
+        int ruleIndex = findRule(method, path);
+        if (ruleIndex < 0) {
+            return 0;
+        }
+        Rule rule = this.rules.get(ruleIndex);
+        AtomicLong theoreticalArrivalTime = this.theoreticalArrivalTimes.get(
+                new Bucket(principal, ruleIndex), bucket -> new AtomicLong(Long.MIN_VALUE));
+        while (true) {
+            long now = this.nanoTime.getAsLong();
+            long current = theoreticalArrivalTime.get();
+            long next = Math.max(current, now) + rule.emissionInterval();
+            long allowedAt = next - rule.burstTolerance();
+            if (allowedAt > now) {
+                return allowedAt - now;
+            }
+            if (theoreticalArrivalTime.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    private int findRule(HttpMethod method, String path) {
+        if (this.rules.isEmpty()) {
+            return -1;
+        }
+        PathContainer pathContainer = PathContainer.parsePath(path);
+        for (int i = 0; i < this.rules.size(); i++) {
+            Rule rule = this.rules.get(i);
+            if ((rule.method() == null || rule.method().equals(method)) && rule.path().matches(pathContainer)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private record Rule(HttpMethod method, PathPattern path, long emissionInterval, long burstTolerance) {
+
+        static Rule of(RateLimitProperties.Rule rule) {
+            long burst = rule.getBurst() != null ? rule.getBurst() : rule.getLimit();
+            if (rule.getPath() == null || rule.getLimit() <= 0 || burst <= 0) {
+                throw new IllegalStateException(format(
+                        "Rate limit rule for '%s' needs a path and a positive limit and burst", rule.getPath()));
+            }
+            long emissionInterval = rule.getPeriod().toNanos() / rule.getLimit();
+            // a zero interval would admit every request
+            if (emissionInterval <= 0) {
+                throw new IllegalStateException(format(
+                        "Rate limit rule for '%s' allows more than one request per nanosecond", rule.getPath()));
+            }
+            return new Rule(rule.getMethod(), PathPatternParser.defaultInstance.parse(rule.getPath()),
+                    emissionInterval, emissionInterval * burst);
+        }
+
+    }
+
+    private record Bucket(String principal, int rule) {
+    }
+
+}
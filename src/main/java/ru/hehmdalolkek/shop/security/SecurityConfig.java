@@ -1,27 +1,100 @@
 package ru.hehmdalolkek.shop.security;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
+import ru.hehmdalolkek.shop.config.CredentialCacheProperties;
+import ru.hehmdalolkek.shop.config.RateLimitProperties;
+
+import java.util.regex.Pattern;
 
 @Configuration
 @EnableWebSecurity
+@EnableConfigurationProperties({CredentialCacheProperties.class, RateLimitProperties.class})
+@Profile("!reactive")
 public class SecurityConfig {
 
+    private static final Pattern ENCODED_PASSWORD_PATTERN = Pattern.compile("^\\{.+}.*$");
+
+    private static final String NOOP_PASSWORD_PREFIX = "{noop}";
+
+    // Boot backs off its in-memory user once a JwtDecoder bean exists, so the spring.security.user account
+    // is declared here
     @Bean
-    public SecurityFilterChain springFilterChain(HttpSecurity http) throws Exception {
+    public InMemoryUserDetailsManager userDetailsService(SecurityProperties securityProperties) {
+        SecurityProperties.User user = securityProperties.getUser();
+        String password = ENCODED_PASSWORD_PATTERN.matcher(user.getPassword()).matches()
+                ? user.getPassword()
+                : NOOP_PASSWORD_PREFIX + user.getPassword();
+        return new InMemoryUserDetailsManager(User.withUsername(user.getName())
+                .password(password)
+                .roles(user.getRoles().toArray(String[]::new))
+                .build());
+    }
+
+    @Bean
+    public SecurityFilterChain springFilterChain(HttpSecurity http,
+                                                 UserDetailsService userDetailsService,
+                                                 ObjectProvider<PasswordEncoder> passwordEncoder,
+                                                 CredentialCacheProperties credentialCacheProperties,
+                                                 JwtDecoder jwtDecoder,
+                                                 JwtAuthenticationConverter jwtAuthenticationConverter,
+                                                 RateLimitProperties rateLimitProperties,
+                                                 ObjectMapper objectMapper) throws Exception {
+        DaoAuthenticationProvider daoAuthenticationProvider = new DaoAuthenticationProvider(
+                passwordEncoder.getIfAvailable(PasswordEncoderFactories::createDelegatingPasswordEncoder));
+        daoAuthenticationProvider.setUserDetailsService(userDetailsService);
+        AuthenticationProvider authenticationProvider = credentialCacheProperties.isEnabled()
+                ? new CachingAuthenticationProvider(daoAuthenticationProvider, userDetailsService,
+                        new VerifiedCredentialCache(credentialCacheProperties))
+                : daoAuthenticationProvider;
+        JwtAuthenticationProvider jwtAuthenticationProvider = new JwtAuthenticationProvider(jwtDecoder);
+        jwtAuthenticationProvider.setJwtAuthenticationConverter(jwtAuthenticationConverter);
+        if (rateLimitProperties.isEnabled()) {
+            // after authorization, so only authenticated and permitted requests count against a client's limit
+            http.addFilterAfter(new RateLimitFilter(new RateLimiter(rateLimitProperties), objectMapper),
+                    AuthorizationFilter.class);
+        }
         return http
                 .csrf(AbstractHttpConfigurer::disable)
-                .authorizeHttpRequests(authorize ->
-                        authorize.anyRequest().authenticated()
+                .authorizeHttpRequests(authorize -> authorize
+                        // tokens are only issued for credentials, so a token cannot be used to renew itself
+                        .requestMatchers(HttpMethod.POST, AccessTokenConfig.TOKEN_PATH)
+                        .access((authentication, context) -> new AuthorizationDecision(
+                                authentication.get() instanceof UsernamePasswordAuthenticationToken))
+                        .anyRequest().authenticated()
                 )
                 .formLogin(AbstractHttpConfigurer::disable)
                 .httpBasic(Customizer.withDefaults())
+                .authenticationManager(new ProviderManager(authenticationProvider))
+                .oauth2ResourceServer(resourceServer -> resourceServer
+                        .jwt(jwt -> jwt.authenticationManager(new ProviderManager(jwtAuthenticationProvider)))
+                )
                 .sessionManagement(session ->
                         session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
@@ -0,0 +1,62 @@
+package ru.hehmdalolkek.shop.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import ru.hehmdalolkek.shop.config.CredentialCacheProperties;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+
+public class VerifiedCredentialCache {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private static final int HMAC_KEY_LENGTH = 32;
+
+    // keys are HMACs under a per-process secret, so neither raw passwords nor offline-crackable
+    // hashes of them are kept in memory
+    private final SecretKeySpec hmacKey;
+
+    private final Cache<String, VerifiedCredential> credentials;
+
+    public VerifiedCredentialCache(CredentialCacheProperties properties) {
+        byte[] key = new byte[HMAC_KEY_LENGTH];
+        new SecureRandom().nextBytes(key);
+        this.hmacKey = new SecretKeySpec(key, HMAC_ALGORITHM);
+        this.credentials = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getTtl())
+                .maximumSize(properties.getMaximumSize())
+                .build();
+    }
+
+    public String getEncodedPassword(String username, String password) {
+        VerifiedCredential credential = this.credentials.getIfPresent(key(username, password));
+        return credential != null && credential.username().equals(username) ? credential.encodedPassword() : null;
+    }
+
+    public void put(String username, String password, String encodedPassword) {
+        this.credentials.put(key(username, password), new VerifiedCredential(username, encodedPassword));
+    }
+
+    public void evictUser(String username) {
+        this.credentials.asMap().values().removeIf(credential -> credential.username().equals(username));
+    }
+
+    private String key(String username, String password) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(this.hmacKey);
+            return HexFormat.of().formatHex(mac.doFinal((username + ':' + password).getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record VerifiedCredential(String username, String encodedPassword) {
+    }
+
+}
@@ -0,0 +1,57 @@
+package ru.hehmdalolkek.shop.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.stereotype.Service;
+import ru.hehmdalolkek.shop.config.AccessTokenProperties;
+import ru.hehmdalolkek.shop.security.AccessTokenConfig;
+import ru.hehmdalolkek.shop.security.AccessTokenKeys;
+import ru.hehmdalolkek.shop.service.interfaces.AccessTokenService;
+import ru.hehmdalolkek.shop.web.dto.AccessTokenDto;
+
+import java.time.Instant;
+import java.util.List;
+
+@RequiredArgsConstructor
+@Service
+public class AccessTokenServiceImpl implements AccessTokenService {
+
+    private static final String TOKEN_TYPE = "Bearer";
+
+    private final JwtEncoder jwtEncoder;
+
+    private final AccessTokenKeys accessTokenKeys;
+
+    private final AccessTokenProperties accessTokenProperties;
+
+    @Override
+    public AccessTokenDto issueAccessToken(Authentication authentication) {
+        Instant issuedAt = Instant.now();
+        List<String> roles = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuer(AccessTokenConfig.ISSUER)
+                .subject(authentication.getName())
+                .issuedAt(issuedAt)
+                .expiresAt(issuedAt.plus(this.accessTokenProperties.getTtl()))
+                .claim(AccessTokenConfig.ROLES_CLAIM, roles)
+                .build();
+        JwsHeader header = JwsHeader.with(MacAlgorithm.HS256)
+                .keyId(this.accessTokenKeys.getActiveKeyId())
+                .build();
+        String accessToken = this.jwtEncoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+        return AccessTokenDto.builder()
+                .accessToken(accessToken)
+                .tokenType(TOKEN_TYPE)
+                .expiresIn(this.accessTokenProperties.getTtl().toSeconds())
+                .build();
+    }
+
+}
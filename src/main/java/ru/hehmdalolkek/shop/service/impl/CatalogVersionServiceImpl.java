@@ -0,0 +1,27 @@
+package ru.hehmdalolkek.shop.service.impl;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.hehmdalolkek.shop.model.event.ProductChangedEvent;
+import ru.hehmdalolkek.shop.service.interfaces.CatalogVersionService;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class CatalogVersionServiceImpl implements CatalogVersionService {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    private final AtomicLong version = new AtomicLong();
+
+    @Override
+    public String getCatalogVersion() {
+        return this.epoch + "-" + this.version.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        this.version.incrementAndGet();
+    }
+
+}
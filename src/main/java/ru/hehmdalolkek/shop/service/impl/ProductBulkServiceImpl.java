@@ -0,0 +1,39 @@
+package ru.hehmdalolkek.shop.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.hehmdalolkek.shop.dao.interfaces.ProductBulkDao;
+import ru.hehmdalolkek.shop.model.ProductImportResult;
+import ru.hehmdalolkek.shop.model.event.ProductChangedEvent;
+import ru.hehmdalolkek.shop.service.interfaces.ProductBulkService;
+import ru.hehmdalolkek.shop.web.dto.ProductImportResultDto;
+import ru.hehmdalolkek.shop.web.mapper.ProductMapper;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+@RequiredArgsConstructor
+@Service
+public class ProductBulkServiceImpl implements ProductBulkService {
+
+    private final ProductBulkDao productBulkDao;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional
+    public ProductImportResultDto importProducts(InputStream csv) {
+        ProductImportResult result = this.productBulkDao.importProducts(csv);
+        this.eventPublisher.publishEvent(new ProductChangedEvent());
+        return ProductMapper.INSTANCE.productImportResultToProductImportResultDto(result);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportProducts(Boolean active, OutputStream csv) {
+        this.productBulkDao.exportProducts(active, csv);
+    }
+
+}
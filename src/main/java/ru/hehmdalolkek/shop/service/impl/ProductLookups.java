@@ -0,0 +1,41 @@
+package ru.hehmdalolkek.shop.service.impl;
+
+import ru.hehmdalolkek.shop.model.Product;
+import ru.hehmdalolkek.shop.web.dto.ProductDto;
+import ru.hehmdalolkek.shop.web.dto.ProductLookupDto;
+import ru.hehmdalolkek.shop.web.mapper.ProductMapper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// found products in the requested order, and the ids that were not found
+final class ProductLookups {
+
+    private ProductLookups() {
+    }
+
+    static ProductLookupDto lookup(Collection<Integer> productIds, List<Product> products) {
+        Map<Integer, Product> productsById = new HashMap<>();
+        for (Product product : products) {
+            productsById.put(product.getId(), product);
+        }
+        List<ProductDto> productDtos = new ArrayList<>(products.size());
+        List<Integer> missingIds = new ArrayList<>();
+        for (Integer productId : productIds) {
+            Product product = productsById.get(productId);
+            if (product != null) {
+                productDtos.add(ProductMapper.INSTANCE.productToProductDto(product));
+            } else {
+                missingIds.add(productId);
+            }
+        }
+        return ProductLookupDto.builder()
+                .products(productDtos)
+                .missingIds(missingIds)
+                .build();
+    }
+
+}
@@ -0,0 +1,69 @@
+package ru.hehmdalolkek.shop.service.impl;
+
+import ru.hehmdalolkek.shop.model.ProductCursor;
+import ru.hehmdalolkek.shop.model.ProductSort;
+import ru.hehmdalolkek.shop.model.exception.ProductCursorException;
+import ru.hehmdalolkek.shop.web.dto.ProductDto;
+import ru.hehmdalolkek.shop.web.dto.ProductPageDto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+// the cursor carries the sort key of the last row, so a page never depends on that row still being unchanged
+final class ProductPages {
+
+    private static final String SEPARATOR = "|";
+
+    private ProductPages() {
+    }
+
+    static ProductCursor decodeCursor(String cursor, ProductSort sort) {
+        if (cursor == null) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = decoded.split("\\" + SEPARATOR, 3);
+            if (parts.length != 3 || !sort.name().equals(parts[0])) {
+                throw new ProductCursorException("Cursor does not belong to sort " + sort);
+            }
+            int productId = Integer.parseInt(parts[1]);
+            return switch (sort) {
+                case ID -> new ProductCursor(productId, null, null);
+                case PRICE, PRICE_DESC -> new ProductCursor(productId, finitePrice(parts[2]), null);
+                case TITLE, TITLE_DESC -> new ProductCursor(productId, null, parts[2]);
+            };
+        } catch (IllegalArgumentException e) {
+            throw new ProductCursorException("Invalid cursor", e);
+        }
+    }
+
+    static ProductPageDto page(List<ProductDto> products, ProductSort sort, int limit) {
+        boolean hasNextPage = products.size() > limit;
+        List<ProductDto> productDtos = hasNextPage ? products.subList(0, limit) : products;
+        return ProductPageDto.builder()
+                .products(productDtos)
+                .nextCursor(hasNextPage ? encodeCursor(productDtos.get(limit - 1), sort) : null)
+                .build();
+    }
+
+    private static String encodeCursor(ProductDto product, ProductSort sort) {
+        String sortKey = switch (sort) {
+            case ID -> "";
+            case PRICE, PRICE_DESC -> Double.toString(product.getPrice());
+            case TITLE, TITLE_DESC -> product.getTitle();
+        };
+        String cursor = sort.name() + SEPARATOR + product.getProductId() + SEPARATOR + sortKey;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static double finitePrice(String price) {
+        double value = Double.parseDouble(price);
+        if (!Double.isFinite(value)) {
+            throw new ProductCursorException("Invalid cursor");
+        }
+        return value;
+    }
+
+}
@@ -1,18 +1,31 @@
 package ru.hehmdalolkek.shop.service.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import ru.hehmdalolkek.shop.dao.interfaces.ProductDao;
 import ru.hehmdalolkek.shop.model.Product;
+import ru.hehmdalolkek.shop.model.ProductCursor;
+import ru.hehmdalolkek.shop.model.ProductFilter;
+import ru.hehmdalolkek.shop.model.ProductSaveResult;
+import ru.hehmdalolkek.shop.model.ProductSort;
+import ru.hehmdalolkek.shop.model.event.ProductChangedEvent;
 import ru.hehmdalolkek.shop.model.exception.ProductIsAlreadyExistsException;
 import ru.hehmdalolkek.shop.model.exception.ProductNotFoundException;
 import ru.hehmdalolkek.shop.service.interfaces.ProductService;
 import ru.hehmdalolkek.shop.web.dto.ProductDto;
+import ru.hehmdalolkek.shop.web.dto.ProductLookupDto;
+import ru.hehmdalolkek.shop.web.dto.ProductPageDto;
+import ru.hehmdalolkek.shop.web.dto.ProductSaveResultDto;
 import ru.hehmdalolkek.shop.web.mapper.ProductMapper;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import static java.lang.String.format;
 
@@ -22,19 +35,35 @@ public class ProductServiceImpl implements ProductService {
 
     private final ProductDao productDao;
 
+    private final ApplicationEventPublisher eventPublisher;
+
     @Override
     @Transactional(readOnly = true)
     public List<ProductDto> getAllActiveProducts() {
-        List<Product> products = this.productDao.getAllActiveProducts();
-        List<ProductDto> productDtos = new ArrayList<>();
-        for (Product product : products) {
-            productDtos.add(ProductMapper.INSTANCE.productToProductDto(product));
-        }
-        return productDtos;
+        return this.productDao.getAllActiveProducts();
     }
 
     @Override
     @Transactional(readOnly = true)
+    public void streamAllActiveProducts(Consumer<ProductDto> consumer) {
+        this.productDao.streamAllActiveProducts(consumer);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ProductPageDto getActiveProductsPage(ProductFilter filter, ProductSort sort, String after, int limit) {
+        ProductCursor cursor = ProductPages.decodeCursor(after, sort);
+        return ProductPages.page(this.productDao.getActiveProducts(filter, sort, cursor, limit + 1), sort, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductDto> searchActiveProducts(String query, int limit) {
+        return this.productDao.searchActiveProducts(query.strip(), limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public ProductDto getProductById(int productId) throws ProductNotFoundException {
         Product product = this.productDao.getProductById(productId)
                 .orElseThrow(() ->
@@ -42,20 +71,19 @@ public class ProductServiceImpl implements ProductService {
         return ProductMapper.INSTANCE.productToProductDto(product);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ProductLookupDto getProductsByIds(List<Integer> productIds) {
+        Set<Integer> distinctProductIds = new LinkedHashSet<>(productIds);
+        return ProductLookups.lookup(distinctProductIds, this.productDao.getProductsByIds(distinctProductIds));
+    }
+
     @Override
     @Transactional(rollbackFor = ProductIsAlreadyExistsException.class)
     public ProductDto createProduct(ProductDto productDto) throws ProductIsAlreadyExistsException {
         Product product = ProductMapper.INSTANCE.productDtoToProduct(productDto);
-        if (product.getId() != null
-                && this.productDao.getProductById(product.getId()).isPresent()) {
-            throw new ProductIsAlreadyExistsException(
-                    format("Product with id=%d is already exists", product.getId()));
-        }
-        if (this.productDao.productExistsByTitle(product.getTitle())) {
-            throw new ProductIsAlreadyExistsException(
-                    format("Product with title=%s is already exists", product.getTitle()));
-        }
-        Product savedProduct = this.productDao.saveProduct(product);
+        Product savedProduct = this.productDao.insertProduct(product);
+        this.eventPublisher.publishEvent(new ProductChangedEvent(savedProduct.getId()));
         return ProductMapper.INSTANCE.productToProductDto(savedProduct);
     }
 
@@ -63,31 +91,42 @@ public class ProductServiceImpl implements ProductService {
     @Transactional(rollbackFor = ProductNotFoundException.class)
     public ProductDto updateProduct(int productId, ProductDto productDto) throws ProductIsAlreadyExistsException {
         Product product = ProductMapper.INSTANCE.productDtoToProduct(productDto);
-        Product foundedProduct = this.productDao.getProductById(productId)
+        product.setId(productId);
+        Product savedProduct = this.productDao.updateProduct(product)
                 .orElseThrow(() ->
                         new ProductNotFoundException(format("Product with id=%d not found", productId)));
-        if (!foundedProduct.getTitle().equals(product.getTitle())
-                && this.productDao.productExistsByTitle(product.getTitle())) {
-            throw new ProductIsAlreadyExistsException(
-                    format("Product with title=%s is already exists", product.getTitle()));
-        }
-        foundedProduct.setTitle(product.getTitle());
-        foundedProduct.setActive(product.getActive());
-        foundedProduct.setPrice(product.getPrice());
-        Product savedProduct = this.productDao.saveProduct(foundedProduct);
+        this.eventPublisher.publishEvent(new ProductChangedEvent(productId));
         return ProductMapper.INSTANCE.productToProductDto(savedProduct);
     }
 
+    @Override
+    @Transactional
+    public List<ProductSaveResultDto> saveProducts(List<ProductDto> productDtos) {
+        List<Product> products = new ArrayList<>(productDtos.size());
+        for (ProductDto productDto : productDtos) {
+            products.add(ProductMapper.INSTANCE.productDtoToProduct(productDto));
+        }
+        List<ProductSaveResult> results = this.productDao.saveProducts(products);
+        this.eventPublisher.publishEvent(new ProductChangedEvent());
+        List<ProductSaveResultDto> resultDtos = new ArrayList<>(results.size());
+        for (ProductSaveResult result : results) {
+            resultDtos.add(ProductMapper.INSTANCE.productSaveResultToProductSaveResultDto(result));
+        }
+        return resultDtos;
+    }
+
     @Override
     @Transactional
     public void softDeleteProductById(int productId) {
         this.productDao.softDeleteProduct(productId);
+        this.eventPublisher.publishEvent(new ProductChangedEvent(productId));
     }
 
     @Override
     @Transactional
     public void hardDeleteProductById(int productId) {
         this.productDao.hardDeleteProduct(productId);
+        this.eventPublisher.publishEvent(new ProductChangedEvent(productId));
     }
 
 }
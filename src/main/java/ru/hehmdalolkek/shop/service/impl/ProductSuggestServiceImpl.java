@@ -0,0 +1,249 @@
+package ru.hehmdalolkek.shop.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.hehmdalolkek.shop.dao.interfaces.ProductDao;
+import ru.hehmdalolkek.shop.model.Product;
+import ru.hehmdalolkek.shop.model.event.ProductChangedEvent;
+import ru.hehmdalolkek.shop.service.interfaces.ProductSuggestService;
+import ru.hehmdalolkek.shop.web.dto.ProductDto;
+import ru.hehmdalolkek.shop.web.mapper.ProductMapper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Service
+public class ProductSuggestServiceImpl implements ProductSuggestService, DisposableBean {
+
+    private final ProductDao productDao;
+
+    // not read-only, so the index is filled from the primary and a lagging replica cannot undo a change just announced
+    private final TransactionOperations primaryReads;
+
+    // not synchronized, which would pin a virtual thread's carrier; no JDBC under the lock either, since
+    // a request thread still holding its transaction connection may be waiting for it
+    private final Lock titleIndexLock = new ReentrantLock();
+
+    private final AtomicLong readSequence = new AtomicLong();
+
+    // full reloads read the whole table, so they run off the committing request thread, one at a time
+    private final ExecutorService reloadExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "product-suggest-reload");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // set while a reload is queued; requests arriving meanwhile are covered by it, so at most one waits
+    private final AtomicBoolean reloadPending = new AtomicBoolean();
+
+    // products refreshed since the last full reload, with the title they were indexed under or null
+    private final Map<Integer, ProductRead> productReads = new HashMap<>();
+
+    private long indexRead;
+
+    private volatile TitleIndex titleIndex = new TitleIndex(new String[0], new int[0]);
+
+    public ProductSuggestServiceImpl(ProductDao productDao, PlatformTransactionManager transactionManager) {
+        this.productDao = productDao;
+        this.primaryReads = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public List<ProductDto> suggestActiveProducts(String prefix, int limit) {
+        String normalizedPrefix = normalize(prefix.strip());
+        TitleIndex index = this.titleIndex;
+        List<ProductDto> products = new ArrayList<>(limit);
+        for (int i = index.lowerBound(normalizedPrefix, Integer.MIN_VALUE);
+             i < index.size() && products.size() < limit && index.titles()[i].startsWith(normalizedPrefix); i++) {
+            // the index only orders ids, the products themselves come from the product cache
+            this.productDao.getProductById(index.productIds()[i])
+                    .filter(product -> Boolean.TRUE.equals(product.getActive())
+                            && normalize(product.getTitle()).startsWith(normalizedPrefix))
+                    .map(ProductMapper.INSTANCE::productToProductDto)
+                    .ifPresent(products::add);
+        }
+        return products;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reloadTitleIndex();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.getProductId() == null) {
+            scheduleReload();
+        } else {
+            refreshProduct(event.getProductId());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        this.reloadExecutor.shutdownNow();
+    }
+
+    private void scheduleReload() {
+        if (!this.reloadPending.compareAndSet(false, true)) {
+            return;
+        }
+        this.reloadExecutor.execute(() -> {
+            this.reloadPending.set(false);
+            try {
+                reloadTitleIndex();
+            } catch (RuntimeException e) {
+                log.warn("Failed to reload product suggest index: {}", e.getMessage());
+            }
+        });
+    }
+
+    private void reloadTitleIndex() {
+        long read = this.readSequence.incrementAndGet();
+        List<ProductDto> products = this.primaryReads.execute(status -> this.productDao.getAllActiveProducts());
+        this.titleIndexLock.lock();
+        try {
+            if (read < this.indexRead) {
+                return;
+            }
+            Map<Integer, String> titles = new HashMap<>(products.size());
+            for (ProductDto product : products) {
+                titles.put(product.getProductId(), normalize(product.getTitle()));
+            }
+            // products refreshed after this reload had read the table are fresher than what it saw
+            for (Map.Entry<Integer, ProductRead> productRead : this.productReads.entrySet()) {
+                if (productRead.getValue().read() > read) {
+                    titles.remove(productRead.getKey());
+                    if (productRead.getValue().title() != null) {
+                        titles.put(productRead.getKey(), productRead.getValue().title());
+                    }
+                }
+            }
+            this.productReads.values().removeIf(productRead -> productRead.read() <= read);
+            this.indexRead = read;
+            this.titleIndex = TitleIndex.of(titles);
+        } finally {
+            this.titleIndexLock.unlock();
+        }
+    }
+
+    private void refreshProduct(int productId) {
+        long read = this.readSequence.incrementAndGet();
+        Optional<Product> product = this.primaryReads.execute(status -> this.productDao.getProductById(productId));
+        String title = product
+                .filter(activeProduct -> Boolean.TRUE.equals(activeProduct.getActive()))
+                .map(activeProduct -> normalize(activeProduct.getTitle()))
+                .orElse(null);
+        this.titleIndexLock.lock();
+        try {
+            ProductRead lastRead = this.productReads.get(productId);
+            if (read < this.indexRead || (lastRead != null && read < lastRead.read())) {
+                return;
+            }
+            this.productReads.put(productId, new ProductRead(read, title));
+            this.titleIndex = this.titleIndex.replace(productId, title);
+        } finally {
+            this.titleIndexLock.unlock();
+        }
+    }
+
+    private static String normalize(String title) {
+        return title.toLowerCase(Locale.ROOT);
+    }
+
+    private record ProductRead(long read, String title) {
+    }
+
+    // normalized titles sorted with their product ids as a tie-break, replaced as a whole on every change
+    private record TitleIndex(String[] titles, int[] productIds) {
+
+        static TitleIndex of(Map<Integer, String> titlesByProductId) {
+            List<Map.Entry<Integer, String>> entries = new ArrayList<>(titlesByProductId.entrySet());
+            entries.sort(Map.Entry.<Integer, String>comparingByValue().thenComparing(Map.Entry.comparingByKey()));
+            String[] titles = new String[entries.size()];
+            int[] productIds = new int[entries.size()];
+            for (int i = 0; i < entries.size(); i++) {
+                titles[i] = entries.get(i).getValue();
+                productIds[i] = entries.get(i).getKey();
+            }
+            return new TitleIndex(titles, productIds);
+        }
+
+        int size() {
+            return this.titles.length;
+        }
+
+        // position of the first entry not before (title, productId)
+        int lowerBound(String title, int productId) {
+            int low = 0;
+            int high = this.titles.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                int comparison = this.titles[middle].compareTo(title);
+                if (comparison < 0 || (comparison == 0 && this.productIds[middle] < productId)) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        // null title removes the product
+        TitleIndex replace(int productId, String title) {
+            int removed = -1;
+            for (int i = 0; i < this.productIds.length; i++) {
+                if (this.productIds[i] == productId) {
+                    removed = i;
+                    break;
+                }
+            }
+            if (removed >= 0 && this.titles[removed].equals(title)) {
+                return this;
+            }
+            int size = this.titles.length - (removed >= 0 ? 1 : 0);
+            String[] keptTitles = new String[size];
+            int[] keptProductIds = new int[size];
+            for (int i = 0, j = 0; i < this.titles.length; i++) {
+                if (i != removed) {
+                    keptTitles[j] = this.titles[i];
+                    keptProductIds[j++] = this.productIds[i];
+                }
+            }
+            TitleIndex kept = new TitleIndex(keptTitles, keptProductIds);
+            if (title == null) {
+                return kept;
+            }
+            int inserted = kept.lowerBound(title, productId);
+            String[] titles = new String[size + 1];
+            int[] productIds = new int[size + 1];
+            System.arraycopy(keptTitles, 0, titles, 0, inserted);
+            System.arraycopy(keptProductIds, 0, productIds, 0, inserted);
+            titles[inserted] = title;
+            productIds[inserted] = productId;
+            System.arraycopy(keptTitles, inserted, titles, inserted + 1, size - inserted);
+            System.arraycopy(keptProductIds, inserted, productIds, inserted + 1, size - inserted);
+            return new TitleIndex(titles, productIds);
+        }
+
+    }
+
+}
@@ -0,0 +1,10 @@
+package ru.hehmdalolkek.shop.service.interfaces;
+
+import org.springframework.security.core.Authentication;
+import ru.hehmdalolkek.shop.web.dto.AccessTokenDto;
+
+public interface AccessTokenService {
+
+    AccessTokenDto issueAccessToken(Authentication authentication);
+
+}
@@ -0,0 +1,7 @@
+package ru.hehmdalolkek.shop.service.interfaces;
+
+public interface CatalogVersionService {
+
+    String getCatalogVersion();
+
+}
@@ -0,0 +1,14 @@
+package ru.hehmdalolkek.shop.service.interfaces;
+
+import ru.hehmdalolkek.shop.web.dto.ProductImportResultDto;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface ProductBulkService {
+
+    ProductImportResultDto importProducts(InputStream csv);
+
+    void exportProducts(Boolean active, OutputStream csv);
+
+}
@@ -1,19 +1,35 @@
 package ru.hehmdalolkek.shop.service.interfaces;
 
+import ru.hehmdalolkek.shop.model.ProductFilter;
+import ru.hehmdalolkek.shop.model.ProductSort;
 import ru.hehmdalolkek.shop.web.dto.ProductDto;
+import ru.hehmdalolkek.shop.web.dto.ProductLookupDto;
+import ru.hehmdalolkek.shop.web.dto.ProductPageDto;
+import ru.hehmdalolkek.shop.web.dto.ProductSaveResultDto;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ProductService {
 
     List<ProductDto> getAllActiveProducts();
 
+    void streamAllActiveProducts(Consumer<ProductDto> consumer);
+
+    ProductPageDto getActiveProductsPage(ProductFilter filter, ProductSort sort, String after, int limit);
+
+    List<ProductDto> searchActiveProducts(String query, int limit);
+
     ProductDto getProductById(int productId);
 
+    ProductLookupDto getProductsByIds(List<Integer> productIds);
+
     ProductDto createProduct(ProductDto productDto);
 
     ProductDto updateProduct(int productId, ProductDto productDto);
 
+    List<ProductSaveResultDto> saveProducts(List<ProductDto> productDtos);
+
     void softDeleteProductById(int productId);
 
     void hardDeleteProductById(int productId);
@@ -0,0 +1,11 @@
+package ru.hehmdalolkek.shop.service.interfaces;
+
+import ru.hehmdalolkek.shop.web.dto.ProductDto;
+
+import java.util.List;
+
+public interface ProductSuggestService {
+
+    List<ProductDto> suggestActiveProducts(String prefix, int limit);
+
+}
@@ -0,0 +1,30 @@
+package ru.hehmdalolkek.shop.web.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.hehmdalolkek.shop.service.interfaces.AccessTokenService;
+import ru.hehmdalolkek.shop.web.dto.AccessTokenDto;
+
+@RestController
+@RequestMapping("/api/v1/auth")
+@RequiredArgsConstructor
+public class AccessTokenController {
+
+    private final AccessTokenService accessTokenService;
+
+    @PostMapping("/token")
+    public ResponseEntity<?> issueAccessToken(Authentication authentication) {
+        AccessTokenDto accessToken = this.accessTokenService.issueAccessToken(authentication);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noStore())
+                .body(accessToken);
+    }
+
+}
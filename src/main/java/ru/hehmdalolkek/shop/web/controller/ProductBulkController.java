@@ -0,0 +1,50 @@
+package ru.hehmdalolkek.shop.web.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.hehmdalolkek.shop.service.interfaces.ProductBulkService;
+import ru.hehmdalolkek.shop.web.dto.ProductImportResultDto;
+
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/v1/products")
+@RequiredArgsConstructor
+@Profile("!reactive")
+public class ProductBulkController {
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+    private static final String EXPORT_FILENAME = "products.csv";
+
+    private final ProductBulkService productBulkService;
+
+    @PostMapping(value = "/import", consumes = TEXT_CSV_VALUE)
+    public ResponseEntity<?> importProducts(InputStream csv) {
+        ProductImportResultDto result = this.productBulkService.importProducts(csv);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(result);
+    }
+
+    @GetMapping(value = "/export.csv", produces = TEXT_CSV_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestParam(value = "active", required = false) Boolean active) {
+        StreamingResponseBody body = outputStream -> this.productBulkService.exportProducts(active, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(TEXT_CSV_VALUE))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(EXPORT_FILENAME).build().toString())
+                .body(body);
+    }
+
+}
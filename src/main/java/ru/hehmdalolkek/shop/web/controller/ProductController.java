@@ -1,38 +1,185 @@
 package ru.hehmdalolkek.shop.web.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
+import ru.hehmdalolkek.shop.model.ProductFilter;
+import ru.hehmdalolkek.shop.model.ProductSort;
+import ru.hehmdalolkek.shop.service.interfaces.CatalogVersionService;
 import ru.hehmdalolkek.shop.service.interfaces.ProductService;
+import ru.hehmdalolkek.shop.service.interfaces.ProductSuggestService;
 import ru.hehmdalolkek.shop.web.dto.ProductDto;
+import ru.hehmdalolkek.shop.web.dto.ProductLookupDto;
+import ru.hehmdalolkek.shop.web.dto.ProductPageDto;
+import ru.hehmdalolkek.shop.web.dto.ProductSaveResultDto;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/products")
 @RequiredArgsConstructor
 @Validated
+@Profile("!reactive")
 public class ProductController {
 
+    private static final int DEFAULT_PAGE_LIMIT = 50;
+
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+
+    private static final int DEFAULT_SUGGEST_LIMIT = 10;
+
+    private static final CacheControl CATALOG_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
     private final ProductService productService;
 
+    private final ProductSuggestService productSuggestService;
+
+    private final CatalogVersionService catalogVersionService;
+
+    private final ObjectMapper objectMapper;
+
     @GetMapping
-    public ResponseEntity<?> getAllActiveProducts() {
-        List<ProductDto> products = this.productService.getAllActiveProducts();
+    public ResponseEntity<?> getAllActiveProducts(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", required = false) @Min(1) @Max(1000) Integer limit,
+            @RequestParam(value = "minPrice", required = false) @PositiveOrZero Double minPrice,
+            @RequestParam(value = "maxPrice", required = false) @PositiveOrZero Double maxPrice,
+            @RequestParam(value = "sort", required = false) ProductSort sort,
+            WebRequest webRequest) {
+        String catalogVersion = this.catalogVersionService.getCatalogVersion();
+        if (webRequest.checkNotModified(catalogVersion)) {
+            return null;
+        }
+        if (after == null && limit == null && minPrice == null && maxPrice == null && sort == null) {
+            List<ProductDto> products = this.productService.getAllActiveProducts();
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .eTag(catalogVersion)
+                    .cacheControl(CATALOG_CACHE_CONTROL)
+                    .body(products);
+        }
+        ProductPageDto page = this.productService.getActiveProductsPage(
+                new ProductFilter(minPrice, maxPrice),
+                sort != null ? sort : ProductSort.ID,
+                after,
+                limit != null ? limit : DEFAULT_PAGE_LIMIT);
         return ResponseEntity.ok()
                 .contentType(MediaType.APPLICATION_JSON)
+                .eTag(catalogVersion)
+                .cacheControl(CATALOG_CACHE_CONTROL)
+                .body(page);
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<?> getProductsByIds(
+            @RequestParam("ids") @Size(min = 1, max = ProductLookupDto.MAX_QUERY_IDS) List<@NotNull Integer> ids,
+            WebRequest webRequest) {
+        String catalogVersion = this.catalogVersionService.getCatalogVersion();
+        if (webRequest.checkNotModified(catalogVersion)) {
+            return null;
+        }
+        ProductLookupDto lookup = this.productService.getProductsByIds(ids);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(catalogVersion)
+                .cacheControl(CATALOG_CACHE_CONTROL)
+                .body(lookup);
+    }
+
+    @PostMapping("/lookup")
+    public ResponseEntity<?> lookupProductsByIds(
+            @RequestBody @Size(min = 1, max = ProductLookupDto.MAX_BODY_IDS) List<@NotNull Integer> ids) {
+        ProductLookupDto lookup = this.productService.getProductsByIds(ids);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(lookup);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<?> searchActiveProducts(
+            @RequestParam("q") @NotBlank @Size(max = 100) String q,
+            @RequestParam(value = "limit", required = false) @Min(1) @Max(100) Integer limit,
+            WebRequest webRequest) {
+        String catalogVersion = this.catalogVersionService.getCatalogVersion();
+        if (webRequest.checkNotModified(catalogVersion)) {
+            return null;
+        }
+        List<ProductDto> products = this.productService.searchActiveProducts(
+                q, limit != null ? limit : DEFAULT_SEARCH_LIMIT);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(catalogVersion)
+                .cacheControl(CATALOG_CACHE_CONTROL)
+                .body(products);
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<?> suggestActiveProducts(
+            @RequestParam("prefix") @NotBlank @Size(max = 100) String prefix,
+            @RequestParam(value = "limit", required = false) @Min(1) @Max(50) Integer limit,
+            WebRequest webRequest) {
+        String catalogVersion = this.catalogVersionService.getCatalogVersion();
+        if (webRequest.checkNotModified(catalogVersion)) {
+            return null;
+        }
+        List<ProductDto> products = this.productSuggestService.suggestActiveProducts(
+                prefix, limit != null ? limit : DEFAULT_SUGGEST_LIMIT);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(catalogVersion)
+                .cacheControl(CATALOG_CACHE_CONTROL)
                 .body(products);
     }
 
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllActiveProducts() {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = this.objectMapper.getFactory().createGenerator(outputStream)
+                    .setRootValueSeparator(null)) {
+                this.productService.streamAllActiveProducts(product -> {
+                    try {
+                        generator.writeObject(product);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @GetMapping("/{productId:\\d+}")
-    public ResponseEntity<?> getProductById(@PathVariable int productId) {
+    public ResponseEntity<?> getProductById(@PathVariable int productId, WebRequest webRequest) {
+        String catalogVersion = this.catalogVersionService.getCatalogVersion();
+        if (webRequest.checkNotModified(catalogVersion)) {
+            return null;
+        }
         ProductDto product = this.productService.getProductById(productId);
         return ResponseEntity.ok()
                 .contentType(MediaType.APPLICATION_JSON)
+                .eTag(catalogVersion)
+                .cacheControl(CATALOG_CACHE_CONTROL)
                 .body(product);
     }
 
@@ -49,6 +196,15 @@ public class ProductController {
                 .body(createdProduct);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<?> saveProducts(
+            @RequestBody @Size(min = 1, max = 10000) List<@Valid ProductDto> products) {
+        List<ProductSaveResultDto> results = this.productService.saveProducts(products);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(results);
+    }
+
     @PutMapping("/{productId:\\d+}")
     public ResponseEntity<?> updateProductById(@PathVariable("productId") int productId,
                                                @Valid @RequestBody ProductDto product) {
@@ -1,5 +1,9 @@
 package ru.hehmdalolkek.shop.web.controller.advice;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.ElementKind;
+import jakarta.validation.Path;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ProblemDetail;
@@ -8,11 +12,14 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.servlet.resource.NoResourceFoundException;
 
 import java.util.HashMap;
 import java.util.Map;
 
+import static java.lang.String.format;
+
 @ControllerAdvice
 public class GlobalControllerAdvice {
 
@@ -30,6 +37,45 @@ public class GlobalControllerAdvice {
                 .body(problemDetail);
     }
 
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<?> handleConstraintViolationException(ConstraintViolationException e) {
+        ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.BAD_REQUEST);
+        Map<String, String> errors = new HashMap<>();
+        for (ConstraintViolation<?> violation : e.getConstraintViolations()) {
+            StringBuilder parameter = new StringBuilder();
+            for (Path.Node node : violation.getPropertyPath()) {
+                if (node.getKind() == ElementKind.METHOD) {
+                    continue;
+                }
+                if (node.getIndex() != null) {
+                    parameter.append('[').append(node.getIndex()).append(']');
+                }
+                if (node.getName() != null && node.getKind() != ElementKind.CONTAINER_ELEMENT) {
+                    if (!parameter.isEmpty()) {
+                        parameter.append('.');
+                    }
+                    parameter.append(node.getName());
+                }
+            }
+            errors.put(parameter.toString(), violation.getMessage());
+        }
+        problemDetail.setProperty("errors", errors);
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(problemDetail);
+    }
+
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<?> handleMethodArgumentTypeMismatchException(MethodArgumentTypeMismatchException e) {
+        ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.BAD_REQUEST);
+        problemDetail.setProperty("errors", Map.of(e.getName(), format("Invalid value '%s'", e.getValue())));
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(problemDetail);
+    }
+
     @ExceptionHandler(NoResourceFoundException.class)
     public ResponseEntity<?> handleResourceNotFoundException(NoResourceFoundException e) {
         ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
@@ -8,6 +8,8 @@ import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import ru.hehmdalolkek.shop.model.exception.ProductCursorException;
+import ru.hehmdalolkek.shop.model.exception.ProductImportException;
 import ru.hehmdalolkek.shop.model.exception.ProductIsAlreadyExistsException;
 import ru.hehmdalolkek.shop.model.exception.ProductNotFoundException;
 
@@ -37,4 +39,26 @@ public class ProductControllerAdvice {
                 .body(problemDetail);
     }
 
+    @ExceptionHandler(ProductCursorException.class)
+    public ResponseEntity<?> handleProductCursorException(ProductCursorException e) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.BAD_REQUEST, e.getMessage()
+        );
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(problemDetail);
+    }
+
+    @ExceptionHandler(ProductImportException.class)
+    public ResponseEntity<?> handleProductImportException(ProductImportException e) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.BAD_REQUEST, e.getMessage()
+        );
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(problemDetail);
+    }
+
 }
@@ -0,0 +1,16 @@
+package ru.hehmdalolkek.shop.web.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Builder
+@Data
+public class AccessTokenDto {
+
+    private String accessToken;
+
+    private String tokenType;
+
+    private Long expiresIn;
+
+}
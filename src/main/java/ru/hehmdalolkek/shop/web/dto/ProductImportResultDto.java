@@ -0,0 +1,14 @@
+package ru.hehmdalolkek.shop.web.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Builder
+@Data
+public class ProductImportResultDto {
+
+    private long received;
+
+    private long imported;
+
+}
@@ -0,0 +1,20 @@
+package ru.hehmdalolkek.shop.web.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Builder
+@Data
+public class ProductLookupDto {
+
+    // keeps the query string of a lookup well under common url length limits, larger sets go in a post body
+    public static final int MAX_QUERY_IDS = 200;
+    public static final int MAX_BODY_IDS = 10000;
+
+    private List<ProductDto> products;
+
+    private List<Integer> missingIds;
+
+}
@@ -0,0 +1,16 @@
+package ru.hehmdalolkek.shop.web.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Builder
+@Data
+public class ProductPageDto {
+
+    private List<ProductDto> products;
+
+    private String nextCursor;
+
+}
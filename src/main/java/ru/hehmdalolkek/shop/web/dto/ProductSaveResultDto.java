@@ -0,0 +1,15 @@
+package ru.hehmdalolkek.shop.web.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import ru.hehmdalolkek.shop.model.ProductSaveStatus;
+
+@Builder
+@Data
+public class ProductSaveResultDto {
+
+    private ProductDto product;
+
+    private ProductSaveStatus status;
+
+}
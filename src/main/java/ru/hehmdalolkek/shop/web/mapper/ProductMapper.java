@@ -4,7 +4,11 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 import ru.hehmdalolkek.shop.model.Product;
+import ru.hehmdalolkek.shop.model.ProductImportResult;
+import ru.hehmdalolkek.shop.model.ProductSaveResult;
 import ru.hehmdalolkek.shop.web.dto.ProductDto;
+import ru.hehmdalolkek.shop.web.dto.ProductImportResultDto;
+import ru.hehmdalolkek.shop.web.dto.ProductSaveResultDto;
 
 @Mapper
 public interface ProductMapper {
@@ -17,5 +21,8 @@ public interface ProductMapper {
     @Mapping(source = "productId", target = "id")
     Product productDtoToProduct(ProductDto productDto);
 
+    ProductSaveResultDto productSaveResultToProductSaveResultDto(ProductSaveResult productSaveResult);
+
+    ProductImportResultDto productImportResultToProductImportResultDto(ProductImportResult productImportResult);
 
 }
@@ -0,0 +1,80 @@
+package ru.hehmdalolkek.shop.dao.aspect;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.hehmdalolkek.shop.dao.interfaces.ReactiveProductDao;
+import ru.hehmdalolkek.shop.model.Product;
+import ru.hehmdalolkek.shop.web.dto.ProductDto;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveDaoMetricsAspectTest {
+
+    @Mock
+    private ReactiveProductDao reactiveProductDao;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Given reactive dao operation, when subscribed, then timer recorded on completion only")
+    public void givenReactiveDaoOperation_whenSubscribed_thenTimerRecordedOnCompletionOnly() {
+        // given
+        when(reactiveProductDao.getProductById(1)).thenReturn(Mono.empty());
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(this.reactiveProductDao);
+        proxyFactory.addInterface(ReactiveProductDao.class);
+        proxyFactory.addAspect(new DaoMetricsAspect(this.meterRegistry, Duration.ofMillis(500)));
+        ReactiveProductDao timedReactiveProductDao = proxyFactory.getProxy();
+        Mono<Product> product = timedReactiveProductDao.getProductById(1);
+        assertThat(meterRegistry.find(DaoMetricsAspect.DAO_OPERATIONS_METRIC).timer()).isNull();
+
+        // when
+        product.block();
+
+        // then
+        Timer timer = meterRegistry.find(DaoMetricsAspect.DAO_OPERATIONS_METRIC)
+                .tag("operation", "getProductById")
+                .tag("outcome", "SUCCESS")
+                .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Given reactive dao stream, when cancelled, then timer recorded with cancelled outcome")
+    public void givenReactiveDaoStream_whenCancelled_thenTimerRecordedWithCancelledOutcome() {
+        // given
+        when(reactiveProductDao.getAllActiveProducts()).thenReturn(Flux.just(
+                ProductDto.builder().productId(1).build(),
+                ProductDto.builder().productId(2).build()));
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(this.reactiveProductDao);
+        proxyFactory.addInterface(ReactiveProductDao.class);
+        proxyFactory.addAspect(new DaoMetricsAspect(this.meterRegistry, Duration.ofMillis(500)));
+        ReactiveProductDao timedReactiveProductDao = proxyFactory.getProxy();
+
+        // when
+        timedReactiveProductDao.getAllActiveProducts().take(1).blockLast();
+
+        // then
+        Timer timer = meterRegistry.find(DaoMetricsAspect.DAO_OPERATIONS_METRIC)
+                .tag("operation", "getAllActiveProducts")
+                .tag("outcome", "CANCELLED")
+                .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(meterRegistry.find(DaoMetricsAspect.DAO_OPERATIONS_METRIC).tag("outcome", "SUCCESS").timer())
+                .isNull();
+    }
+
+}
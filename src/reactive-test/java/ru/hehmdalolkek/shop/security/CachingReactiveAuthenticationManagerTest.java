@@ -0,0 +1,91 @@
+package ru.hehmdalolkek.shop.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import ru.hehmdalolkek.shop.config.CredentialCacheProperties;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingReactiveAuthenticationManagerTest {
+
+    private static final String USERNAME = "user";
+
+    private static final String PASSWORD = "pass";
+
+    @Mock
+    private ReactiveAuthenticationManager delegate;
+
+    @Mock
+    private ReactiveUserDetailsService userDetailsService;
+
+    private CachingReactiveAuthenticationManager cachingAuthenticationManager;
+
+    @BeforeEach
+    public void setUp() {
+        this.cachingAuthenticationManager = new CachingReactiveAuthenticationManager(
+                delegate, userDetailsService, new VerifiedCredentialCache(new CredentialCacheProperties()));
+    }
+
+    @Test
+    @DisplayName("Given verified credentials, when authenticate again, then skip password check")
+    public void givenVerifiedCredentials_whenAuthenticateAgain_thenSkipPasswordCheck() {
+        // given
+        UserDetails user = user("{bcrypt}hash");
+        when(delegate.authenticate(any())).thenReturn(Mono.just(authenticated(user)));
+        when(userDetailsService.findByUsername(USERNAME)).thenReturn(Mono.just(user("{bcrypt}hash")));
+        cachingAuthenticationManager.authenticate(credentials(PASSWORD)).block();
+
+        // when
+        // then
+        StepVerifier.create(cachingAuthenticationManager.authenticate(credentials(PASSWORD)))
+                .expectNextMatches(authentication -> authentication.isAuthenticated()
+                        && authentication.getName().equals(USERNAME))
+                .verifyComplete();
+        verify(delegate, times(1)).authenticate(any());
+    }
+
+    @Test
+    @DisplayName("Given password changed after verification, when authenticate with old password, then check password")
+    public void givenPasswordChangedAfterVerification_whenAuthenticateWithOldPassword_thenCheckPassword() {
+        // given
+        when(delegate.authenticate(any()))
+                .thenReturn(Mono.just(authenticated(user("{bcrypt}old"))))
+                .thenReturn(Mono.error(new BadCredentialsException("Bad credentials")));
+        when(userDetailsService.findByUsername(USERNAME)).thenReturn(Mono.just(user("{bcrypt}new")));
+        cachingAuthenticationManager.authenticate(credentials(PASSWORD)).block();
+
+        // when
+        // then
+        StepVerifier.create(cachingAuthenticationManager.authenticate(credentials(PASSWORD)))
+                .expectError(BadCredentialsException.class)
+                .verify();
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    private static UserDetails user(String encodedPassword) {
+        return User.withUsername(USERNAME).password(encodedPassword).roles("ADMIN").build();
+    }
+
+    private static Authentication credentials(String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(USERNAME, password);
+    }
+
+    private static Authentication authenticated(UserDetails user) {
+        return UsernamePasswordAuthenticationToken.authenticated(user, user.getPassword(), user.getAuthorities());
+    }
+
+}
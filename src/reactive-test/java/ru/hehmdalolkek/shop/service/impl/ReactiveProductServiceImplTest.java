@@ -0,0 +1,209 @@
+package ru.hehmdalolkek.shop.service.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import ru.hehmdalolkek.shop.config.CacheConfig;
+import ru.hehmdalolkek.shop.dao.interfaces.ReactiveProductDao;
+import ru.hehmdalolkek.shop.model.Product;
+import ru.hehmdalolkek.shop.model.ProductCursor;
+import ru.hehmdalolkek.shop.model.ProductFilter;
+import ru.hehmdalolkek.shop.model.ProductSaveStatus;
+import ru.hehmdalolkek.shop.model.ProductSort;
+import ru.hehmdalolkek.shop.model.event.ProductChangedEvent;
+import ru.hehmdalolkek.shop.model.exception.ProductNotFoundException;
+import ru.hehmdalolkek.shop.service.interfaces.ProductService;
+import ru.hehmdalolkek.shop.web.dto.ProductDto;
+import ru.hehmdalolkek.shop.web.dto.ProductSaveResultDto;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveProductServiceImplTest {
+
+    @Mock
+    private ReactiveProductDao reactiveProductDao;
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ReactiveProductServiceImpl reactiveProductService;
+
+    @Test
+    @DisplayName("Given more products than limit, when getActiveProductsPage, then get page with next cursor")
+    public void givenMoreProductsThanLimit_whenGetActiveProductsPage_thenGetPageWithNextCursor() {
+        // given
+        ProductDto p1 = ProductDto.builder().productId(1).build();
+        ProductDto p2 = ProductDto.builder().productId(2).build();
+        ProductDto p3 = ProductDto.builder().productId(3).build();
+        ProductFilter filter = new ProductFilter();
+        when(reactiveProductDao.getActiveProducts(filter, ProductSort.ID, null, 3)).thenReturn(Flux.just(p1, p2, p3));
+
+        // when
+        // then
+        StepVerifier.create(reactiveProductService.getActiveProductsPage(filter, ProductSort.ID, null, 2))
+                .assertNext(page -> {
+                    assertThat(page.getProducts()).extracting(ProductDto::getProductId).containsExactly(1, 2);
+                    assertThat(page.getNextCursor()).isEqualTo("SUR8Mnw");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Given last page, when getActiveProductsPage, then get page without next cursor")
+    public void givenLastPage_whenGetActiveProductsPage_thenGetPageWithoutNextCursor() {
+        // given
+        ProductDto p1 = ProductDto.builder().productId(5).build();
+        ProductFilter filter = new ProductFilter();
+        when(reactiveProductDao.getActiveProducts(filter, ProductSort.PRICE_DESC, new ProductCursor(4, 45.22, null), 3))
+                .thenReturn(Flux.just(p1));
+
+        // when
+        // then
+        StepVerifier.create(reactiveProductService.getActiveProductsPage(
+                        filter, ProductSort.PRICE_DESC, "UFJJQ0VfREVTQ3w0fDQ1LjIy", 2))
+                .assertNext(page -> {
+                    assertThat(page.getProducts()).extracting(ProductDto::getProductId).containsExactly(5);
+                    assertThat(page.getNextCursor()).isNull();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Given query with spaces, when searchActiveProducts, then search by stripped query")
+    public void givenQueryWithSpaces_whenSearchActiveProducts_thenSearchByStrippedQuery() {
+        // given
+        ProductDto p1 = ProductDto.builder().productId(1).title("Apple").build();
+        when(reactiveProductDao.searchActiveProducts("app", 20)).thenReturn(Flux.just(p1));
+
+        // when
+        // then
+        StepVerifier.create(reactiveProductService.searchActiveProducts("  app ", 20))
+                .expectNext(p1)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Given non existing id, when getProductById, then error with ProductNotFoundException")
+    public void givenNonExistingId_whenGetProductById_thenErrorWithProductNotFoundException() {
+        // given
+        when(reactiveProductDao.getProductById(999)).thenReturn(Mono.empty());
+
+        // when
+        // then
+        StepVerifier.create(reactiveProductService.getProductById(999))
+                .expectErrorSatisfies(e -> assertThat(e)
+                        .isInstanceOf(ProductNotFoundException.class)
+                        .hasMessage("Product with id=999 not found"))
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Given duplicate and missing ids, when getProductsByIds, then get products in requested order")
+    public void givenDuplicateAndMissingIds_whenGetProductsByIds_thenGetProductsInRequestedOrder() {
+        // given
+        Product first = new Product();
+        first.setId(1);
+        Product third = new Product();
+        third.setId(3);
+        when(reactiveProductDao.getProductsByIds(anyCollection())).thenReturn(Flux.just(first, third));
+
+        // when
+        // then
+        StepVerifier.create(reactiveProductService.getProductsByIds(List.of(3, 2, 1, 3)))
+                .assertNext(lookup -> {
+                    assertThat(lookup.getProducts()).extracting(ProductDto::getProductId).containsExactly(3, 1);
+                    assertThat(lookup.getMissingIds()).containsExactly(2);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Given product, when createProduct, then evict cached product and publish change event")
+    public void givenProduct_whenCreateProduct_thenEvictCachedProductAndPublishChangeEvent() {
+        // given
+        ProductDto productToCreate = ProductDto.builder().title("Title").price(10.0).build();
+        Product createdProduct = new Product();
+        createdProduct.setId(6);
+        createdProduct.setTitle("Title");
+        createdProduct.setPrice(10.0);
+        createdProduct.setActive(true);
+        Cache cache = mock(Cache.class);
+        when(reactiveProductDao.insertProduct(any(Product.class))).thenReturn(Mono.just(createdProduct));
+        when(cacheManager.getCache(CacheConfig.PRODUCTS_CACHE)).thenReturn(cache);
+
+        // when
+        // then
+        StepVerifier.create(reactiveProductService.createProduct(productToCreate))
+                .assertNext(product -> assertThat(product.getProductId()).isEqualTo(6))
+                .verifyComplete();
+        verify(cache).evict(6);
+        verify(eventPublisher).publishEvent(new ProductChangedEvent(6));
+    }
+
+    @Test
+    @DisplayName("Given non existing id, when updateProduct, then error without change event")
+    public void givenNonExistingId_whenUpdateProduct_thenErrorWithoutChangeEvent() {
+        // given
+        ProductDto productToUpdate = ProductDto.builder().title("Title").price(10.0).build();
+        when(reactiveProductDao.updateProduct(any(Product.class))).thenReturn(Mono.empty());
+
+        // when
+        // then
+        StepVerifier.create(reactiveProductService.updateProduct(999, productToUpdate))
+                .expectError(ProductNotFoundException.class)
+                .verify();
+        verify(reactiveProductDao).updateProduct(argThat(product -> product.getId() == 999));
+        verifyNoInteractions(cacheManager, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Given product id, when softDeleteProductById, then publish change event after delete")
+    public void givenProductId_whenSoftDeleteProductById_thenPublishChangeEventAfterDelete() {
+        // given
+        when(reactiveProductDao.softDeleteProduct(1)).thenReturn(Mono.empty());
+
+        // when
+        // then
+        StepVerifier.create(reactiveProductService.softDeleteProductById(1))
+                .verifyComplete();
+        verify(reactiveProductDao).softDeleteProduct(1);
+        verify(eventPublisher).publishEvent(new ProductChangedEvent(1));
+    }
+
+    @Test
+    @DisplayName("Given products, when saveProducts, then delegate to blocking product service")
+    public void givenProducts_whenSaveProducts_thenDelegateToBlockingProductService() {
+        // given
+        List<ProductDto> products = List.of(ProductDto.builder().title("Title").price(10.0).build());
+        List<ProductSaveResultDto> results = List.of(
+                ProductSaveResultDto.builder().product(products.get(0)).status(ProductSaveStatus.CREATED).build());
+        when(productService.saveProducts(products)).thenReturn(results);
+
+        // when
+        // then
+        StepVerifier.create(reactiveProductService.saveProducts(products))
+                .expectNext(results)
+                .verifyComplete();
+    }
+
+}
@@ -0,0 +1,636 @@
+package ru.hehmdalolkek.shop.web.controller;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.boot.web.embedded.netty.NettyWebServer;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.hehmdalolkek.shop.security.AccessTokenConfig;
+import ru.hehmdalolkek.shop.web.dto.AccessTokenDto;
+import ru.hehmdalolkek.shop.web.dto.ProductDto;
+
+import java.util.List;
+
+import static java.lang.String.format;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles({"test", "reactive"})
+// notifications from the per-test data scripts arrive asynchronously and would move the catalog version mid-test
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.main.web-application-type=reactive", "shop.product-changes.listen=false"})
+@Testcontainers
+@Sql(value = "/db/data/create-data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(value = "/db/data/delete-data.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class ReactiveProductControllerIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    private final static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Autowired
+    ReactiveWebServerApplicationContext applicationContext;
+
+    private static String SECURITY_USERNAME;
+
+    private static String SECURITY_PASSWORD;
+
+    @BeforeAll
+    public static void beforeAll(@Value("${security.username}") String username,
+                                 @Value("${security.password}") String password) {
+        SECURITY_USERNAME = username;
+        SECURITY_PASSWORD = password;
+    }
+
+    @Test
+    @DisplayName("Given reactive profile, when application started, then web server is Netty")
+    public void givenReactiveProfile_whenApplicationStarted_thenWebServerIsNetty() {
+        // when
+        WebServer webServer = this.applicationContext.getWebServer();
+
+        // then
+        assertThat(webServer).isInstanceOf(NettyWebServer.class);
+    }
+
+    @Test
+    @DisplayName("Test get all active products functionality")
+    public void givenRequest_whenGetAllActiveProducts_thenSuccessResponse() {
+        // given
+        WebTestClient.RequestHeadersSpec<?> request = this.webTestClient.get()
+                .uri("/api/v1/products")
+                .headers(headers -> headers.setBasicAuth(SECURITY_USERNAME, SECURITY_PASSWORD));
+
+        // when
+        WebTestClient.ResponseSpec result = request.exchange();
+
+        // then
+        result
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .expectBody().json("""
+                        [
+                            {"productId": 1, "title": "Apple", "price": 15.99, "active": true},
+                            {"productId": 2, "title": "Banana", "price": 30.0, "active": true},
+                            {"productId": 3, "title": "Kiwi", "price": 99.23, "active": true},
+                            {"productId": 4, "title": "Orange", "price": 45.22, "active": true}
+                        ]
+                        """);
+    }
+
+    @Test
+    @DisplayName("Test get page of active products functionality")
+    public void givenRequestWithCursor_whenGetAllActiveProducts_thenSuccessResponse() {
+        // given
+        WebTestClient.RequestHeadersSpec<?> request = this.webTestClient.get()
+                .uri("/api/v1/products?after=SUR8MXw&limit=2")
+                .headers(headers -> headers.setBasicAuth(SECURITY_USERNAME, SECURITY_PASSWORD));
+
+        // when
+        WebTestClient.ResponseSpec result = request.exchange();
+
+        // then
+        result
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody().json("""
+                        {
+                            "products": [
+                                {"productId": 2, "title": "Banana", "price": 30.0, "active": true},
+                                {"productId": 3, "title": "Kiwi", "price": 99.23, "active": true}
+                            ],
+                            "nextCursor": "SUR8M3w"
+                        }
+                        """);
+    }
+
+    @Test
+    @DisplayName("Test get active products filtered by price and sorted by price desc functionality")
+    public void givenRequestWithPriceRangeAndSort_whenGetAllActiveProducts_thenSuccessResponse() {
+        // given
+        WebTestClient.RequestHeadersSpec<?> request = this.webTestClient.get()
+                .uri("/api/v1/products?minPrice=20&maxPrice=50&sort=PRICE_DESC")
+                .headers(headers -> headers.setBasicAuth(SECURITY_USERNAME, SECURITY_PASSWORD));
+
+        // when
+        WebTestClient.ResponseSpec result = request.exchange();
+
+        // then
+        result
+                .expectStatus().isOk()
+                .expectBody().json("""
+                        {
+                            "products": [
+                                {"productId": 4, "title": "Orange", "price": 45.22, "active": true},
+                                {"productId": 2, "title": "Banana", "price": 30.0, "active": true}
+                            ],
+                            "nextCursor": null
+                        }
+                        """);
+    }
+
+    @Test
+    @DisplayName("Test get products by ids functionality")
+    public void givenRequestWithIds_whenGetProductsByIds_thenSuccessResponse() {
+        // given
+        WebTestClient.RequestHeadersSpec<?> request = this.webTestClient.get()
+                .uri("/api/v1/products?ids=3,999,1,3")
+                .headers(headers -> headers.setBasicAuth(SECURITY_USERNAME, SECURITY_PASSWORD));
+
+        // when
+        WebTestClient.ResponseSpec result = request.exchange();
+
+        // then
+        result
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .expectBody().json("""
+                        {
+                            "products": [
+                                {"productId": 3, "title": "Kiwi", "price": 99.23, "active": true},
+                                {"productId": 1, "title": "Apple", "price": 15.99, "active": true}
+                            ],
+                            "missingIds": [999]
+                        }
+                        """, true);
+    }
+
+    @Test
+    @DisplayName("Test lookup products by ids functionality")
+    public void givenRequest_whenLookupProductsByIds_thenSuccessResponse() {
+        // given
+        WebTestClient.RequestHeadersSpec<?> request = this.webTestClient.post()
+                .uri("/api/v1/products/lookup")
+                .headers(headers -> headers.setBasicAuth(SECURITY_USERNAME, SECURITY_PASSWORD))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[5, 2, 1000]");
+
+        // when
+        WebTestClient.ResponseSpec result = request.exchange();
+
+        // then
+        result
+                .expectStatus().isOk()
+                .expectBody().json("""
+                        {
+                            "products": [
+                                {"productId": 5, "title": "Mango", "price": 200.40, "active": false},
+                                {"productId": 2, "title": "Banana", "price": 30.0, "active": true}
+                            ],
+                            "missingIds": [1000]
+                        }
+                        """, true);
+    }
+
+    @Test
+    @DisplayName("Test get page of active products with invalid limit functionality")
+    public void givenRequestWithInvalidLimit_whenGetAllActiveProducts_thenBadRequestResponse() {
+        // given
+        WebTestClient.RequestHeadersSpec<?> request = this.webTestClient.get()
+                .uri("/api/v1/products?limit=0")
+                .headers(headers -> headers.setBasicAuth(SECURITY_USERNAME, SECURITY_PASSWORD));
+
+        // when
+        WebTestClient.ResponseSpec result = request.exchange();
+
+        // then
+        result
+                .expectStatus().isBadRequest()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(400)
+                .jsonPath("$.errors.limit").exists();
+    }
+
+    @Test
+    @DisplayName("Test get active products with invalid sort functionality")
+    public void givenRequestWithInvalidSort_whenGetAllActiveProducts_thenBadRequestResponse() {
+        // given
+        WebTestClient.RequestHeadersSpec<?> request = this.webTestClient.get()
+                .uri("/api/v1/products?sort=popularity")
+                .headers(headers -> headers.setBasicAuth(SECURITY_USERNAME, SECURITY_PASSWORD));
+
+        // when
+        WebTestClient.ResponseSpec result = request.exchange();
+
+        // then
+        result
+                .expectStatus().isBadRequest()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(400)
+                .jsonPath("$.errors.sort").isEqualTo("Invalid value 'popularity'");
+    }
+
+    @Test
+    @DisplayName("Test search active products functionality")
+    public void givenRequestWithQuery_whenSearchActiveProducts_thenSuccessResponse() {
+        // given
+        WebTestClient.RequestHeadersSpec<?> request = this.webTestClient.get()
+                .uri("/api/v1/products/search?q=banan")
+                .headers(headers -> headers.setBasicAuth(SECURITY_USERNAME, SECURITY_PASSWORD));
+
+        // when
+        WebTestClient.ResponseSpec result = request.exchange();
+
+        // then
+        result
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .expectBody().json("""
+                        [
+                            {"productId": 2, "title": "Banana", "price": 30.0, "active": true}
+                        ]
+                        """);
+    }
+
+    @Test
+    @DisplayName("Test search active products with blank query functionality")
+    public void givenRequestWithBlankQuery_whenSearchActiveProducts_thenBadRequestResponse() {
+        // given
+        WebTestClient.RequestHeadersSpec<?> request = this.webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/api/v1/products/search").queryParam("q", " ").build())
+                .headers(headers -> headers.setBasicAuth(SECURITY_USERNAME, SECURITY_PASSWORD));
+
+        // when
+        WebTestClient.ResponseSpec result = request.exchange();
+
+        // then
+        result
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(400)
+                .jsonPath("$.errors.q").exists();
+    }
+
+    @Test
+    @DisplayName("Test stream all active products functionality")
+    public void givenRequest_whenStreamAllActiveProducts_thenSuccessResponse() {
+        // given
+        WebTestClient.RequestHeadersSpec<?> request = this.webTestClient.get()
+                .uri("/api/v1/products/stream")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .headers(headers -> headers.setBasicAuth(SECURITY_USERNAME, SECURITY_PASSWORD));
+
+        // when
+        WebTestClient.ResponseSpec result = request.exchange();
+
+        // then
+        List<ProductDto> products = result
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(ProductDto.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+        assertThat(products).extracting(ProductDto::getProductId).containsExactly(1, 2, 3, 4);
+    }
+
+    @Test
+    @DisplayName("Test get product by id functionality")
+    public void givenRequest_whenGetProductById_thenSuccessResponse() {
+        // given
+        WebTestClient.RequestHeadersSpec<?> request = this.webTestClient.get()
+                .uri("/api/v1/products/1")
+                .headers(headers -> headers.setBasicAuth(SECURITY_USERNAME, SECURITY_PASSWORD));
+
+        // when
+        WebTestClient.ResponseSpec result = request.exchange();
+
+        // then
+        result
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody().json("""
+                        {"productId": 1, "title": "Apple", "price": 15.99, "active": true}
+                        """);
+    }
+
+    @Test
+    @DisplayName("Test get product by id with matching etag functionality")
+    public void givenRequestWithMatchingETag_whenGetProductById_thenNotModifiedResponse() {
+        // given
+        String eTag = this.webTestClient.get()
+                .uri("/api/v1/products/1")
+                .headers(headers -> headers.setBasicAuth(SECURITY_USERNAME, SECURITY_PASSWORD))
+                .exchange()
+                .returnResult(ProductDto.class)
+                .getResponseHeaders()
+                .getETag();
+        WebTestClient.RequestHeadersSpec<?> request = this.webTestClient.get()
+                .uri("/api/v1/products/1")
+                .headers(headers -> headers.setBasicAuth(SECURITY_USERNAME, SECURITY_PASSWORD))
+                .ifNoneMatch(eTag);
+
+        // when
+        WebTestClient.ResponseSpec result = request.exchange();
+
+        // then
+        result
+                .expectStatus().isEqualTo(HttpStatus.NOT_MODIFIED)
+                .expectHeader().valueEquals(HttpHeaders.ETAG, eTag)
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test get product by non exists id functionality")
+    public void givenRequest_whenGetProductById_thenNotFoundResponse() {
+        // given
+        int productId = 999;
+        WebTestClient.RequestHeadersSpec<?> request = this.webTestClient.get()
+                .uri("/api/v1/products/" + productId)
+                .headers(headers -> headers.setBasicAuth(SECURITY_USERNAME, SECURITY_PASSWORD));
+
+        // when
+        WebTestClient.ResponseSpec result = request.exchange();
+
+        // then
+        result
+                .expectStatus().isNotFound()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(404)
+                .jsonPath("$.detail").isEqualTo(format("Product with id=%d not found", productId));
+    }
+
+    @Test
+    @DisplayName("Test create product functionality")
+    public void givenRequest_whenCreateProduct_thenCreatedResponse() {
+        // given
+        ProductDto productDto = ProductDto.builder()
+                .title("Title")
+                .price(99.0)
+                .build();
+        WebTestClient.RequestHeadersSpec<?> request = this.webTestClient.post()
+                .uri("/api/v1/products")
+                .headers(headers -> headers.setBasicAuth(SECURITY_USERNAME, SECURITY_PASSWORD))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(productDto);
+
+        // when
+        WebTestClient.ResponseSpec result = request.exchange();
+
+        // then
+        result
+                .expectStatus().isCreated()
+                .expectHeader().valueMatches(HttpHeaders.LOCATION, ".*/api/v1/products/6")
+                .expectBody().json("""
+                        {"productId": 6, "title": "Title", "price": 99.0, "active": true}
+                        """);
+    }
+
+    @Test
+    @DisplayName("Test create product with invalid data functionality")
+    public void givenRequest_whenCreateProduct_thenBadRequestResponse() {
+        // given
+        ProductDto productDto = ProductDto.builder()
+                .title("")
+                .price(null)
+                .build();
+        WebTestClient.RequestHeadersSpec<?> request = this.webTestClient.post()
+                .uri("/api/v1/products")
+                .headers(headers -> headers.setBasicAuth(SECURITY_USERNAME, SECURITY_PASSWORD))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(productDto);
+
+        // when
+        WebTestClient.ResponseSpec result = request.exchange();
+
+        // then
+        result
+                .expectStatus().isBadRequest()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(400)
+                .jsonPath("$.errors.price").isEqualTo("Price must not be null")
+                .jsonPath("$.errors.title").isEqualTo("The size must be greater than 1 and less than 256 characters");
+    }
+
+    @Test
+    @DisplayName("Test create product with duplicate title functionality")
+    public void givenRequest_whenCreateProductWithDuplicateTitle_thenConflictResponse() {
+        // given
+        String title = "Apple";
+        ProductDto productDto = ProductDto.builder()
+                .title(title)
+                .price(99.0)
+                .build();
+        WebTestClient.RequestHeadersSpec<?> request = this.webTestClient.post()
+                .uri("/api/v1/products")
+                .headers(headers -> headers.setBasicAuth(SECURITY_USERNAME, SECURITY_PASSWORD))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(productDto);
+
+        // when
+        WebTestClient.ResponseSpec result = request.exchange();
+
+        // then
+        result
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT)
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(409)
+                .jsonPath("$.detail").isEqualTo(format("Product with title=%s is already exists", title));
+    }
+
+    @Test
+    @DisplayName("Test create product with duplicate id functionality")
+    public void givenRequest_whenCreateProductWithDuplicateId_thenConflictResponse() {
+        // given
+        int productId = 1;
+        ProductDto productDto = ProductDto.builder()
+                .productId(productId)
+                .title("Title")
+                .price(99.0)
+                .build();
+        WebTestClient.RequestHeadersSpec<?> request = this.webTestClient.post()
+                .uri("/api/v1/products")
+                .headers(headers -> headers.setBasicAuth(SECURITY_USERNAME, SECURITY_PASSWORD))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(productDto);
+
+        // when
+        WebTestClient.ResponseSpec result = request.exchange();
+
+        // then
+        result
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT)
+                .expectBody()
+                .jsonPath("$.detail").isEqualTo(format("Product with id=%d is already exists", productId));
+    }
+
+    @Test
+    @DisplayName("Test save products batch functionality")
+    public void givenRequest_whenSaveProducts_thenSuccessResponse() {
+        // given
+        List<ProductDto> products = List.of(
+                ProductDto.builder().title("Title").price(10.0).build(),
+                ProductDto.builder().productId(2).title("Banana").price(35.0).active(true).build());
+        WebTestClient.RequestHeadersSpec<?> request = this.webTestClient.post()
+                .uri("/api/v1/products/batch")
+                .headers(headers -> headers.setBasicAuth(SECURITY_USERNAME, SECURITY_PASSWORD))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(products);
+
+        // when
+        WebTestClient.ResponseSpec result = request.exchange();
+
+        // then
+        result
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].status").isEqualTo("CREATED")
+                .jsonPath("$[1].status").isEqualTo("UPDATED")
+                .jsonPath("$[1].product.price").isEqualTo(35.0);
+    }
+
+    @Test
+    @DisplayName("Test update product functionality")
+    public void givenRequest_whenUpdateProduct_thenSuccessResponse() {
+        // given
+        ProductDto productDto = ProductDto.builder()
+                .title("Green apple")
+                .price(17.5)
+                .active(true)
+                .build();
+        WebTestClient.RequestHeadersSpec<?> request = this.webTestClient.put()
+                .uri("/api/v1/products/1")
+                .headers(headers -> headers.setBasicAuth(SECURITY_USERNAME, SECURITY_PASSWORD))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(productDto);
+
+        // when
+        WebTestClient.ResponseSpec result = request.exchange();
+
+        // then
+        result
+                .expectStatus().isOk()
+                .expectBody().json("""
+                        {"productId": 1, "title": "Green apple", "price": 17.5, "active": true}
+                        """);
+    }
+
+    @Test
+    @DisplayName("Test update product by non exists id functionality")
+    public void givenRequest_whenUpdateProductByNonExistsId_thenNotFoundResponse() {
+        // given
+        int productId = 999;
+        ProductDto productDto = ProductDto.builder()
+                .title("Title")
+                .price(99.0)
+                .build();
+        WebTestClient.RequestHeadersSpec<?> request = this.webTestClient.put()
+                .uri("/api/v1/products/" + productId)
+                .headers(headers -> headers.setBasicAuth(SECURITY_USERNAME, SECURITY_PASSWORD))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(productDto);
+
+        // when
+        WebTestClient.ResponseSpec result = request.exchange();
+
+        // then
+        result
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.detail").isEqualTo(format("Product with id=%d not found", productId));
+    }
+
+    @Test
+    @DisplayName("Test soft delete product functionality")
+    public void givenRequest_whenSoftDeleteProduct_thenSuccessResponse() {
+        // given
+        WebTestClient.RequestHeadersSpec<?> request = this.webTestClient.delete()
+                .uri("/api/v1/products/1")
+                .headers(headers -> headers.setBasicAuth(SECURITY_USERNAME, SECURITY_PASSWORD));
+
+        // when
+        WebTestClient.ResponseSpec result = request.exchange();
+
+        // then
+        result.expectStatus().isOk();
+        this.webTestClient.get()
+                .uri("/api/v1/products/1")
+                .headers(headers -> headers.setBasicAuth(SECURITY_USERNAME, SECURITY_PASSWORD))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.active").isEqualTo(false);
+    }
+
+    @Test
+    @DisplayName("Test hard delete product functionality")
+    public void givenRequest_whenHardDeleteProduct_thenSuccessResponse() {
+        // given
+        WebTestClient.RequestHeadersSpec<?> request = this.webTestClient.delete()
+                .uri("/api/v1/products/1?isHard=true")
+                .headers(headers -> headers.setBasicAuth(SECURITY_USERNAME, SECURITY_PASSWORD));
+
+        // when
+        WebTestClient.ResponseSpec result = request.exchange();
+
+        // then
+        result.expectStatus().isOk();
+        this.webTestClient.get()
+                .uri("/api/v1/products/1")
+                .headers(headers -> headers.setBasicAuth(SECURITY_USERNAME, SECURITY_PASSWORD))
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("Test get all active products without credentials functionality")
+    public void givenRequestWithoutCredentials_whenGetAllActiveProducts_thenUnauthorizedResponse() {
+        // given
+        WebTestClient.RequestHeadersSpec<?> request = this.webTestClient.get()
+                .uri("/api/v1/products");
+
+        // when
+        WebTestClient.ResponseSpec result = request.exchange();
+
+        // then
+        result.expectStatus().isUnauthorized();
+    }
+
+    @Test
+    @DisplayName("Test get all active products with issued access token functionality")
+    public void givenIssuedAccessToken_whenGetAllActiveProducts_thenSuccessResponse() {
+        // given
+        AccessTokenDto accessToken = this.webTestClient.post()
+                .uri(AccessTokenConfig.TOKEN_PATH)
+                .headers(headers -> headers.setBasicAuth(SECURITY_USERNAME, SECURITY_PASSWORD))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(AccessTokenDto.class)
+                .returnResult()
+                .getResponseBody();
+        WebTestClient.RequestHeadersSpec<?> request = this.webTestClient.get()
+                .uri("/api/v1/products")
+                .headers(headers -> headers.setBearerAuth(accessToken.getAccessToken()));
+
+        // when
+        WebTestClient.ResponseSpec result = request.exchange();
+
+        // then
+        result
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(4);
+    }
+
+}
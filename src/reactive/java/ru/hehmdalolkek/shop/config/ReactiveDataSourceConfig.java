@@ -0,0 +1,62 @@
+package ru.hehmdalolkek.shop.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import ru.hehmdalolkek.shop.dao.datasource.ReactiveConnectionPool;
+
+@Configuration
+@Profile("reactive")
+@EnableConfigurationProperties(R2dbcProperties.class)
+public class ReactiveDataSourceConfig {
+
+    private static final String JDBC_URL_PREFIX = "jdbc:";
+    private static final String R2DBC_URL_PREFIX = "r2dbc:";
+
+    // not a ConnectionFactory bean: Boot would back off the JDBC DataSource, which Liquibase,
+    // the change listener and the suggest index still run on
+    @Bean
+    public ReactiveConnectionPool reactiveConnectionPool(R2dbcProperties r2dbcProperties,
+                                                         JdbcConnectionDetails connectionDetails) {
+        String url = r2dbcProperties.getUrl() != null
+                ? r2dbcProperties.getUrl()
+                : R2DBC_URL_PREFIX + connectionDetails.getJdbcUrl().substring(JDBC_URL_PREFIX.length());
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, r2dbcProperties.getUsername() != null
+                        ? r2dbcProperties.getUsername()
+                        : connectionDetails.getUsername())
+                .option(ConnectionFactoryOptions.PASSWORD, r2dbcProperties.getPassword() != null
+                        ? r2dbcProperties.getPassword()
+                        : connectionDetails.getPassword())
+                .build();
+        R2dbcProperties.Pool pool = r2dbcProperties.getPool();
+        ConnectionPoolConfiguration.Builder configuration = ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options))
+                .name("reactive")
+                .initialSize(pool.getInitialSize())
+                .maxSize(pool.getMaxSize())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .maxAcquireTime(pool.getMaxAcquireTime())
+                .maxCreateConnectionTime(pool.getMaxCreateConnectionTime())
+                .validationDepth(pool.getValidationDepth());
+        if (pool.getValidationQuery() != null) {
+            configuration.validationQuery(pool.getValidationQuery());
+        }
+        return new ReactiveConnectionPool(new ConnectionPool(configuration.build()));
+    }
+
+    @Bean
+    public DatabaseClient databaseClient(ReactiveConnectionPool reactiveConnectionPool) {
+        return DatabaseClient.create(reactiveConnectionPool.getConnectionFactory());
+    }
+
+}
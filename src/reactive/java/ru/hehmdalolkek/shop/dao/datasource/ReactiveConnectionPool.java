@@ -0,0 +1,24 @@
+package ru.hehmdalolkek.shop.dao.datasource;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+public class ReactiveConnectionPool implements DisposableBean {
+
+    private final ConnectionPool connectionPool;
+
+    public ReactiveConnectionPool(ConnectionPool connectionPool) {
+        this.connectionPool = connectionPool;
+    }
+
+    public ConnectionFactory getConnectionFactory() {
+        return this.connectionPool;
+    }
+
+    @Override
+    public void destroy() {
+        this.connectionPool.dispose();
+    }
+
+}
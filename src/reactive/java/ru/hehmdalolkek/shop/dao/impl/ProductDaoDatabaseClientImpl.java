@@ -0,0 +1,161 @@
+package ru.hehmdalolkek.shop.dao.impl;
+
+import io.r2dbc.postgresql.api.PostgresqlException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.hehmdalolkek.shop.dao.interfaces.ReactiveProductDao;
+import ru.hehmdalolkek.shop.dao.mapper.ProductDtoReadableMapper;
+import ru.hehmdalolkek.shop.dao.mapper.ProductReadableMapper;
+import ru.hehmdalolkek.shop.model.Product;
+import ru.hehmdalolkek.shop.model.ProductCursor;
+import ru.hehmdalolkek.shop.model.ProductFilter;
+import ru.hehmdalolkek.shop.model.ProductSort;
+import ru.hehmdalolkek.shop.model.exception.ProductIsAlreadyExistsException;
+import ru.hehmdalolkek.shop.web.dto.ProductDto;
+
+import java.util.Collection;
+
+import static java.lang.String.format;
+import static ru.hehmdalolkek.shop.dao.impl.ProductQueries.*;
+
+@RequiredArgsConstructor
+@Repository
+@Profile("reactive")
+public class ProductDaoDatabaseClientImpl implements ReactiveProductDao {
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Flux<ProductDto> getAllActiveProducts() {
+        return this.databaseClient.sql(SELECT_ALL_ACTIVE_PRODUCTS)
+                .map(new ProductDtoReadableMapper())
+                .all();
+    }
+
+    @Override
+    public Flux<ProductDto> getActiveProducts(ProductFilter filter, ProductSort sort, ProductCursor after,
+                                              int limit) {
+        String sql = switch (sort) {
+            case ID -> SELECT_ACTIVE_PRODUCTS_AFTER_ID;
+            case PRICE -> after != null
+                    ? SELECT_ACTIVE_PRODUCTS_BY_PRICE_AFTER_ID
+                    : SELECT_ACTIVE_PRODUCTS_BY_PRICE;
+            case PRICE_DESC -> after != null
+                    ? SELECT_ACTIVE_PRODUCTS_BY_PRICE_DESC_AFTER_ID
+                    : SELECT_ACTIVE_PRODUCTS_BY_PRICE_DESC;
+            case TITLE -> after != null
+                    ? SELECT_ACTIVE_PRODUCTS_BY_TITLE_AFTER_ID
+                    : SELECT_ACTIVE_PRODUCTS_BY_TITLE;
+            case TITLE_DESC -> after != null
+                    ? SELECT_ACTIVE_PRODUCTS_BY_TITLE_DESC_AFTER_ID
+                    : SELECT_ACTIVE_PRODUCTS_BY_TITLE_DESC;
+        };
+        DatabaseClient.GenericExecuteSpec spec = this.databaseClient.sql(sql)
+                .bind("limit", limit);
+        spec = bindNullable(spec, "minPrice", filter.getMinPrice(), Double.class);
+        spec = bindNullable(spec, "maxPrice", filter.getMaxPrice(), Double.class);
+        if (sort == ProductSort.ID || after != null) {
+            spec = spec.bind("afterProductId", after != null ? after.getProductId() : 0);
+        }
+        if (after != null && after.getPrice() != null) {
+            spec = spec.bind("afterPrice", after.getPrice());
+        }
+        if (after != null && after.getTitle() != null) {
+            spec = spec.bind("afterTitle", after.getTitle());
+        }
+        return spec.map(new ProductDtoReadableMapper()).all();
+    }
+
+    @Override
+    public Flux<ProductDto> searchActiveProducts(String query, int limit) {
+        return this.databaseClient.sql(SEARCH_ACTIVE_PRODUCTS_BY_TITLE)
+                .bind("query", query)
+                .bind("pattern", containsPattern(query))
+                .bind("limit", limit)
+                .map(new ProductDtoReadableMapper())
+                .all();
+    }
+
+    @Override
+    public Mono<Product> getProductById(int productId) {
+        return this.databaseClient.sql(SELECT_PRODUCT_BY_ID)
+                .bind("productId", productId)
+                .map(new ProductReadableMapper())
+                .one();
+    }
+
+    @Override
+    public Flux<Product> getProductsByIds(Collection<Integer> productIds) {
+        return this.databaseClient.sql(SELECT_PRODUCTS_BY_IDS)
+                .bind("productIds", productIds.toArray(Integer[]::new))
+                .map(new ProductReadableMapper())
+                .all();
+    }
+
+    @Override
+    public Mono<Product> insertProduct(Product product) {
+        DatabaseClient.GenericExecuteSpec spec = this.databaseClient
+                .sql(product.getId() != null ? INSERT_INTO_PRODUCTS_WITH_ID : INSERT_INTO_PRODUCTS)
+                .bind("title", product.getTitle())
+                .bind("price", product.getPrice());
+        if (product.getId() != null) {
+            spec = spec.bind("productId", product.getId());
+            spec = bindNullable(spec, "active", product.getActive(), Boolean.class);
+        }
+        return spec.map(new ProductReadableMapper())
+                .one()
+                .onErrorMap(DuplicateKeyException.class, e -> productIsAlreadyExists(product, e));
+    }
+
+    @Override
+    public Mono<Product> updateProduct(Product product) {
+        DatabaseClient.GenericExecuteSpec spec = this.databaseClient.sql(UPDATE_PRODUCT_BY_ID)
+                .bind("productId", product.getId())
+                .bind("title", product.getTitle())
+                .bind("price", product.getPrice());
+        return bindNullable(spec, "active", product.getActive(), Boolean.class)
+                .map(new ProductReadableMapper())
+                .one()
+                .onErrorMap(DuplicateKeyException.class, e -> productIsAlreadyExists(product, e));
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec,
+                                                                  String name, Object value, Class<?> type) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, type);
+    }
+
+    private ProductIsAlreadyExistsException productIsAlreadyExists(Product product, DuplicateKeyException e) {
+        boolean titleConflict = false;
+        if (e.getMostSpecificCause() instanceof PostgresqlException postgresqlException) {
+            titleConflict = postgresqlException.getErrorDetails().getConstraintName()
+                    .map(PRODUCTS_TITLE_UNIQUE_CONSTRAINT::equals)
+                    .orElse(false);
+        }
+        if (titleConflict) {
+            return new ProductIsAlreadyExistsException(
+                    format("Product with title=%s is already exists", product.getTitle()));
+        }
+        return new ProductIsAlreadyExistsException(
+                format("Product with id=%d is already exists", product.getId()));
+    }
+
+    @Override
+    public Mono<Void> softDeleteProduct(int productId) {
+        return this.databaseClient.sql(UPDATE_PRODUCT_SET_ACTIVE_IS_FALSE_BY_ID)
+                .bind("productId", productId)
+                .then();
+    }
+
+    @Override
+    public Mono<Void> hardDeleteProduct(int productId) {
+        return this.databaseClient.sql(DELETE_PRODUCT_BY_ID)
+                .bind("productId", productId)
+                .then();
+    }
+
+}
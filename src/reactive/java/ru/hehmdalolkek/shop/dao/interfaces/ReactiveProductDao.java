@@ -0,0 +1,33 @@
+package ru.hehmdalolkek.shop.dao.interfaces;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.hehmdalolkek.shop.model.Product;
+import ru.hehmdalolkek.shop.model.ProductCursor;
+import ru.hehmdalolkek.shop.model.ProductFilter;
+import ru.hehmdalolkek.shop.model.ProductSort;
+import ru.hehmdalolkek.shop.web.dto.ProductDto;
+
+import java.util.Collection;
+
+public interface ReactiveProductDao {
+
+    Flux<ProductDto> getAllActiveProducts();
+
+    Flux<ProductDto> getActiveProducts(ProductFilter filter, ProductSort sort, ProductCursor after, int limit);
+
+    Flux<ProductDto> searchActiveProducts(String query, int limit);
+
+    Mono<Product> getProductById(int productId);
+
+    Flux<Product> getProductsByIds(Collection<Integer> productIds);
+
+    Mono<Product> insertProduct(Product product);
+
+    Mono<Product> updateProduct(Product product);
+
+    Mono<Void> softDeleteProduct(int productId);
+
+    Mono<Void> hardDeleteProduct(int productId);
+
+}
@@ -0,0 +1,18 @@
+package ru.hehmdalolkek.shop.dao.mapper;
+
+import io.r2dbc.spi.Readable;
+import ru.hehmdalolkek.shop.web.dto.ProductDto;
+
+import java.util.function.Function;
+
+public class ProductDtoReadableMapper implements Function<Readable, ProductDto> {
+    @Override
+    public ProductDto apply(Readable row) {
+        return ProductDto.builder()
+                .productId(row.get("product_id", Integer.class))
+                .title(row.get("title", String.class))
+                .price(row.get("price", Double.class))
+                .active(row.get("active", Boolean.class))
+                .build();
+    }
+}
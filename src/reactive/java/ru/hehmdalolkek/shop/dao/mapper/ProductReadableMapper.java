@@ -0,0 +1,18 @@
+package ru.hehmdalolkek.shop.dao.mapper;
+
+import io.r2dbc.spi.Readable;
+import ru.hehmdalolkek.shop.model.Product;
+
+import java.util.function.Function;
+
+public class ProductReadableMapper implements Function<Readable, Product> {
+    @Override
+    public Product apply(Readable row) {
+        Product product = new Product();
+        product.setId(row.get("product_id", Integer.class));
+        product.setTitle(row.get("title", String.class));
+        product.setPrice(row.get("price", Double.class));
+        product.setActive(row.get("active", Boolean.class));
+        return product;
+    }
+}
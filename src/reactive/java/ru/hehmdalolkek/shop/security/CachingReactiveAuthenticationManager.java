@@ -0,0 +1,53 @@
+package ru.hehmdalolkek.shop.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AccountStatusUserDetailsChecker;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsChecker;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class CachingReactiveAuthenticationManager implements ReactiveAuthenticationManager {
+
+    private final ReactiveAuthenticationManager delegate;
+
+    private final ReactiveUserDetailsService userDetailsService;
+
+    private final VerifiedCredentialCache verifiedCredentialCache;
+
+    private final UserDetailsChecker userDetailsChecker = new AccountStatusUserDetailsChecker();
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        String username = authentication.getName();
+        if (!(authentication.getCredentials() instanceof String password)) {
+            return this.delegate.authenticate(authentication);
+        }
+        String encodedPassword = this.verifiedCredentialCache.getEncodedPassword(username, password);
+        Mono<Authentication> verified = Mono.defer(() -> this.delegate.authenticate(authentication))
+                .doOnNext(result -> {
+                    if (result.getPrincipal() instanceof UserDetails user && user.getPassword() != null) {
+                        this.verifiedCredentialCache.put(username, password, user.getPassword());
+                    }
+                });
+        if (encodedPassword == null) {
+            return verified;
+        }
+        // the user is reloaded so that a changed password or a disabled account takes effect immediately
+        return this.userDetailsService.findByUsername(username)
+                .filter(user -> encodedPassword.equals(user.getPassword()))
+                .<Authentication>map(user -> {
+                    this.userDetailsChecker.check(user);
+                    return UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities());
+                })
+                .switchIfEmpty(Mono.defer(() -> {
+                    this.verifiedCredentialCache.evictUser(username);
+                    return verified;
+                }));
+    }
+
+}
@@ -0,0 +1,55 @@
+package ru.hehmdalolkek.shop.security;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+import static java.lang.String.format;
+
+@RequiredArgsConstructor
+public class ReactiveRateLimitFilter implements WebFilter {
+
+    private final RateLimiter rateLimiter;
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        return exchange.getPrincipal()
+                .map(principal -> this.rateLimiter.tryAcquire(
+                        principal.getName(), request.getMethod(), request.getPath().pathWithinApplication().value()))
+                .defaultIfEmpty(0L)
+                .flatMap(waitNanos -> waitNanos > 0 ? tooManyRequests(exchange, waitNanos) : chain.filter(exchange));
+    }
+
+    private Mono<Void> tooManyRequests(ServerWebExchange exchange, long waitNanos) {
+        long retryAfterSeconds = RateLimiter.retryAfterSeconds(waitNanos);
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.TOO_MANY_REQUESTS,
+                format("Rate limit exceeded, retry after %d s", retryAfterSeconds));
+        problemDetail.setInstance(URI.create(exchange.getRequest().getPath().value()));
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        try {
+            byte[] body = this.objectMapper.writeValueAsBytes(problemDetail);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+    }
+
+}
@@ -0,0 +1,83 @@
+package ru.hehmdalolkek.shop.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.ReactiveJwtAuthenticationConverterAdapter;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import reactor.core.publisher.Mono;
+import ru.hehmdalolkek.shop.config.CredentialCacheProperties;
+import ru.hehmdalolkek.shop.config.RateLimitProperties;
+
+@Configuration
+@EnableWebFluxSecurity
+@EnableConfigurationProperties({CredentialCacheProperties.class, RateLimitProperties.class})
+@Profile("reactive")
+public class ReactiveSecurityConfig {
+
+    @Bean
+    public SecurityWebFilterChain springWebFilterChain(ServerHttpSecurity http,
+                                                       ReactiveUserDetailsService userDetailsService,
+                                                       ObjectProvider<PasswordEncoder> passwordEncoder,
+                                                       CredentialCacheProperties credentialCacheProperties,
+                                                       JwtDecoder jwtDecoder,
+                                                       JwtAuthenticationConverter jwtAuthenticationConverter,
+                                                       RateLimitProperties rateLimitProperties,
+                                                       ObjectMapper objectMapper) {
+        UserDetailsRepositoryReactiveAuthenticationManager userDetailsAuthenticationManager =
+                new UserDetailsRepositoryReactiveAuthenticationManager(userDetailsService);
+        userDetailsAuthenticationManager.setPasswordEncoder(
+                passwordEncoder.getIfAvailable(PasswordEncoderFactories::createDelegatingPasswordEncoder));
+        ReactiveAuthenticationManager authenticationManager = credentialCacheProperties.isEnabled()
+                ? new CachingReactiveAuthenticationManager(userDetailsAuthenticationManager, userDetailsService,
+                        new VerifiedCredentialCache(credentialCacheProperties))
+                : userDetailsAuthenticationManager;
+        if (rateLimitProperties.isEnabled()) {
+            // after authorization, so only authenticated and permitted requests count against a client's limit
+            http.addFilterAfter(new ReactiveRateLimitFilter(new RateLimiter(rateLimitProperties), objectMapper),
+                    SecurityWebFiltersOrder.AUTHORIZATION);
+        }
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .authorizeExchange(authorize -> authorize
+                        // tokens are only issued for credentials, so a token cannot be used to renew itself
+                        .pathMatchers(HttpMethod.POST, AccessTokenConfig.TOKEN_PATH).access((authentication, context) ->
+                                authentication
+                                        .map(current -> new AuthorizationDecision(
+                                                current instanceof UsernamePasswordAuthenticationToken))
+                                        .defaultIfEmpty(new AuthorizationDecision(false)))
+                        .anyExchange().authenticated()
+                )
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .httpBasic(Customizer.withDefaults())
+                .authenticationManager(authenticationManager)
+                .oauth2ResourceServer(resourceServer -> resourceServer
+                        // verifying a MAC is cheap enough to stay on the event loop
+                        .jwt(jwt -> jwt
+                                .jwtDecoder(token -> Mono.fromCallable(() -> jwtDecoder.decode(token)))
+                                .jwtAuthenticationConverter(
+                                        new ReactiveJwtAuthenticationConverterAdapter(jwtAuthenticationConverter)))
+                )
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .build();
+    }
+
+}
@@ -0,0 +1,134 @@
+package ru.hehmdalolkek.shop.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import ru.hehmdalolkek.shop.config.CacheConfig;
+import ru.hehmdalolkek.shop.dao.interfaces.ReactiveProductDao;
+import ru.hehmdalolkek.shop.model.Product;
+import ru.hehmdalolkek.shop.model.ProductFilter;
+import ru.hehmdalolkek.shop.model.ProductSort;
+import ru.hehmdalolkek.shop.model.event.ProductChangedEvent;
+import ru.hehmdalolkek.shop.model.exception.ProductNotFoundException;
+import ru.hehmdalolkek.shop.service.interfaces.ProductService;
+import ru.hehmdalolkek.shop.service.interfaces.ReactiveProductService;
+import ru.hehmdalolkek.shop.web.dto.ProductDto;
+import ru.hehmdalolkek.shop.web.dto.ProductLookupDto;
+import ru.hehmdalolkek.shop.web.dto.ProductPageDto;
+import ru.hehmdalolkek.shop.web.dto.ProductSaveResultDto;
+import ru.hehmdalolkek.shop.web.mapper.ProductMapper;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static java.lang.String.format;
+
+@RequiredArgsConstructor
+@Service
+@Profile("reactive")
+public class ReactiveProductServiceImpl implements ReactiveProductService {
+
+    private final ReactiveProductDao reactiveProductDao;
+
+    private final ProductService productService;
+
+    private final CacheManager cacheManager;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public Flux<ProductDto> getAllActiveProducts() {
+        return this.reactiveProductDao.getAllActiveProducts();
+    }
+
+    @Override
+    public Mono<ProductPageDto> getActiveProductsPage(ProductFilter filter, ProductSort sort, String after,
+                                                      int limit) {
+        return Mono.defer(() -> this.reactiveProductDao
+                        .getActiveProducts(filter, sort, ProductPages.decodeCursor(after, sort), limit + 1)
+                        .collectList())
+                .map(products -> ProductPages.page(products, sort, limit));
+    }
+
+    @Override
+    public Flux<ProductDto> searchActiveProducts(String query, int limit) {
+        return this.reactiveProductDao.searchActiveProducts(query.strip(), limit);
+    }
+
+    @Override
+    public Mono<ProductDto> getProductById(int productId) {
+        return this.reactiveProductDao.getProductById(productId)
+                .switchIfEmpty(Mono.error(() -> productNotFound(productId)))
+                .map(ProductMapper.INSTANCE::productToProductDto);
+    }
+
+    @Override
+    public Mono<ProductLookupDto> getProductsByIds(List<Integer> productIds) {
+        Set<Integer> distinctProductIds = new LinkedHashSet<>(productIds);
+        return this.reactiveProductDao.getProductsByIds(distinctProductIds)
+                .collectList()
+                .map(products -> ProductLookups.lookup(distinctProductIds, products));
+    }
+
+    @Override
+    public Mono<ProductDto> createProduct(ProductDto productDto) {
+        Product product = ProductMapper.INSTANCE.productDtoToProduct(productDto);
+        return this.reactiveProductDao.insertProduct(product)
+                .flatMap(savedProduct -> productChanged(savedProduct.getId())
+                        .thenReturn(ProductMapper.INSTANCE.productToProductDto(savedProduct)));
+    }
+
+    @Override
+    public Mono<ProductDto> updateProduct(int productId, ProductDto productDto) {
+        Product product = ProductMapper.INSTANCE.productDtoToProduct(productDto);
+        product.setId(productId);
+        return this.reactiveProductDao.updateProduct(product)
+                .switchIfEmpty(Mono.error(() -> productNotFound(productId)))
+                .flatMap(savedProduct -> productChanged(productId)
+                        .thenReturn(ProductMapper.INSTANCE.productToProductDto(savedProduct)));
+    }
+
+    // the bulk upsert stays on JDBC, off the event loop
+    @Override
+    public Mono<List<ProductSaveResultDto>> saveProducts(List<ProductDto> productDtos) {
+        return Mono.fromCallable(() -> this.productService.saveProducts(productDtos))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<Void> softDeleteProductById(int productId) {
+        return this.reactiveProductDao.softDeleteProduct(productId)
+                .then(productChanged(productId));
+    }
+
+    @Override
+    public Mono<Void> hardDeleteProductById(int productId) {
+        return this.reactiveProductDao.hardDeleteProduct(productId)
+                .then(productChanged(productId));
+    }
+
+    // the JDBC product cache and listeners such as the suggest index do blocking work,
+    // so they are notified off the event loop
+    private Mono<Void> productChanged(int productId) {
+        return Mono.<Void>fromRunnable(() -> {
+                    Cache cache = this.cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+                    if (cache != null) {
+                        cache.evict(productId);
+                    }
+                    this.eventPublisher.publishEvent(new ProductChangedEvent(productId));
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static ProductNotFoundException productNotFound(int productId) {
+        return new ProductNotFoundException(format("Product with id=%d not found", productId));
+    }
+
+}
@@ -0,0 +1,37 @@
+package ru.hehmdalolkek.shop.service.interfaces;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.hehmdalolkek.shop.model.ProductFilter;
+import ru.hehmdalolkek.shop.model.ProductSort;
+import ru.hehmdalolkek.shop.web.dto.ProductDto;
+import ru.hehmdalolkek.shop.web.dto.ProductLookupDto;
+import ru.hehmdalolkek.shop.web.dto.ProductPageDto;
+import ru.hehmdalolkek.shop.web.dto.ProductSaveResultDto;
+
+import java.util.List;
+
+public interface ReactiveProductService {
+
+    Flux<ProductDto> getAllActiveProducts();
+
+    Mono<ProductPageDto> getActiveProductsPage(ProductFilter filter, ProductSort sort, String after,
+                                               int limit);
+
+    Flux<ProductDto> searchActiveProducts(String query, int limit);
+
+    Mono<ProductDto> getProductById(int productId);
+
+    Mono<ProductLookupDto> getProductsByIds(List<Integer> productIds);
+
+    Mono<ProductDto> createProduct(ProductDto productDto);
+
+    Mono<ProductDto> updateProduct(int productId, ProductDto productDto);
+
+    Mono<List<ProductSaveResultDto>> saveProducts(List<ProductDto> productDtos);
+
+    Mono<Void> softDeleteProductById(int productId);
+
+    Mono<Void> hardDeleteProductById(int productId);
+
+}
@@ -0,0 +1,206 @@
+package ru.hehmdalolkek.shop.web.controller;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.hehmdalolkek.shop.model.ProductFilter;
+import ru.hehmdalolkek.shop.model.ProductSort;
+import ru.hehmdalolkek.shop.service.interfaces.CatalogVersionService;
+import ru.hehmdalolkek.shop.service.interfaces.ProductSuggestService;
+import ru.hehmdalolkek.shop.service.interfaces.ReactiveProductService;
+import ru.hehmdalolkek.shop.web.dto.ProductDto;
+import ru.hehmdalolkek.shop.web.dto.ProductLookupDto;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/products")
+@RequiredArgsConstructor
+@Validated
+@Profile("reactive")
+public class ReactiveProductController {
+
+    private static final int DEFAULT_PAGE_LIMIT = 50;
+
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+
+    private static final int DEFAULT_SUGGEST_LIMIT = 10;
+
+    private static final CacheControl CATALOG_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private final ReactiveProductService reactiveProductService;
+
+    private final ProductSuggestService productSuggestService;
+
+    private final CatalogVersionService catalogVersionService;
+
+    @GetMapping
+    public Mono<ResponseEntity<?>> getAllActiveProducts(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", required = false) @Min(1) @Max(1000) Integer limit,
+            @RequestParam(value = "minPrice", required = false) @PositiveOrZero Double minPrice,
+            @RequestParam(value = "maxPrice", required = false) @PositiveOrZero Double maxPrice,
+            @RequestParam(value = "sort", required = false) ProductSort sort,
+            ServerWebExchange exchange) {
+        String catalogVersion = this.catalogVersionService.getCatalogVersion();
+        if (exchange.checkNotModified(catalogVersion)) {
+            return Mono.empty();
+        }
+        if (after == null && limit == null && minPrice == null && maxPrice == null && sort == null) {
+            Flux<ProductDto> products = this.reactiveProductService.getAllActiveProducts();
+            return Mono.just(ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .eTag(catalogVersion)
+                    .cacheControl(CATALOG_CACHE_CONTROL)
+                    .body(products));
+        }
+        return this.reactiveProductService.getActiveProductsPage(
+                        new ProductFilter(minPrice, maxPrice),
+                        sort != null ? sort : ProductSort.ID,
+                        after,
+                        limit != null ? limit : DEFAULT_PAGE_LIMIT)
+                .map(page -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .eTag(catalogVersion)
+                        .cacheControl(CATALOG_CACHE_CONTROL)
+                        .body(page));
+    }
+
+    @GetMapping(params = "ids")
+    public Mono<ResponseEntity<?>> getProductsByIds(
+            @RequestParam("ids") @Size(min = 1, max = ProductLookupDto.MAX_QUERY_IDS) List<@NotNull Integer> ids,
+            ServerWebExchange exchange) {
+        String catalogVersion = this.catalogVersionService.getCatalogVersion();
+        if (exchange.checkNotModified(catalogVersion)) {
+            return Mono.empty();
+        }
+        return this.reactiveProductService.getProductsByIds(ids)
+                .map(lookup -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .eTag(catalogVersion)
+                        .cacheControl(CATALOG_CACHE_CONTROL)
+                        .body(lookup));
+    }
+
+    @PostMapping("/lookup")
+    public Mono<ResponseEntity<?>> lookupProductsByIds(
+            @RequestBody @Size(min = 1, max = ProductLookupDto.MAX_BODY_IDS) List<@NotNull Integer> ids) {
+        return this.reactiveProductService.getProductsByIds(ids)
+                .map(lookup -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(lookup));
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<?>> searchActiveProducts(
+            @RequestParam("q") @NotBlank @Size(max = 100) String q,
+            @RequestParam(value = "limit", required = false) @Min(1) @Max(100) Integer limit,
+            ServerWebExchange exchange) {
+        String catalogVersion = this.catalogVersionService.getCatalogVersion();
+        if (exchange.checkNotModified(catalogVersion)) {
+            return Mono.empty();
+        }
+        return this.reactiveProductService.searchActiveProducts(
+                        q, limit != null ? limit : DEFAULT_SEARCH_LIMIT)
+                .collectList()
+                .map(products -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .eTag(catalogVersion)
+                        .cacheControl(CATALOG_CACHE_CONTROL)
+                        .body(products));
+    }
+
+    @GetMapping("/suggest")
+    public Mono<ResponseEntity<?>> suggestActiveProducts(
+            @RequestParam("prefix") @NotBlank @Size(max = 100) String prefix,
+            @RequestParam(value = "limit", required = false) @Min(1) @Max(50) Integer limit,
+            ServerWebExchange exchange) {
+        String catalogVersion = this.catalogVersionService.getCatalogVersion();
+        if (exchange.checkNotModified(catalogVersion)) {
+            return Mono.empty();
+        }
+        List<ProductDto> products = this.productSuggestService.suggestActiveProducts(
+                prefix, limit != null ? limit : DEFAULT_SUGGEST_LIMIT);
+        return Mono.just(ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(catalogVersion)
+                .cacheControl(CATALOG_CACHE_CONTROL)
+                .body(products));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ProductDto> streamAllActiveProducts() {
+        return this.reactiveProductService.getAllActiveProducts();
+    }
+
+    @GetMapping("/{productId:\\d+}")
+    public Mono<ResponseEntity<?>> getProductById(@PathVariable int productId, ServerWebExchange exchange) {
+        String catalogVersion = this.catalogVersionService.getCatalogVersion();
+        if (exchange.checkNotModified(catalogVersion)) {
+            return Mono.empty();
+        }
+        return this.reactiveProductService.getProductById(productId)
+                .map(product -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .eTag(catalogVersion)
+                        .cacheControl(CATALOG_CACHE_CONTROL)
+                        .body(product));
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<?>> createProduct(@Valid @RequestBody ProductDto product,
+                                                 UriComponentsBuilder uriBuilder) {
+        return this.reactiveProductService.createProduct(product)
+                .map(createdProduct -> ResponseEntity.created(
+                                uriBuilder
+                                        .path("/api/v1/products/{productId}")
+                                        .buildAndExpand(createdProduct.getProductId())
+                                        .toUri()
+                        )
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(createdProduct));
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<?>> saveProducts(
+            @RequestBody @Size(min = 1, max = 10000) List<@Valid ProductDto> products) {
+        return this.reactiveProductService.saveProducts(products)
+                .map(results -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(results));
+    }
+
+    @PutMapping("/{productId:\\d+}")
+    public Mono<ResponseEntity<?>> updateProductById(@PathVariable("productId") int productId,
+                                                     @Valid @RequestBody ProductDto product) {
+        return this.reactiveProductService.updateProduct(productId, product)
+                .map(updatedProduct -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(updatedProduct));
+    }
+
+    @DeleteMapping("/{productId:\\d+}")
+    public Mono<ResponseEntity<?>> deleteProductById(@PathVariable("productId") int productId,
+                                                     @RequestParam(value = "isHard", defaultValue = "false") boolean isHard) {
+        Mono<Void> deletion = isHard
+                ? this.reactiveProductService.hardDeleteProductById(productId)
+                : this.reactiveProductService.softDeleteProductById(productId);
+        return deletion.then(Mono.just(ResponseEntity.ok().build()));
+    }
+
+}
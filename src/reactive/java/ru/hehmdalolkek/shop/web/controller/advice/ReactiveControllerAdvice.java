@@ -0,0 +1,69 @@
+package ru.hehmdalolkek.shop.web.controller.advice;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.lang.String.format;
+
+@ControllerAdvice
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@Profile("reactive")
+public class ReactiveControllerAdvice {
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<?> handleWebExchangeBindException(WebExchangeBindException e) {
+        ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.BAD_REQUEST);
+        Map<String, String> errors = new HashMap<>();
+        for (FieldError fieldError : e.getFieldErrors()) {
+            errors.put(fieldError.getField(), fieldError.getDefaultMessage());
+        }
+        problemDetail.setProperty("errors", errors);
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(problemDetail);
+    }
+
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<?> handleServerWebInputException(ServerWebInputException e) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getReason());
+        MethodParameter parameter = e.getMethodParameter();
+        if (e.getCause() instanceof TypeMismatchException typeMismatch && parameter != null) {
+            String name = typeMismatch.getPropertyName() != null
+                    ? typeMismatch.getPropertyName()
+                    : parameter.getParameterName();
+            problemDetail.setProperty("errors", Map.of(name, format("Invalid value '%s'", typeMismatch.getValue())));
+        }
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(problemDetail);
+    }
+
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<?> handleResponseStatusException(ResponseStatusException e) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(e.getStatusCode(), e.getReason());
+        return ResponseEntity
+                .status(e.getStatusCode())
+                .headers(e.getHeaders())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(problemDetail);
+    }
+
+}
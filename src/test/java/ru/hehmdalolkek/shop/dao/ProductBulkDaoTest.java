@@ -0,0 +1,150 @@
+package ru.hehmdalolkek.shop.dao;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.jdbc.Sql;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.hehmdalolkek.shop.dao.interfaces.ProductBulkDao;
+import ru.hehmdalolkek.shop.dao.interfaces.ProductDao;
+import ru.hehmdalolkek.shop.model.ProductImportResult;
+import ru.hehmdalolkek.shop.model.exception.ProductImportException;
+import ru.hehmdalolkek.shop.web.dto.ProductDto;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Testcontainers
+@TestConfiguration(proxyBeanMethods = false)
+@SpringBootTest
+@Sql(value = "/db/data/create-data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(value = "/db/data/delete-data.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class ProductBulkDaoTest {
+
+    @Container
+    @ServiceConnection
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+    private final ProductBulkDao productBulkDao;
+
+    private final ProductDao productDao;
+
+    @Autowired
+    ProductBulkDaoTest(ProductBulkDao productBulkDao, ProductDao productDao) {
+        this.productBulkDao = productBulkDao;
+        this.productDao = productDao;
+    }
+
+    @Test
+    @DisplayName("Given csv with new and existing titles, when importProducts, then products merged by title")
+    void givenCsvWithNewAndExistingTitles_whenImportProducts_thenProductsMergedByTitle() {
+        // given
+        InputStream csv = csv("""
+                title,price,active
+                Apple,20.5,true
+                Pear,10,
+                Pear,11,false
+                """);
+
+        // when
+        ProductImportResult result = productBulkDao.importProducts(csv);
+
+        // then
+        assertThat(result.getReceived()).isEqualTo(3);
+        assertThat(result.getImported()).isEqualTo(2);
+        List<ProductDto> products = productDao.getAllActiveProducts();
+        assertThat(products).filteredOn(product -> product.getTitle().equals("Apple"))
+                .singleElement()
+                .extracting(ProductDto::getPrice)
+                .isEqualTo(20.5);
+        assertThat(products).noneMatch(product -> product.getTitle().equals("Pear"));
+    }
+
+    @Test
+    @DisplayName("Given csv with invalid price, when importProducts, then throw exception")
+    void givenCsvWithInvalidPrice_whenImportProducts_thenThrowException() {
+        // given
+        InputStream csv = csv("""
+                title,price,active
+                Pear,abc,true
+                """);
+
+        // when
+        // then
+        assertThatThrownBy(() -> productBulkDao.importProducts(csv))
+                .isInstanceOf(ProductImportException.class);
+    }
+
+    @Test
+    @DisplayName("Given csv with values rejected by product validation, when importProducts, then throw exception with lines")
+    void givenCsvWithValuesRejectedByProductValidation_whenImportProducts_thenThrowExceptionWithLines() {
+        // given
+        InputStream csv = csv("""
+                title,price,active
+                Pear,10,true
+                P,10,true
+                Plum,0,true
+                Lime,-5,true
+                Fig,NaN,true
+                Date,Infinity,true
+                ,10,true
+                """);
+
+        // when
+        // then
+        assertThatThrownBy(() -> productBulkDao.importProducts(csv))
+                .isInstanceOf(ProductImportException.class)
+                .hasMessageEndingWith("check lines 3, 4, 5, 6, 7, 8");
+        assertThat(productDao.getAllActiveProducts()).noneMatch(product -> product.getTitle().equals("Pear"));
+    }
+
+    @Test
+    @DisplayName("Given active filter, when exportProducts, then active products written as csv")
+    void givenActiveFilter_whenExportProducts_thenActiveProductsWrittenAsCsv() {
+        // given
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+
+        // when
+        long exported = productBulkDao.exportProducts(true, csv);
+
+        // then
+        assertThat(exported).isEqualTo(4);
+        assertThat(csv.toString(StandardCharsets.UTF_8)).isEqualTo("""
+                product_id,title,price,active
+                1,Apple,15.99,t
+                2,Banana,30,t
+                3,Kiwi,99.23,t
+                4,Orange,45.22,t
+                """);
+    }
+
+    @Test
+    @DisplayName("Given no filter, when exportProducts, then all products written as csv")
+    void givenNoFilter_whenExportProducts_thenAllProductsWrittenAsCsv() {
+        // given
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+
+        // when
+        long exported = productBulkDao.exportProducts(null, csv);
+
+        // then
+        assertThat(exported).isEqualTo(5);
+        assertThat(csv.toString(StandardCharsets.UTF_8)).contains("5,Mango,200.4,f");
+    }
+
+    private static InputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,193 @@
+package ru.hehmdalolkek.shop.dao;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+import org.springframework.test.context.jdbc.Sql;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+@TestConfiguration(proxyBeanMethods = false)
+@SpringBootTest(properties = "shop.product-changes.listen=false")
+@Sql(value = "/db/data/create-plan-data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+@Sql(value = "/db/data/delete-data.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_CLASS)
+class ProductDaoQueryPlanTest {
+
+    @Container
+    @ServiceConnection
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+    private static final List<String> SQL_PREFIXES = List.of("SELECT", "INSERT", "UPDATE", "DELETE", "WITH");
+
+    private static final List<String> PRODUCT_QUERY_CLASSES = List.of(
+            "ru.hehmdalolkek.shop.dao.impl.ProductQueries",
+            "ru.hehmdalolkek.shop.dao.impl.ProductDaoNamedParameterJdbcOperationsImpl");
+
+    private static final Map<String, QueryPlanBudget> QUERY_PLAN_BUDGETS = Map.ofEntries(
+            Map.entry("SELECT_PRODUCT_BY_ID", new QueryPlanBudget(10,
+                    new MapSqlParameterSource("productId", 50000))),
+            Map.entry("SELECT_PRODUCTS_BY_IDS", new QueryPlanBudget(500,
+                    new MapSqlParameterSource("productIds",
+                            IntStream.range(50000, 50100).boxed().toArray(Integer[]::new)))),
+            Map.entry("DELETE_PRODUCT_BY_ID", new QueryPlanBudget(10,
+                    new MapSqlParameterSource("productId", 50000))),
+            Map.entry("SELECT_ALL_ACTIVE_PRODUCTS", new QueryPlanBudget(5000,
+                    new MapSqlParameterSource())),
+            Map.entry("SELECT_ACTIVE_PRODUCTS_AFTER_ID", new QueryPlanBudget(10,
+                    activeProductsPageParams(null, null, 50000))),
+            Map.entry("SELECT_ACTIVE_PRODUCTS_BY_PRICE", new QueryPlanBudget(30,
+                    activeProductsPageParams(100.0, 200.0, null))),
+            Map.entry("SELECT_ACTIVE_PRODUCTS_BY_PRICE_AFTER_ID", new QueryPlanBudget(80,
+                    activeProductsPageParams(100.0, 200.0, 50000).addValue("afterPrice", 150.0))),
+            Map.entry("SELECT_ACTIVE_PRODUCTS_BY_PRICE_DESC", new QueryPlanBudget(30,
+                    activeProductsPageParams(100.0, 200.0, null))),
+            Map.entry("SELECT_ACTIVE_PRODUCTS_BY_PRICE_DESC_AFTER_ID", new QueryPlanBudget(100,
+                    activeProductsPageParams(100.0, 200.0, 50000).addValue("afterPrice", 150.0))),
+            Map.entry("SELECT_ACTIVE_PRODUCTS_BY_TITLE", new QueryPlanBudget(10,
+                    activeProductsPageParams(null, null, null))),
+            Map.entry("SELECT_ACTIVE_PRODUCTS_BY_TITLE_AFTER_ID", new QueryPlanBudget(30,
+                    activeProductsPageParams(null, null, 50000).addValue("afterTitle", "Product 50000"))),
+            Map.entry("SELECT_ACTIVE_PRODUCTS_BY_TITLE_DESC", new QueryPlanBudget(10,
+                    activeProductsPageParams(null, null, null))),
+            Map.entry("SELECT_ACTIVE_PRODUCTS_BY_TITLE_DESC_AFTER_ID", new QueryPlanBudget(30,
+                    activeProductsPageParams(null, null, 50000).addValue("afterTitle", "Product 50000"))),
+            Map.entry("SEARCH_ACTIVE_PRODUCTS_BY_TITLE", new QueryPlanBudget(400,
+                    new MapSqlParameterSource()
+                            .addValue("query", "42424")
+                            .addValue("pattern", "%42424%")
+                            .addValue("limit", 20))),
+            Map.entry("INSERT_INTO_PRODUCTS", new QueryPlanBudget(1,
+                    new MapSqlParameterSource()
+                            .addValue("title", "Title")
+                            .addValue("price", 10.0))),
+            Map.entry("INSERT_INTO_PRODUCTS_WITH_ID", new QueryPlanBudget(1,
+                    new MapSqlParameterSource()
+                            .addValue("productId", 200000)
+                            .addValue("title", "Title")
+                            .addValue("price", 10.0)
+                            .addValue("active", true))),
+            Map.entry("UPDATE_PRODUCT_BY_ID", new QueryPlanBudget(10,
+                    new MapSqlParameterSource()
+                            .addValue("productId", 50000)
+                            .addValue("title", "Title")
+                            .addValue("price", 10.0)
+                            .addValue("active", null))),
+            Map.entry("UPSERT_PRODUCTS", new QueryPlanBudget(50,
+                    new MapSqlParameterSource()
+                            .addValue("productIds", new Integer[]{50000, null})
+                            .addValue("titles", new String[]{"Title", "Other title"})
+                            .addValue("prices", new Double[]{10.0, 20.0})
+                            .addValue("actives", new Boolean[]{true, null}))),
+            Map.entry("UPDATE_PRODUCT_SET_ACTIVE_IS_FALSE_BY_ID", new QueryPlanBudget(10,
+                    new MapSqlParameterSource("productId", 50000))),
+            Map.entry("NOTIFY_ALL_PRODUCTS_CHANGED", new QueryPlanBudget(1,
+                    new MapSqlParameterSource()))
+    );
+
+    private final NamedParameterJdbcOperations namedJdbcOperations;
+
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    ProductDaoQueryPlanTest(NamedParameterJdbcOperations namedJdbcOperations, ObjectMapper objectMapper) {
+        this.namedJdbcOperations = namedJdbcOperations;
+        this.objectMapper = objectMapper;
+    }
+
+    @Test
+    @DisplayName("Given product dao queries, when collect query plan budgets, then every query has budget")
+    void givenProductDaoQueries_whenCollectQueryPlanBudgets_thenEveryQueryHasBudget() throws Exception {
+        // given
+        List<String> queryNames = new ArrayList<>();
+        for (Object[] query : productDaoQueries().toList()) {
+            queryNames.add((String) query[0]);
+        }
+
+        // when
+        // then
+        assertThat(QUERY_PLAN_BUDGETS).containsOnlyKeys(queryNames);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("productDaoQueries")
+    @DisplayName("Given product dao query, when explain, then plan has no seq scan and fits cost budget")
+    void givenProductDaoQuery_whenExplain_thenNoSeqScanAndCostWithinBudget(String queryName, String sql)
+            throws Exception {
+        // given
+        QueryPlanBudget budget = QUERY_PLAN_BUDGETS.get(queryName);
+        assertThat(budget).as("query plan budget for %s", queryName).isNotNull();
+
+        // when
+        String planJson = this.namedJdbcOperations.queryForObject(
+                "EXPLAIN (FORMAT JSON) " + sql, budget.params(), String.class);
+        JsonNode plan = this.objectMapper.readTree(planJson).get(0).get("Plan");
+
+        // then
+        assertThat(seqScannedRelations(plan)).as("seq scanned relations of %s", queryName).isEmpty();
+        assertThat(plan.get("Total Cost").asDouble()).as("total cost of %s", queryName)
+                .isLessThanOrEqualTo(budget.maxTotalCost());
+    }
+
+    static Stream<Object[]> productDaoQueries() throws ReflectiveOperationException {
+        // shared queries live in a package-private holder, so classes are looked up by name
+        List<Object[]> queries = new ArrayList<>();
+        for (String productQueryClass : PRODUCT_QUERY_CLASSES) {
+            for (Field field : Class.forName(productQueryClass).getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers()) || field.getType() != String.class) {
+                    continue;
+                }
+                field.setAccessible(true);
+                String value = (String) field.get(null);
+                if (SQL_PREFIXES.stream().anyMatch(value::startsWith)) {
+                    queries.add(new Object[]{field.getName(), value});
+                }
+            }
+        }
+        return queries.stream();
+    }
+
+    private static List<String> seqScannedRelations(JsonNode plan) {
+        List<String> relations = new ArrayList<>();
+        if ("Seq Scan".equals(plan.path("Node Type").asText())) {
+            relations.add(plan.path("Relation Name").asText());
+        }
+        for (JsonNode subPlan : plan.path("Plans")) {
+            relations.addAll(seqScannedRelations(subPlan));
+        }
+        return relations;
+    }
+
+    private static MapSqlParameterSource activeProductsPageParams(Double minPrice, Double maxPrice,
+                                                                  Integer afterProductId) {
+        return new MapSqlParameterSource()
+                .addValue("minPrice", minPrice)
+                .addValue("maxPrice", maxPrice)
+                .addValue("afterProductId", afterProductId)
+                .addValue("limit", 51);
+    }
+
+    private record QueryPlanBudget(double maxTotalCost, MapSqlParameterSource params) {
+    }
+
+}
@@ -1,26 +1,45 @@
 package ru.hehmdalolkek.shop.dao;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.jdbc.Sql;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import ru.hehmdalolkek.shop.dao.interfaces.ProductDao;
 import ru.hehmdalolkek.shop.model.Product;
-
+import ru.hehmdalolkek.shop.model.ProductCursor;
+import ru.hehmdalolkek.shop.model.ProductSaveResult;
+import ru.hehmdalolkek.shop.model.ProductFilter;
+import ru.hehmdalolkek.shop.model.ProductSaveStatus;
+import ru.hehmdalolkek.shop.model.ProductSort;
+import ru.hehmdalolkek.shop.model.exception.ProductIsAlreadyExistsException;
+import ru.hehmdalolkek.shop.web.dto.ProductDto;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
 
 @Testcontainers
 @TestConfiguration(proxyBeanMethods = false)
-@SpringBootTest
+@SpringBootTest(properties = "shop.product-changes.listen=false")
 @Sql(value = "/db/data/create-data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
 @Sql(value = "/db/data/delete-data.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
 class ProductDaoTest {
@@ -31,21 +50,183 @@ class ProductDaoTest {
 
     private final ProductDao productDao;
 
+    private final CacheManager cacheManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final DataSource dataSource;
+
     @Autowired
-    ProductDaoTest(ProductDao productDao) {
+    ProductDaoTest(ProductDao productDao, CacheManager cacheManager, JdbcTemplate jdbcTemplate,
+                   DataSource dataSource) {
         this.productDao = productDao;
+        this.cacheManager = cacheManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+    }
+
+    @AfterEach
+    void clearCaches() {
+        for (String cacheName : cacheManager.getCacheNames()) {
+            cacheManager.getCache(cacheName).clear();
+        }
     }
 
     @Test
     @DisplayName("When getAllActiveProducts, then returned list of active products")
     void whenGetAllActiveProducts_thenReturnActiveProducts() {
         // when
-        List<Product> products = productDao.getAllActiveProducts();
+        List<ProductDto> products = productDao.getAllActiveProducts();
 
         // then
         assertThat(products).isNotEmpty();
         assertThat(products).size().isEqualTo(4);
-        assertThat(products).allMatch(Product::getActive);
+        assertThat(products).allMatch(ProductDto::getActive);
+    }
+
+    @Test
+    @DisplayName("When streamAllActiveProducts, then every active product passed to consumer")
+    void whenStreamAllActiveProducts_thenEveryActiveProductPassedToConsumer() {
+        // given
+        List<ProductDto> products = new ArrayList<>();
+
+        // when
+        productDao.streamAllActiveProducts(products::add);
+
+        // then
+        assertThat(products).size().isEqualTo(4);
+        assertThat(products).allMatch(ProductDto::getActive);
+    }
+
+    @Test
+    @DisplayName("Given cursor and limit, when getActiveProducts, then returned next active products")
+    void givenCursorAndLimit_whenGetActiveProducts_thenReturnNextActiveProducts() {
+        // given
+        ProductCursor after = new ProductCursor(1, null, null);
+        int limit = 2;
+
+        // when
+        List<ProductDto> products =
+                productDao.getActiveProducts(new ProductFilter(), ProductSort.ID, after, limit);
+
+        // then
+        assertThat(products).size().isEqualTo(limit);
+        assertThat(products).extracting(ProductDto::getProductId).containsExactly(2, 3);
+        assertThat(products).allMatch(ProductDto::getActive);
+    }
+
+    @Test
+    @DisplayName("Given last active product id, when getActiveProducts, then returned empty list")
+    void givenLastActiveProductId_whenGetActiveProducts_thenReturnEmptyList() {
+        // given
+        ProductCursor after = new ProductCursor(4, null, null);
+
+        // when
+        List<ProductDto> products =
+                productDao.getActiveProducts(new ProductFilter(), ProductSort.ID, after, 10);
+
+        // then
+        assertThat(products).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Given price range, when getActiveProducts, then returned active products in range")
+    void givenPriceRange_whenGetActiveProducts_thenReturnActiveProductsInRange() {
+        // given
+        ProductFilter filter = new ProductFilter(20.0, 100.0);
+
+        // when
+        List<ProductDto> products = productDao.getActiveProducts(filter, ProductSort.PRICE, null, 10);
+
+        // then
+        assertThat(products).extracting(ProductDto::getProductId).containsExactly(2, 4, 3);
+        assertThat(products).allMatch(ProductDto::getActive);
+    }
+
+    @Test
+    @DisplayName("Given price range and cursor, when getActiveProducts by price desc, then returned next products")
+    void givenPriceRangeAndCursor_whenGetActiveProductsByPriceDesc_thenReturnNextProducts() {
+        // given
+        ProductFilter filter = new ProductFilter(20.0, 50.0);
+
+        // when
+        List<ProductDto> firstPage = productDao.getActiveProducts(filter, ProductSort.PRICE_DESC, null, 1);
+        List<ProductDto> nextPage = productDao.getActiveProducts(
+                filter, ProductSort.PRICE_DESC, new ProductCursor(4, 45.22, null), 1);
+
+        // then
+        assertThat(firstPage).extracting(ProductDto::getProductId).containsExactly(4);
+        assertThat(nextPage).extracting(ProductDto::getProductId).containsExactly(2);
+    }
+
+    @Test
+    @DisplayName("Given only min price, when getActiveProducts by title, then returned products sorted by title")
+    void givenOnlyMinPrice_whenGetActiveProductsByTitle_thenReturnProductsSortedByTitle() {
+        // given
+        ProductFilter filter = new ProductFilter(20.0, null);
+
+        // when
+        List<ProductDto> products = productDao.getActiveProducts(filter, ProductSort.TITLE, null, 10);
+
+        // then
+        assertThat(products).extracting(ProductDto::getTitle).containsExactly("Banana", "Kiwi", "Orange");
+    }
+
+    @Test
+    @DisplayName("Given cursor, when getActiveProducts by title desc, then returned next products")
+    void givenCursor_whenGetActiveProductsByTitleDesc_thenReturnNextProducts() {
+        // when
+        List<ProductDto> products =
+                productDao.getActiveProducts(new ProductFilter(), ProductSort.TITLE_DESC,
+                        new ProductCursor(3, null, "Kiwi"), 2);
+
+        // then
+        assertThat(products).extracting(ProductDto::getTitle).containsExactly("Banana", "Apple");
+    }
+
+    @Test
+    @DisplayName("Given cursor of deleted product, when getActiveProducts by price, then returned next products")
+    void givenCursorOfDeletedProduct_whenGetActiveProductsByPrice_thenReturnNextProducts() {
+        // given
+        jdbcTemplate.update("DELETE FROM products WHERE product_id = 2");
+
+        // when
+        List<ProductDto> products = productDao.getActiveProducts(
+                new ProductFilter(), ProductSort.PRICE, new ProductCursor(2, 30.0, null), 10);
+
+        // then
+        assertThat(products).extracting(ProductDto::getProductId).containsExactly(4, 3);
+    }
+
+    @Test
+    @DisplayName("Given substring of title, when searchActiveProducts, then returned only active matching products")
+    void givenSubstringOfTitle_whenSearchActiveProducts_thenReturnOnlyActiveMatchingProducts() {
+        // when
+        List<ProductDto> products = productDao.searchActiveProducts("an", 10);
+
+        // then
+        assertThat(products).extracting(ProductDto::getTitle).containsExactlyInAnyOrder("Banana", "Orange");
+        assertThat(products).allMatch(ProductDto::getActive);
+    }
+
+    @Test
+    @DisplayName("Given misspelled title, when searchActiveProducts, then returned similar product")
+    void givenMisspelledTitle_whenSearchActiveProducts_thenReturnSimilarProduct() {
+        // when
+        List<ProductDto> products = productDao.searchActiveProducts("Bananna", 10);
+
+        // then
+        assertThat(products).extracting(ProductDto::getTitle).containsExactly("Banana");
+    }
+
+    @Test
+    @DisplayName("Given like wildcard, when searchActiveProducts, then wildcard matched literally")
+    void givenLikeWildcard_whenSearchActiveProducts_thenWildcardMatchedLiterally() {
+        // when
+        List<ProductDto> products = productDao.searchActiveProducts("%", 10);
+
+        // then
+        assertThat(products).isEmpty();
     }
 
     @Test
@@ -62,6 +243,57 @@ class ProductDaoTest {
         assertThat(optionalProduct.get().getId()).isEqualTo(productId);
     }
 
+    @Test
+    @DisplayName("Given cached product, when getProductById, then returned product from cache")
+    void givenCachedProduct_whenGetProductById_thenReturnProductFromCache() {
+        // given
+        int productId = 1;
+        productDao.getProductById(productId);
+        jdbcTemplate.update("UPDATE products SET title = 'Changed' WHERE product_id = ?", productId);
+
+        // when
+        Optional<Product> optionalProduct = productDao.getProductById(productId);
+
+        // then
+        assertThat(optionalProduct).isPresent();
+        assertThat(optionalProduct.get().getTitle()).isEqualTo("Apple");
+    }
+
+    @Test
+    @DisplayName("Given cached product, when softDeleteProduct, then cached product evicted")
+    void givenCachedProduct_whenSoftDeleteProduct_thenCachedProductEvicted() {
+        // given
+        int productId = 1;
+        productDao.getProductById(productId);
+
+        // when
+        productDao.softDeleteProduct(productId);
+        Optional<Product> optionalProduct = productDao.getProductById(productId);
+
+        // then
+        assertThat(optionalProduct).isPresent();
+        assertThat(optionalProduct.get().getActive()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Given cached product, when updateProduct, then cached product replaced")
+    void givenCachedProduct_whenUpdateProduct_thenCachedProductReplaced() {
+        // given
+        Product product = new Product();
+        product.setId(1);
+        product.setTitle("Title");
+        product.setPrice(2.0);
+        productDao.getProductById(product.getId());
+
+        // when
+        productDao.updateProduct(product);
+        Optional<Product> optionalProduct = productDao.getProductById(product.getId());
+
+        // then
+        assertThat(optionalProduct).isPresent();
+        assertThat(optionalProduct.get().getTitle()).isEqualTo("Title");
+    }
+
     @Test
     @DisplayName("Given non-existing id, when getProductById, then returned empty optional")
     void givenNonExistingProductId_whenGetProductById_thenReturnEmptyOptional() {
@@ -76,74 +308,110 @@ class ProductDaoTest {
     }
 
     @Test
-    @DisplayName("Given existing title, when productExistsByTitle, then returned true")
-    void givenExistingTitle_whenProductExistsByTitle_thenReturnTrue() {
+    @DisplayName("Given concurrent lookups of uncached ids, when getProductById, then every product returned")
+    void givenConcurrentLookupsOfUncachedIds_whenGetProductById_thenEveryProductReturned() throws Exception {
         // given
-        String title = "Apple";
+        List<Integer> productIds = List.of(1, 2, 3, 1, 2, 3, -1);
+        List<CompletableFuture<Optional<Product>>> lookups = new ArrayList<>();
 
         // when
-        Boolean isExists = productDao.productExistsByTitle(title);
+        for (int productId : productIds) {
+            lookups.add(CompletableFuture.supplyAsync(() -> productDao.getProductById(productId)));
+        }
 
         // then
-        assertThat(isExists).isTrue();
+        for (int i = 0; i < productIds.size(); i++) {
+            Optional<Product> optionalProduct = lookups.get(i).get(10, TimeUnit.SECONDS);
+            if (productIds.get(i) > 0) {
+                assertThat(optionalProduct).isPresent();
+                assertThat(optionalProduct.get().getId()).isEqualTo(productIds.get(i));
+            } else {
+                assertThat(optionalProduct).isNotPresent();
+            }
+        }
     }
 
     @Test
-    @DisplayName("Given non existing title, when productExistsByTitle, then returned false")
-    void givenNonExistingTitle_whenProductExistsByTitle_thenReturnFalse() {
+    @DisplayName("Given existing and non-existing ids, when getProductsByIds, then returned existing products")
+    void givenExistingAndNonExistingIds_whenGetProductsByIds_thenReturnExistingProducts() {
         // given
-        String title = "1234567";
+        List<Integer> productIds = List.of(1, 5, -1);
 
         // when
-        Boolean isExists = productDao.productExistsByTitle(title);
+        List<Product> products = productDao.getProductsByIds(productIds);
 
         // then
-        assertThat(isExists).isFalse();
+        assertThat(products).extracting(Product::getId).containsExactlyInAnyOrder(1, 5);
     }
 
     @Test
-    @DisplayName("Given product without id, when saveProduct, then returned saved product")
-    void givenProductWithoutId_whenSaveProduct_thenReturnSavedProduct() {
+    @DisplayName("Given product without id, when insertProduct, then returned inserted product")
+    void givenProductWithoutId_whenInsertProduct_thenReturnInsertedProduct() {
         // given
         Product product = new Product();
         product.setTitle("Title");
         product.setPrice(1.0);
 
         // when
-        Product createdProduct = productDao.saveProduct(product);
+        Product insertedProduct = productDao.insertProduct(product);
 
         // then
-        assertThat(createdProduct).isNotNull();
-        assertThat(createdProduct.getId()).isNotNull();
-        assertThat(createdProduct.getActive()).isTrue();
-        assertThat(createdProduct.getTitle()).isEqualTo(product.getTitle());
-        assertThat(createdProduct.getPrice()).isEqualTo(product.getPrice());
+        assertThat(insertedProduct.getId()).isNotNull();
+        assertThat(insertedProduct.getTitle()).isEqualTo(product.getTitle());
+        assertThat(insertedProduct.getPrice()).isEqualTo(product.getPrice());
+        assertThat(insertedProduct.getActive()).isTrue();
     }
 
     @Test
-    @DisplayName("Given product with existing id, when saveProduct, then returned saved product")
-    void givenProductWithExistingId_whenSaveProduct_thenReturnedSavedProduct() {
+    @DisplayName("Given product with existing title, when insertProduct, then throw exception")
+    void givenProductWithExistingTitle_whenInsertProduct_thenThrowException() {
+        // given
+        Product product = new Product();
+        product.setTitle("Apple");
+        product.setPrice(1.0);
+
+        // when
+        // then
+        assertThatThrownBy(() -> productDao.insertProduct(product))
+                .isInstanceOf(ProductIsAlreadyExistsException.class)
+                .hasMessage("Product with title=Apple is already exists");
+    }
+
+    @Test
+    @DisplayName("Given product with existing id, when insertProduct, then throw exception")
+    void givenProductWithExistingId_whenInsertProduct_thenThrowException() {
         // given
         Product product = new Product();
         product.setId(1);
         product.setTitle("Title");
         product.setPrice(1.0);
-        product.setActive(false);
 
         // when
-        Product updatedProduct = productDao.saveProduct(product);
+        // then
+        assertThatThrownBy(() -> productDao.insertProduct(product))
+                .isInstanceOf(ProductIsAlreadyExistsException.class)
+                .hasMessage("Product with id=1 is already exists");
+    }
+
+    @Test
+    @DisplayName("Given product with new id and existing title, when insertProduct, then throw title exception")
+    void givenProductWithNewIdAndExistingTitle_whenInsertProduct_thenThrowTitleException() {
+        // given
+        Product product = new Product();
+        product.setId(100);
+        product.setTitle("Apple");
+        product.setPrice(1.0);
 
+        // when
         // then
-        assertThat(updatedProduct).isNotNull();
-        assertThat(updatedProduct.getId()).isEqualTo(product.getId());
-        assertThat(updatedProduct.getTitle()).isEqualTo(product.getTitle());
-        assertThat(updatedProduct.getPrice()).isEqualTo(product.getPrice());
-        assertThat(updatedProduct.getActive()).isEqualTo(product.getActive());
+        assertThatThrownBy(() -> productDao.insertProduct(product))
+                .isInstanceOf(ProductIsAlreadyExistsException.class)
+                .hasMessage("Product with title=Apple is already exists");
     }
 
     @Test
-    @DisplayName("Given product with non existing id, when saveProduct, then returned saved product")
-    void givenProductWithNonExistingId_whenSaveProduct_thenReturnedSavedProduct() {
+    @DisplayName("Given inactive product with new id, when insertProduct, then inserted inactive")
+    void givenInactiveProductWithNewId_whenInsertProduct_thenInsertedInactive() {
         // given
         Product product = new Product();
         product.setId(100);
@@ -152,14 +420,131 @@ class ProductDaoTest {
         product.setActive(false);
 
         // when
-        Product updatedProduct = productDao.saveProduct(product);
+        Product insertedProduct = productDao.insertProduct(product);
+
+        // then
+        assertThat(insertedProduct.getId()).isEqualTo(100);
+        assertThat(insertedProduct.getActive()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Given product with existing id, when updateProduct, then returned updated product")
+    void givenProductWithExistingId_whenUpdateProduct_thenReturnUpdatedProduct() {
+        // given
+        Product product = new Product();
+        product.setId(1);
+        product.setTitle("Title");
+        product.setPrice(2.0);
+
+        // when
+        Optional<Product> updatedProduct = productDao.updateProduct(product);
+
+        // then
+        assertThat(updatedProduct).isPresent();
+        assertThat(updatedProduct.get().getTitle()).isEqualTo(product.getTitle());
+        assertThat(updatedProduct.get().getPrice()).isEqualTo(product.getPrice());
+        assertThat(updatedProduct.get().getActive()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Given product with non existing id, when updateProduct, then returned empty optional")
+    void givenProductWithNonExistingId_whenUpdateProduct_thenReturnEmptyOptional() {
+        // given
+        Product product = new Product();
+        product.setId(100);
+        product.setTitle("Title");
+        product.setPrice(2.0);
+
+        // when
+        Optional<Product> updatedProduct = productDao.updateProduct(product);
+
+        // then
+        assertThat(updatedProduct).isNotPresent();
+    }
+
+    @Test
+    @DisplayName("Given product with title of another product, when updateProduct, then throw exception")
+    void givenProductWithTitleOfAnotherProduct_whenUpdateProduct_thenThrowException() {
+        // given
+        Product product = new Product();
+        product.setId(2);
+        product.setTitle("Apple");
+        product.setPrice(2.0);
+
+        // when
+        // then
+        assertThatThrownBy(() -> productDao.updateProduct(product))
+                .isInstanceOf(ProductIsAlreadyExistsException.class)
+                .hasMessage("Product with title=Apple is already exists");
+    }
+
+    @Test
+    @DisplayName("Given new, existing and conflicting products, when saveProducts, then returned result per product")
+    void givenNewExistingAndConflictingProducts_whenSaveProducts_thenReturnResultPerProduct() {
+        // given
+        Product newProduct = new Product();
+        newProduct.setTitle("Title");
+        newProduct.setPrice(1.0);
+        Product existingProduct = new Product();
+        existingProduct.setId(2);
+        existingProduct.setTitle("Banana");
+        existingProduct.setPrice(10.0);
+        existingProduct.setActive(false);
+        Product conflictingProduct = new Product();
+        conflictingProduct.setTitle("Apple");
+        conflictingProduct.setPrice(1.0);
+        Product duplicateProduct = new Product();
+        duplicateProduct.setTitle("Title");
+        duplicateProduct.setPrice(2.0);
+
+        // when
+        List<ProductSaveResult> results = productDao.saveProducts(
+                List.of(newProduct, existingProduct, conflictingProduct, duplicateProduct));
+
+        // then
+        assertThat(results).extracting(ProductSaveResult::getStatus).containsExactly(
+                ProductSaveStatus.CREATED,
+                ProductSaveStatus.UPDATED,
+                ProductSaveStatus.CONFLICT,
+                ProductSaveStatus.CONFLICT
+        );
+        assertThat(results.get(0).getProduct().getId()).isNotNull();
+        assertThat(results.get(0).getProduct().getActive()).isTrue();
+        assertThat(results.get(1).getProduct().getPrice()).isEqualTo(10.0);
+        assertThat(results.get(1).getProduct().getActive()).isFalse();
+        assertThat(productDao.getProductById(1).get().getPrice()).isEqualTo(15.99);
+    }
+
+    @Test
+    @DisplayName("Given title inserted concurrently, when saveProducts, then returned conflict")
+    void givenTitleInsertedConcurrently_whenSaveProducts_thenReturnConflict() throws Exception {
+        // given
+        Product racingProduct = new Product();
+        racingProduct.setTitle("Racing");
+        racingProduct.setPrice(1.0);
+        Product newProduct = new Product();
+        newProduct.setTitle("Title");
+        newProduct.setPrice(1.0);
+        CompletableFuture<List<ProductSaveResult>> results;
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("INSERT INTO products (title, price) VALUES ('Racing', 2.0)");
+            }
+
+            // when
+            results = CompletableFuture.supplyAsync(
+                    () -> productDao.saveProducts(List.of(racingProduct, newProduct)));
+            await().atMost(Duration.ofSeconds(10)).until(() -> jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM pg_stat_activity WHERE wait_event_type = 'Lock'", Integer.class) > 0);
+            connection.commit();
+        }
 
         // then
-        assertThat(updatedProduct).isNotNull();
-        assertThat(updatedProduct.getId()).isEqualTo(product.getId());
-        assertThat(updatedProduct.getTitle()).isEqualTo(product.getTitle());
-        assertThat(updatedProduct.getPrice()).isEqualTo(product.getPrice());
-        assertThat(updatedProduct.getActive()).isEqualTo(product.getActive());
+        assertThat(results.get(10, TimeUnit.SECONDS)).extracting(ProductSaveResult::getStatus)
+                .containsExactly(ProductSaveStatus.CONFLICT, ProductSaveStatus.CREATED);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT price FROM products WHERE title = 'Racing'", Double.class)).isEqualTo(2.0);
     }
 
     @Test
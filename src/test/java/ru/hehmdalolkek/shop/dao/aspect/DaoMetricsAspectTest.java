@@ -0,0 +1,95 @@
+package ru.hehmdalolkek.shop.dao.aspect;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import ru.hehmdalolkek.shop.dao.interfaces.ProductDao;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DaoMetricsAspectTest {
+
+    @Mock
+    private ProductDao productDao;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ProductDao timedProductDao;
+
+    @BeforeEach
+    void setUp() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(this.productDao);
+        proxyFactory.addInterface(ProductDao.class);
+        proxyFactory.addAspect(new DaoMetricsAspect(this.meterRegistry, Duration.ofMillis(500)));
+        this.timedProductDao = proxyFactory.getProxy();
+    }
+
+    @Test
+    @DisplayName("Given successful dao operation, when called, then timer recorded with success outcome")
+    public void givenSuccessfulDaoOperation_whenCalled_thenTimerRecordedWithSuccessOutcome() {
+        // given
+        when(productDao.getProductById(1)).thenReturn(Optional.empty());
+
+        // when
+        timedProductDao.getProductById(1);
+
+        // then
+        Timer timer = meterRegistry.find(DaoMetricsAspect.DAO_OPERATIONS_METRIC)
+                .tag("operation", "getProductById")
+                .tag("outcome", "SUCCESS")
+                .tag("exception", "none")
+                .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Given failing dao operation, when called, then timer recorded with error outcome")
+    public void givenFailingDaoOperation_whenCalled_thenTimerRecordedWithErrorOutcome() {
+        // given
+        when(productDao.getProductById(1)).thenThrow(new DataAccessResourceFailureException("Connection refused"));
+
+        // when
+        assertThatThrownBy(() -> timedProductDao.getProductById(1))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+
+        // then
+        Timer timer = meterRegistry.find(DaoMetricsAspect.DAO_OPERATIONS_METRIC)
+                .tag("operation", "getProductById")
+                .tag("outcome", "ERROR")
+                .tag("exception", "DataAccessResourceFailureException")
+                .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Given repeated dao operation, when called, then same timer recorded")
+    public void givenRepeatedDaoOperation_whenCalled_thenSameTimerRecorded() {
+        // given
+        when(productDao.getProductById(1)).thenReturn(Optional.empty());
+
+        // when
+        timedProductDao.getProductById(1);
+        timedProductDao.getProductById(1);
+
+        // then
+        assertThat(meterRegistry.find(DaoMetricsAspect.DAO_OPERATIONS_METRIC).timers()).hasSize(1);
+        assertThat(meterRegistry.find(DaoMetricsAspect.DAO_OPERATIONS_METRIC).timer().count()).isEqualTo(2);
+    }
+
+}
@@ -0,0 +1,91 @@
+package ru.hehmdalolkek.shop.dao.datasource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkheadDataSourceTest {
+
+    @Mock
+    private DataSource targetDataSource;
+
+    @Mock
+    private Connection targetConnection;
+
+    @Test
+    @DisplayName("Given free permit, when getConnection, then get target connection holding permit")
+    public void givenFreePermit_whenGetConnection_thenGetTargetConnectionHoldingPermit() throws SQLException {
+        // given
+        when(targetDataSource.getConnection()).thenReturn(targetConnection);
+        BulkheadDataSource dataSource = new BulkheadDataSource(targetDataSource, 2, Duration.ofMillis(10));
+
+        // when
+        Connection connection = dataSource.getConnection();
+
+        // then
+        assertThat(((ConnectionProxy) connection).getTargetConnection()).isSameAs(targetConnection);
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Given closed connection, when close again, then permit released once")
+    public void givenClosedConnection_whenCloseAgain_thenPermitReleasedOnce() throws SQLException {
+        // given
+        when(targetDataSource.getConnection()).thenReturn(targetConnection);
+        BulkheadDataSource dataSource = new BulkheadDataSource(targetDataSource, 1, Duration.ofMillis(10));
+        Connection connection = dataSource.getConnection();
+        connection.close();
+
+        // when
+        connection.close();
+
+        // then
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+        verify(targetConnection, times(2)).close();
+    }
+
+    @Test
+    @DisplayName("Given no free permits, when getConnection, then throw SQLTransientConnectionException")
+    public void givenNoFreePermits_whenGetConnection_thenThrowSQLTransientConnectionException() throws SQLException {
+        // given
+        when(targetDataSource.getConnection()).thenReturn(targetConnection);
+        BulkheadDataSource dataSource = new BulkheadDataSource(targetDataSource, 1, Duration.ofMillis(10));
+        dataSource.getConnection();
+
+        // when
+        // then
+        assertThatThrownBy(dataSource::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class);
+        verify(targetDataSource, times(1)).getConnection();
+    }
+
+    @Test
+    @DisplayName("Given failing target, when getConnection, then permit released")
+    public void givenFailingTarget_whenGetConnection_thenPermitReleased() throws SQLException {
+        // given
+        when(targetDataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+        BulkheadDataSource dataSource = new BulkheadDataSource(targetDataSource, 1, Duration.ofMillis(10));
+
+        // when
+        // then
+        assertThatThrownBy(dataSource::getConnection)
+                .isInstanceOf(SQLException.class)
+                .hasMessage("Connection refused");
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+    }
+
+}
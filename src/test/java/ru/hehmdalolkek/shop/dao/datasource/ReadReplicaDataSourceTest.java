@@ -0,0 +1,99 @@
+package ru.hehmdalolkek.shop.dao.datasource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.hehmdalolkek.shop.model.event.ProductChangedEvent;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReadReplicaDataSourceTest {
+
+    @Mock
+    private DataSource replicaDataSource;
+
+    @Mock
+    private DataSource primaryDataSource;
+
+    @Mock
+    private Connection replicaConnection;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Test
+    @DisplayName("Given available replica, when getConnection, then get replica connection")
+    public void givenAvailableReplica_whenGetConnection_thenGetReplicaConnection() throws SQLException {
+        // given
+        when(replicaDataSource.getConnection()).thenReturn(replicaConnection);
+        ReadReplicaDataSource dataSource =
+                new ReadReplicaDataSource(replicaDataSource, primaryDataSource, Duration.ofMinutes(1));
+
+        // when
+        Connection connection = dataSource.getConnection();
+
+        // then
+        assertThat(connection).isSameAs(replicaConnection);
+        verifyNoInteractions(primaryDataSource);
+    }
+
+    @Test
+    @DisplayName("Given unavailable replica, when getConnection, then get primary connection")
+    public void givenUnavailableReplica_whenGetConnection_thenGetPrimaryConnection() throws SQLException {
+        // given
+        when(replicaDataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(primaryDataSource.getConnection()).thenReturn(primaryConnection);
+        ReadReplicaDataSource dataSource =
+                new ReadReplicaDataSource(replicaDataSource, primaryDataSource, Duration.ZERO);
+
+        // when
+        Connection connection = dataSource.getConnection();
+
+        // then
+        assertThat(connection).isSameAs(primaryConnection);
+    }
+
+    @Test
+    @DisplayName("Given recent write, when getConnection, then get primary connection")
+    public void givenRecentWrite_whenGetConnection_thenGetPrimaryConnection() throws SQLException {
+        // given
+        when(primaryDataSource.getConnection()).thenReturn(primaryConnection);
+        ReadReplicaDataSource dataSource =
+                new ReadReplicaDataSource(replicaDataSource, primaryDataSource, Duration.ofMinutes(1));
+        dataSource.onProductChanged(new ProductChangedEvent(1));
+
+        // when
+        Connection connection = dataSource.getConnection();
+
+        // then
+        assertThat(connection).isSameAs(primaryConnection);
+        verifyNoInteractions(replicaDataSource);
+    }
+
+    @Test
+    @DisplayName("Given write and disabled read your writes window, when getConnection, then get replica connection")
+    public void givenWriteAndDisabledWindow_whenGetConnection_thenGetReplicaConnection() throws SQLException {
+        // given
+        when(replicaDataSource.getConnection()).thenReturn(replicaConnection);
+        ReadReplicaDataSource dataSource =
+                new ReadReplicaDataSource(replicaDataSource, primaryDataSource, Duration.ZERO);
+        dataSource.onProductChanged(new ProductChangedEvent(1));
+
+        // when
+        Connection connection = dataSource.getConnection();
+
+        // then
+        assertThat(connection).isSameAs(replicaConnection);
+        verifyNoInteractions(primaryDataSource);
+    }
+
+}
@@ -0,0 +1,150 @@
+package ru.hehmdalolkek.shop.dao.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.hehmdalolkek.shop.service.impl.ProductSuggestServiceImpl;
+import ru.hehmdalolkek.shop.service.interfaces.ProductService;
+import ru.hehmdalolkek.shop.web.dto.ProductDto;
+import ru.hehmdalolkek.shop.web.dto.ProductLookupDto;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+@TestConfiguration(proxyBeanMethods = false)
+@SpringBootTest(properties = {
+        "shop.product-changes.listen=false",
+        "shop.datasource.replica.read-your-writes-window=1m"
+})
+@Sql(value = "/db/data/create-data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(value = "/db/data/delete-data.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class ReplicaRoutingIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+    @Container
+    private static final PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("postgres:15")
+            .withInitScript("db/replica/create-replica-data.sql");
+
+    private final ProductService productService;
+
+    private final ProductSuggestServiceImpl productSuggestService;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    ReplicaRoutingIntegrationTest(ProductService productService, ProductSuggestServiceImpl productSuggestService,
+                                  JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.productService = productService;
+        this.productSuggestService = productSuggestService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @DynamicPropertySource
+    static void replicaProperties(DynamicPropertyRegistry registry) {
+        registry.add("shop.datasource.replica.url", replica::getJdbcUrl);
+        registry.add("shop.datasource.replica.username", replica::getUsername);
+        registry.add("shop.datasource.replica.password", replica::getPassword);
+    }
+
+    @Test
+    @DisplayName("Given replica, when read only getAllActiveProducts, then products read from replica")
+    void givenReplica_whenReadOnlyGetAllActiveProducts_thenProductsReadFromReplica() {
+        // when
+        List<ProductDto> products = productService.getAllActiveProducts();
+
+        // then
+        assertThat(products).extracting(ProductDto::getTitle).containsExactly("Replica product");
+    }
+
+    @Test
+    @DisplayName("Given replica, when getProductsByIds, then products read from replica")
+    void givenReplica_whenGetProductsByIds_thenProductsReadFromReplica() {
+        // when
+        ProductLookupDto lookup = productService.getProductsByIds(List.of(1, 100));
+
+        // then
+        assertThat(lookup.getProducts()).extracting(ProductDto::getTitle).containsExactly("Replica product");
+        assertThat(lookup.getMissingIds()).containsExactly(1);
+    }
+
+    @Test
+    @DisplayName("Given replica, when getProductById, then product cached from primary")
+    void givenReplica_whenGetProductById_thenProductCachedFromPrimary() {
+        // when
+        ProductDto product = productService.getProductById(1);
+
+        // then
+        assertThat(product.getTitle()).isEqualTo("Apple");
+    }
+
+    @Test
+    @DisplayName("Given replica, when reload suggest index, then index filled from primary")
+    void givenReplica_whenReloadSuggestIndex_thenIndexFilledFromPrimary() {
+        // when
+        productSuggestService.onApplicationReady();
+
+        // then
+        assertThat(productSuggestService.suggestActiveProducts("app", 10))
+                .extracting(ProductDto::getTitle).containsExactly("Apple");
+        assertThat(productSuggestService.suggestActiveProducts("replica", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Given read from replica, when find pool metrics, then both pools are measured")
+    void givenReadFromReplica_whenFindPoolMetrics_thenBothPoolsAreMeasured() {
+        // given
+        productService.getAllActiveProducts();
+        jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+
+        // when
+        Timer primaryAcquire = meterRegistry.find("hikaricp.connections.acquire").tag("pool", "primary").timer();
+        Timer replicaAcquire = meterRegistry.find("hikaricp.connections.acquire").tag("pool", "replica").timer();
+
+        // then
+        assertThat(primaryAcquire).isNotNull();
+        assertThat(replicaAcquire).isNotNull();
+        assertThat(replicaAcquire.count()).isPositive();
+    }
+
+    @Test
+    @DirtiesContext
+    @DisplayName("Given created product, when getAllActiveProducts, then products read from primary")
+    void givenCreatedProduct_whenGetAllActiveProducts_thenProductsReadFromPrimary() {
+        // given
+        ProductDto product = ProductDto.builder()
+                .title("Created")
+                .price(10.0)
+                .build();
+        productService.createProduct(product);
+
+        // when
+        List<ProductDto> products = productService.getAllActiveProducts();
+
+        // then
+        assertThat(products).extracting(ProductDto::getTitle).contains("Created", "Apple");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM products WHERE title = 'Created'", Integer.class)).isEqualTo(1);
+    }
+
+}
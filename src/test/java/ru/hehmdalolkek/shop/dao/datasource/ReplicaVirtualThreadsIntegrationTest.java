@@ -0,0 +1,74 @@
+package ru.hehmdalolkek.shop.dao.datasource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+@TestConfiguration(proxyBeanMethods = false)
+@EnabledForJreRange(min = JRE.JAVA_21)
+@SpringBootTest(properties = {
+        "spring.threads.virtual.enabled=true",
+        "spring.datasource.hikari.maximum-pool-size=4",
+        "shop.datasource.replica.hikari.maximum-pool-size=6",
+        "shop.product-changes.listen=false"
+})
+class ReplicaVirtualThreadsIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+    @Container
+    private static final PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("postgres:15")
+            .withInitScript("db/replica/create-replica-data.sql");
+
+    private final DataSource dataSource;
+
+    private final BeanFactory beanFactory;
+
+    @Autowired
+    ReplicaVirtualThreadsIntegrationTest(DataSource dataSource, BeanFactory beanFactory) {
+        this.dataSource = dataSource;
+        this.beanFactory = beanFactory;
+    }
+
+    @DynamicPropertySource
+    static void replicaProperties(DynamicPropertyRegistry registry) {
+        registry.add("shop.datasource.replica.url", replica::getJdbcUrl);
+        registry.add("shop.datasource.replica.username", replica::getUsername);
+        registry.add("shop.datasource.replica.password", replica::getPassword);
+    }
+
+    @Test
+    @DisplayName("Given replica and virtual threads, when get pools, then each pool behind own bulkhead")
+    public void givenReplicaAndVirtualThreads_whenGetPools_thenEachPoolBehindOwnBulkhead() {
+        // given
+        // when
+        DataSource primaryDataSource = ((LazyConnectionDataSourceProxy) dataSource).getTargetDataSource();
+        DataSource replicaDataSource = beanFactory.getBean("replicaDataSource", DataSource.class);
+
+        // then
+        assertThat(primaryDataSource).isInstanceOf(BulkheadDataSource.class);
+        assertThat(((BulkheadDataSource) primaryDataSource).getAvailablePermits()).isEqualTo(4);
+        assertThat(replicaDataSource).isInstanceOf(BulkheadDataSource.class);
+        assertThat(((BulkheadDataSource) replicaDataSource).getAvailablePermits()).isEqualTo(6);
+    }
+
+}
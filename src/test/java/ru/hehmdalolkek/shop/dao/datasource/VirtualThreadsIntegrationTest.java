@@ -0,0 +1,108 @@
+package ru.hehmdalolkek.shop.dao.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.jdbc.Sql;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.hehmdalolkek.shop.service.interfaces.ProductService;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+@TestConfiguration(proxyBeanMethods = false)
+@EnabledForJreRange(min = JRE.JAVA_21)
+@SpringBootTest(properties = {
+        "spring.threads.virtual.enabled=true",
+        "spring.datasource.hikari.maximum-pool-size=4",
+        "shop.product-changes.listen=false"
+})
+@Sql(value = "/db/data/create-data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(value = "/db/data/delete-data.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class VirtualThreadsIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+    private final DataSource dataSource;
+
+    private final ProductService productService;
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    VirtualThreadsIntegrationTest(DataSource dataSource, ProductService productService,
+                                  MeterRegistry meterRegistry) {
+        this.dataSource = dataSource;
+        this.productService = productService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Test
+    @DisplayName("Given virtual threads, when get dataSource, then bulkhead sized to connection pool")
+    public void givenVirtualThreads_whenGetDataSource_thenBulkheadSizedToConnectionPool() {
+        // given
+        // when
+        // then
+        assertThat(dataSource).isInstanceOf(BulkheadDataSource.class);
+        assertThat(((BulkheadDataSource) dataSource).getAvailablePermits()).isEqualTo(4);
+        assertThat(meterRegistry.find("hikaricp.connections.max").gauge()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Given more concurrent reads than connections, when read products, then all served within pool size")
+    public void givenMoreConcurrentReadsThanConnections_whenReadProducts_thenAllServedWithinPoolSize()
+            throws Exception {
+        // given
+        BulkheadDataSource bulkheadDataSource = (BulkheadDataSource) dataSource;
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        List<Future<?>> reads = new ArrayList<>();
+        AtomicBoolean reading = new AtomicBoolean(true);
+        AtomicInteger maxHeldPermits = new AtomicInteger();
+        Future<?> sampler = executor.submit(() -> {
+            while (reading.get()) {
+                maxHeldPermits.accumulateAndGet(4 - bulkheadDataSource.getAvailablePermits(), Math::max);
+                TimeUnit.MICROSECONDS.sleep(100);
+            }
+            return null;
+        });
+
+        // when
+        for (int i = 0; i < 1000; i++) {
+            reads.add(executor.submit(() -> productService.getAllActiveProducts()));
+        }
+        for (Future<?> read : reads) {
+            read.get(1, TimeUnit.MINUTES);
+        }
+        reading.set(false);
+        sampler.get(1, TimeUnit.MINUTES);
+        executor.shutdown();
+
+        // then
+        for (Future<?> read : reads) {
+            assertThat(read.get()).asList().isNotEmpty();
+        }
+        assertThat(maxHeldPermits.get()).isBetween(1, 4);
+        assertThat(bulkheadDataSource.getAvailablePermits()).isEqualTo(4);
+    }
+
+}
@@ -0,0 +1,168 @@
+package ru.hehmdalolkek.shop.dao.listener;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.hehmdalolkek.shop.config.CacheConfig;
+import ru.hehmdalolkek.shop.dao.interfaces.ProductDao;
+import ru.hehmdalolkek.shop.model.Product;
+import ru.hehmdalolkek.shop.service.interfaces.CatalogVersionService;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@Testcontainers
+@TestConfiguration(proxyBeanMethods = false)
+@SpringBootTest
+@Sql(value = "/db/data/create-data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(value = "/db/data/delete-data.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class ProductChangeNotificationListenerTest {
+
+    @Container
+    @ServiceConnection
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+    private static final Duration NOTIFICATION_TIMEOUT = Duration.ofSeconds(10);
+    private static final String SET_ANOTHER_NODE_ID = "SET LOCAL shop.node_id = 'another-node'";
+
+    private final ProductDao productDao;
+
+    private final CacheManager cacheManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final CatalogVersionService catalogVersionService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    ProductChangeNotificationListenerTest(ProductDao productDao, CacheManager cacheManager,
+                                          JdbcTemplate jdbcTemplate, CatalogVersionService catalogVersionService,
+                                          TransactionTemplate transactionTemplate) {
+        this.productDao = productDao;
+        this.cacheManager = cacheManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.catalogVersionService = catalogVersionService;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Test
+    @DisplayName("Given cached product, when product updated by another node, then stale cached product evicted")
+    void givenCachedProduct_whenProductUpdatedByAnotherNode_thenStaleCachedProductEvicted() {
+        // given
+        int productId = 1;
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        productDao.getProductById(productId);
+
+        // when
+        asAnotherNode(() -> jdbcTemplate.update("UPDATE products SET title = 'Changed' WHERE product_id = ?", productId));
+
+        // then
+        await().atMost(NOTIFICATION_TIMEOUT).until(() -> {
+            Cache.ValueWrapper cachedProduct = cache.get(productId);
+            return cachedProduct == null || "Changed".equals(((Product) cachedProduct.get()).getTitle());
+        });
+        Optional<Product> optionalProduct = productDao.getProductById(productId);
+        assertThat(optionalProduct).isPresent();
+        assertThat(optionalProduct.get().getTitle()).isEqualTo("Changed");
+    }
+
+    @Test
+    @DisplayName("Given catalog version, when product deleted by another node, then catalog version changed")
+    void givenCatalogVersion_whenProductDeletedByAnotherNode_thenCatalogVersionChanged() {
+        // given
+        String catalogVersion = catalogVersionService.getCatalogVersion();
+
+        // when
+        asAnotherNode(() -> jdbcTemplate.update("DELETE FROM products WHERE product_id = ?", 1));
+
+        // then
+        await().atMost(NOTIFICATION_TIMEOUT)
+                .until(() -> !catalogVersionService.getCatalogVersion().equals(catalogVersion));
+    }
+
+    @Test
+    @DisplayName("Given catalog version, when saveProducts by another node, then catalog version changed once")
+    void givenCatalogVersion_whenSaveProductsByAnotherNode_thenCatalogVersionChangedOnce() {
+        // given
+        long version = catalogVersionNumber();
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Product product = new Product();
+            product.setTitle("Saved " + i);
+            product.setPrice(10.0);
+            products.add(product);
+        }
+
+        // when
+        asAnotherNode(() -> productDao.saveProducts(products));
+
+        // then
+        await().atMost(NOTIFICATION_TIMEOUT)
+                .during(Duration.ofMillis(500))
+                .until(() -> catalogVersionNumber() == version + 1);
+    }
+
+    @Test
+    @DisplayName("Given cached products, when all products changed notification, then cache cleared")
+    void givenCachedProducts_whenAllProductsChangedNotification_thenCacheCleared() {
+        // given
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        productDao.getProductById(1);
+        productDao.getProductById(2);
+
+        // when
+        jdbcTemplate.execute("SELECT pg_notify('product_changes', '*')");
+
+        // then
+        await().atMost(NOTIFICATION_TIMEOUT)
+                .until(() -> cache.get(1) == null && cache.get(2) == null);
+    }
+
+    @Test
+    @DisplayName("Given catalog version, when product updated by this node, then notification skipped")
+    void givenCatalogVersion_whenProductUpdatedByThisNode_thenNotificationSkipped() {
+        // given
+        long version = catalogVersionNumber();
+        asAnotherNode(() -> jdbcTemplate.update("UPDATE products SET price = 1 WHERE product_id = ?", 2));
+        await().atMost(NOTIFICATION_TIMEOUT).until(() -> catalogVersionNumber() == version + 1);
+
+        // when
+        jdbcTemplate.update("UPDATE products SET price = 2 WHERE product_id = ?", 2);
+        asAnotherNode(() -> jdbcTemplate.update("UPDATE products SET price = 3 WHERE product_id = ?", 2));
+
+        // then
+        await().atMost(NOTIFICATION_TIMEOUT)
+                .during(Duration.ofMillis(500))
+                .until(() -> catalogVersionNumber() == version + 2);
+    }
+
+    private void asAnotherNode(Runnable change) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute(SET_ANOTHER_NODE_ID);
+            change.run();
+        });
+    }
+
+    private long catalogVersionNumber() {
+        String catalogVersion = catalogVersionService.getCatalogVersion();
+        return Long.parseLong(catalogVersion.substring(catalogVersion.lastIndexOf('-') + 1));
+    }
+
+}
@@ -0,0 +1,155 @@
+package ru.hehmdalolkek.shop.dao.loader;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BatchingLoaderTest {
+
+    private final List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+
+    private final CountDownLatch batchRelease = new CountDownLatch(1);
+
+    private BatchingLoader<Integer, String> loader;
+
+    @AfterEach
+    void closeLoader() {
+        batchRelease.countDown();
+        loader.close();
+    }
+
+    @Test
+    @DisplayName("Given concurrent loads of one key, when load, then one batch with the key")
+    public void givenConcurrentLoadsOfOneKey_whenLoad_thenOneBatchWithTheKey() throws Exception {
+        // given
+        loader = new BatchingLoader<>("test", blockingBatch(), Duration.ofMillis(50), 100, 1);
+
+        // when
+        List<CompletableFuture<String>> results = loadAsync(1, 1, 1, 1, 1);
+        batchRelease.countDown();
+
+        // then
+        for (CompletableFuture<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("value-1");
+        }
+        assertThat(batches).containsExactly(List.of(1));
+    }
+
+    @Test
+    @DisplayName("Given loads of different keys within window, when load, then keys share one batch")
+    public void givenLoadsOfDifferentKeysWithinWindow_whenLoad_thenKeysShareOneBatch() throws Exception {
+        // given
+        loader = new BatchingLoader<>("test", blockingBatch(), Duration.ofMillis(500), 3, 1);
+
+        // when
+        List<CompletableFuture<String>> results = loadAsync(1, 2, 3);
+        batchRelease.countDown();
+
+        // then
+        assertThat(results.get(0).get(5, TimeUnit.SECONDS)).isEqualTo("value-1");
+        assertThat(results.get(1).get(5, TimeUnit.SECONDS)).isEqualTo("value-2");
+        assertThat(results.get(2).get(5, TimeUnit.SECONDS)).isEqualTo("value-3");
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).containsExactlyInAnyOrder(1, 2, 3);
+    }
+
+    @Test
+    @DisplayName("Given more keys than max batch size, when load, then keys split into batches")
+    public void givenMoreKeysThanMaxBatchSize_whenLoad_thenKeysSplitIntoBatches() throws Exception {
+        // given
+        loader = new BatchingLoader<>("test", blockingBatch(), Duration.ofMillis(500), 2, 2);
+
+        // when
+        List<CompletableFuture<String>> results = loadAsync(1, 2, 3, 4);
+        batchRelease.countDown();
+
+        // then
+        for (CompletableFuture<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).startsWith("value-");
+        }
+        assertThat(batches).hasSize(2).allSatisfy(batch -> assertThat(batch).hasSize(2));
+    }
+
+    @Test
+    @DisplayName("Given missing key, when load, then get null")
+    public void givenMissingKey_whenLoad_thenGetNull() {
+        // given
+        loader = new BatchingLoader<>("test", keys -> Map.of(), Duration.ZERO, 100, 1);
+
+        // when
+        String value = loader.load(1);
+
+        // then
+        assertThat(value).isNull();
+    }
+
+    @Test
+    @DisplayName("Given failing batch, when load, then exception thrown and key loaded again next time")
+    public void givenFailingBatch_whenLoad_thenExceptionThrownAndKeyLoadedAgainNextTime() {
+        // given
+        List<Integer> calls = new ArrayList<>();
+        loader = new BatchingLoader<>("test", keys -> {
+            calls.addAll(keys);
+            if (calls.size() == 1) {
+                throw new IllegalStateException("database is down");
+            }
+            return Map.of(1, "value-1");
+        }, Duration.ZERO, 100, 1);
+
+        // when
+        // then
+        assertThatThrownBy(() -> loader.load(1))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("database is down");
+        assertThat(loader.load(1)).isEqualTo("value-1");
+        assertThat(calls).containsExactly(1, 1);
+    }
+
+    private Function<List<Integer>, Map<Integer, String>> blockingBatch() {
+        return keys -> {
+            batches.add(List.copyOf(keys));
+            try {
+                batchRelease.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            Map<Integer, String> values = new HashMap<>();
+            for (Integer key : keys) {
+                values.put(key, "value-" + key);
+            }
+            return values;
+        };
+    }
+
+    private List<CompletableFuture<String>> loadAsync(Integer... keys) throws InterruptedException {
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        List<Thread> callers = new ArrayList<>();
+        for (Integer key : keys) {
+            CompletableFuture<String> result = new CompletableFuture<>();
+            Thread caller = new Thread(() -> result.complete(loader.load(key)));
+            caller.start();
+            results.add(result);
+            callers.add(caller);
+        }
+        // batches are held until every caller is parked on the loader
+        while (!callers.stream().allMatch(caller -> caller.getState() == Thread.State.WAITING)) {
+            Thread.sleep(10);
+        }
+        return results;
+    }
+
+}
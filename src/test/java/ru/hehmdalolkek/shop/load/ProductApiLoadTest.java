@@ -0,0 +1,292 @@
+package ru.hehmdalolkek.shop.load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.hehmdalolkek.shop.web.dto.ProductDto;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@Tag("load")
+@Testcontainers
+@TestConfiguration(proxyBeanMethods = false)
+// every request comes from one user, so the per-client rate limit would cap the load
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "shop.rate-limit.enabled=false")
+@Sql(value = "/db/data/delete-data.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class ProductApiLoadTest {
+
+    @Container
+    @ServiceConnection
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+    private static final String SEED_PRODUCTS = "INSERT INTO products (product_id, title, price, active) " +
+            "SELECT g, 'Product ' || g, (g % 1000) + 0.99, true FROM generate_series(1, ?) AS g";
+    private static final String RESET_PRODUCTS_SEQUENCE =
+            "SELECT setval('products_product_id_seq', (SELECT MAX(product_id) FROM products))";
+
+    private static final long HIGHEST_TRACKABLE_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int SIGNIFICANT_LATENCY_DIGITS = 3;
+    private static final double MAX_ERROR_RATE = 0.01;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${security.username}")
+    private String username;
+
+    @Value("${security.password}")
+    private String password;
+
+    @Value("${load.products:10000}")
+    private int products;
+
+    @Value("${load.rps:200}")
+    private int rps;
+
+    @Value("${load.warmup:10s}")
+    private Duration warmup;
+
+    @Value("${load.duration:30s}")
+    private Duration duration;
+
+    @Value("${load.write-ratio:0.1}")
+    private double writeRatio;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    @DisplayName("Given seeded products, when read write mix at target rps, then latency percentiles reported")
+    void givenSeededProducts_whenReadWriteMixAtTargetRps_thenLatencyPercentilesReported() {
+        // given
+        this.jdbcTemplate.update(SEED_PRODUCTS, this.products);
+        this.jdbcTemplate.queryForObject(RESET_PRODUCTS_SEQUENCE, Long.class);
+        drive(this.warmup, newStats());
+
+        // when
+        Map<Endpoint, EndpointStats> stats = newStats();
+        drive(this.duration, stats);
+
+        // then
+        report(stats);
+        long requests = stats.values().stream().mapToLong(EndpointStats::count).sum();
+        long errors = stats.values().stream().mapToLong(endpointStats -> endpointStats.errors().get()).sum();
+        assertThat(requests).isPositive();
+        assertThat(errors).isLessThanOrEqualTo((long) (requests * MAX_ERROR_RATE));
+    }
+
+    private void drive(Duration duration, Map<Endpoint, EndpointStats> stats) {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / this.rps;
+        long startNanos = System.nanoTime();
+        long endNanos = startNanos + duration.toNanos();
+        List<CompletableFuture<Void>> responses = new ArrayList<>();
+        for (long intendedNanos = startNanos; intendedNanos < endNanos; intendedNanos += intervalNanos) {
+            LockSupport.parkNanos(intendedNanos - System.nanoTime());
+            Endpoint endpoint = nextEndpoint();
+            EndpointStats endpointStats = stats.get(endpoint);
+            // latency is measured from the scheduled send time, so a stalled server is not hidden
+            // by requests that were sent late (coordinated omission)
+            long scheduledNanos = intendedNanos;
+            responses.add(this.httpClient.sendAsync(request(endpoint), HttpResponse.BodyHandlers.discarding())
+                    .handle((response, e) -> {
+                        endpointStats.record(System.nanoTime() - scheduledNanos,
+                                e == null && response.statusCode() < 400);
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private Endpoint nextEndpoint() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextDouble() < this.writeRatio) {
+            return random.nextBoolean() ? Endpoint.UPDATE_PRODUCT : Endpoint.CREATE_PRODUCT;
+        }
+        return switch (random.nextInt(4)) {
+            case 0 -> Endpoint.GET_PRODUCT_BY_ID;
+            case 1 -> Endpoint.GET_PRODUCTS_PAGE;
+            case 2 -> Endpoint.SEARCH_PRODUCTS;
+            default -> Endpoint.SUGGEST_PRODUCTS;
+        };
+    }
+
+    private static String idCursor(int productId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("ID|" + productId + "|").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private HttpRequest request(Endpoint endpoint) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int productId = random.nextInt(1, this.products + 1);
+        HttpRequest.Builder request = switch (endpoint) {
+            case GET_PRODUCT_BY_ID -> HttpRequest.newBuilder(uri("/api/v1/products/" + productId));
+            case GET_PRODUCTS_PAGE -> HttpRequest.newBuilder(uri("/api/v1/products?limit=50&after="
+                    + idCursor(productId)));
+            case SEARCH_PRODUCTS -> HttpRequest.newBuilder(uri("/api/v1/products/search?q=" + productId));
+            case SUGGEST_PRODUCTS -> HttpRequest.newBuilder(uri("/api/v1/products/suggest?prefix=product%20"
+                    + random.nextInt(1, 100)));
+            case UPDATE_PRODUCT -> HttpRequest.newBuilder(uri("/api/v1/products/" + productId))
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .PUT(json(ProductDto.builder()
+                            .title("Product " + productId)
+                            .price(random.nextInt(1, 1000) + 0.99)
+                            .build()));
+            case CREATE_PRODUCT -> HttpRequest.newBuilder(uri("/api/v1/products"))
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .POST(json(ProductDto.builder()
+                            .title("Load " + UUID.randomUUID())
+                            .price(random.nextInt(1, 1000) + 0.99)
+                            .build()));
+        };
+        return request
+                .header(HttpHeaders.AUTHORIZATION, basicAuthorization())
+                .timeout(Duration.ofSeconds(30))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + this.port + path);
+    }
+
+    private HttpRequest.BodyPublisher json(ProductDto product) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(this.objectMapper.writeValueAsBytes(product));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String basicAuthorization() {
+        String credentials = this.username + ":" + this.password;
+        return "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void report(Map<Endpoint, EndpointStats> stats) {
+        double seconds = this.duration.toMillis() / 1000.0;
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_LATENCY_MICROS, SIGNIFICANT_LATENCY_DIGITS);
+        long totalErrors = 0;
+        StringBuilder report = new StringBuilder(String.format(
+                "%nLoad test: %d products, target %d rps, %s, write ratio %.2f, %s threads%n",
+                this.products, this.rps, this.duration, this.writeRatio,
+                this.virtualThreads ? "virtual" : "platform"));
+        report.append(String.format("%-36s %8s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "rps", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            Histogram histogram = entry.getValue().latencies();
+            total.add(histogram);
+            totalErrors += entry.getValue().errors().get();
+            report.append(row(entry.getKey().description(), histogram, entry.getValue().errors().get(), seconds));
+        }
+        report.append(row("total", total, totalErrors, seconds));
+        log.info("{}", report);
+    }
+
+    private static String row(String name, Histogram histogram, long errors, double seconds) {
+        return String.format("%-36s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                name,
+                histogram.getTotalCount(),
+                errors,
+                histogram.getTotalCount() / seconds,
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(95) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getMaxValue() / 1000.0);
+    }
+
+    private static Map<Endpoint, EndpointStats> newStats() {
+        Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats(
+                    new ConcurrentHistogram(HIGHEST_TRACKABLE_LATENCY_MICROS, SIGNIFICANT_LATENCY_DIGITS),
+                    new AtomicLong()));
+        }
+        return stats;
+    }
+
+    private enum Endpoint {
+
+        GET_PRODUCT_BY_ID("GET /api/v1/products/{id}"),
+        GET_PRODUCTS_PAGE("GET /api/v1/products?after&limit"),
+        SEARCH_PRODUCTS("GET /api/v1/products/search"),
+        SUGGEST_PRODUCTS("GET /api/v1/products/suggest"),
+        UPDATE_PRODUCT("PUT /api/v1/products/{id}"),
+        CREATE_PRODUCT("POST /api/v1/products");
+
+        private final String description;
+
+        Endpoint(String description) {
+            this.description = description;
+        }
+
+        String description() {
+            return this.description;
+        }
+
+    }
+
+    private record EndpointStats(Histogram latencies, AtomicLong errors) {
+
+        void record(long latencyNanos, boolean successful) {
+            this.latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos),
+                    HIGHEST_TRACKABLE_LATENCY_MICROS));
+            if (!successful) {
+                this.errors.incrementAndGet();
+            }
+        }
+
+        long count() {
+            return this.latencies.getTotalCount();
+        }
+
+    }
+
+}
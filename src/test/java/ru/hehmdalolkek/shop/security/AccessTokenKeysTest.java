@@ -0,0 +1,39 @@
+package ru.hehmdalolkek.shop.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.hehmdalolkek.shop.config.AccessTokenProperties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AccessTokenKeysTest {
+
+    @Test
+    @DisplayName("Given no keys and ephemeral key not allowed, when create, then throw IllegalStateException")
+    public void givenNoKeysAndEphemeralKeyNotAllowed_whenCreate_thenThrowIllegalStateException() {
+        // given
+        AccessTokenProperties properties = new AccessTokenProperties();
+
+        // when
+        // then
+        assertThatThrownBy(() -> new AccessTokenKeys(properties, false))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("shop.security.access-token.keys");
+    }
+
+    @Test
+    @DisplayName("Given no keys and ephemeral key allowed, when create, then random key active")
+    public void givenNoKeysAndEphemeralKeyAllowed_whenCreate_thenRandomKeyActive() {
+        // given
+        AccessTokenProperties properties = new AccessTokenProperties();
+
+        // when
+        AccessTokenKeys keys = new AccessTokenKeys(properties, true);
+
+        // then
+        assertThat(keys.getSigningKeys().getKeys()).hasSize(1);
+        assertThat(keys.getVerificationKeys().getKeyByKeyId(keys.getActiveKeyId())).isNotNull();
+    }
+
+}
@@ -0,0 +1,123 @@
+package ru.hehmdalolkek.shop.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import ru.hehmdalolkek.shop.config.CredentialCacheProperties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingAuthenticationProviderTest {
+
+    private static final String USERNAME = "user";
+
+    private static final String PASSWORD = "pass";
+
+    @Mock
+    private AuthenticationProvider delegate;
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    private CachingAuthenticationProvider cachingAuthenticationProvider;
+
+    @BeforeEach
+    public void setUp() {
+        this.cachingAuthenticationProvider = new CachingAuthenticationProvider(
+                delegate, userDetailsService, new VerifiedCredentialCache(new CredentialCacheProperties()));
+    }
+
+    @Test
+    @DisplayName("Given verified credentials, when authenticate again, then skip password check")
+    public void givenVerifiedCredentials_whenAuthenticateAgain_thenSkipPasswordCheck() {
+        // given
+        UserDetails user = user("{bcrypt}hash", true);
+        when(delegate.authenticate(any())).thenReturn(authenticated(user));
+        when(userDetailsService.loadUserByUsername(USERNAME)).thenReturn(user("{bcrypt}hash", true));
+        cachingAuthenticationProvider.authenticate(credentials(PASSWORD));
+
+        // when
+        Authentication authentication = cachingAuthenticationProvider.authenticate(credentials(PASSWORD));
+
+        // then
+        assertThat(authentication.isAuthenticated()).isTrue();
+        assertThat(authentication.getName()).isEqualTo(USERNAME);
+        assertThat(authentication.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_ADMIN");
+        verify(delegate, times(1)).authenticate(any());
+    }
+
+    @Test
+    @DisplayName("Given wrong password, when authenticate repeatedly, then check password every time")
+    public void givenWrongPassword_whenAuthenticateRepeatedly_thenCheckPasswordEveryTime() {
+        // given
+        when(delegate.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+
+        // when
+        // then
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> cachingAuthenticationProvider.authenticate(credentials("wrong")))
+                    .isInstanceOf(BadCredentialsException.class);
+        }
+        verify(delegate, times(3)).authenticate(any());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    @DisplayName("Given password changed after verification, when authenticate with old password, then check password")
+    public void givenPasswordChangedAfterVerification_whenAuthenticateWithOldPassword_thenCheckPassword() {
+        // given
+        when(delegate.authenticate(any()))
+                .thenReturn(authenticated(user("{bcrypt}old", true)))
+                .thenThrow(new BadCredentialsException("Bad credentials"));
+        when(userDetailsService.loadUserByUsername(USERNAME)).thenReturn(user("{bcrypt}new", true));
+        cachingAuthenticationProvider.authenticate(credentials(PASSWORD));
+
+        // when
+        // then
+        assertThatThrownBy(() -> cachingAuthenticationProvider.authenticate(credentials(PASSWORD)))
+                .isInstanceOf(BadCredentialsException.class);
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    @DisplayName("Given user disabled after verification, when authenticate, then throw DisabledException")
+    public void givenUserDisabledAfterVerification_whenAuthenticate_thenThrowDisabledException() {
+        // given
+        when(delegate.authenticate(any())).thenReturn(authenticated(user("{bcrypt}hash", true)));
+        when(userDetailsService.loadUserByUsername(USERNAME)).thenReturn(user("{bcrypt}hash", false));
+        cachingAuthenticationProvider.authenticate(credentials(PASSWORD));
+
+        // when
+        // then
+        assertThatThrownBy(() -> cachingAuthenticationProvider.authenticate(credentials(PASSWORD)))
+                .isInstanceOf(DisabledException.class);
+        verify(delegate, times(1)).authenticate(any());
+    }
+
+    private static UserDetails user(String encodedPassword, boolean enabled) {
+        return User.withUsername(USERNAME).password(encodedPassword).roles("ADMIN").disabled(!enabled).build();
+    }
+
+    private static Authentication credentials(String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(USERNAME, password);
+    }
+
+    private static Authentication authenticated(UserDetails user) {
+        return UsernamePasswordAuthenticationToken.authenticated(user, user.getPassword(), user.getAuthorities());
+    }
+
+}
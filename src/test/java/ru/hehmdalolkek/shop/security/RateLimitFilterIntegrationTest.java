@@ -0,0 +1,96 @@
+package ru.hehmdalolkek.shop.security;
+
+import org.hamcrest.CoreMatchers;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+        "shop.rate-limit.enabled=true",
+        "shop.rate-limit.rules[0].method=GET",
+        "shop.rate-limit.rules[0].path=/api/v1/products/**",
+        "shop.rate-limit.rules[0].limit=1",
+        "shop.rate-limit.rules[0].period=1m",
+        "shop.rate-limit.rules[0].burst=2"
+})
+@Testcontainers
+class RateLimitFilterIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+    @Autowired
+    MockMvc mockMvc;
+
+    private static String SECURITY_USERNAME;
+
+    private static String SECURITY_PASSWORD;
+
+    @BeforeAll
+    public static void beforeAll(@Value("${security.username}") String username,
+                                 @Value("${security.password}") String password) {
+        SECURITY_USERNAME = username;
+        SECURITY_PASSWORD = password;
+    }
+
+    @Test
+    @DisplayName("Test get products over rate limit functionality")
+    public void givenBurstUsedUp_whenGetAllActiveProducts_thenTooManyRequestsResponse() throws Exception {
+        // given
+        RequestBuilder request = get("/api/v1/products/999")
+                .with(httpBasic(SECURITY_USERNAME, SECURITY_PASSWORD));
+        this.mockMvc.perform(request).andExpect(MockMvcResultMatchers.status().isNotFound());
+        this.mockMvc.perform(request).andExpect(MockMvcResultMatchers.status().isNotFound());
+
+        // when
+        ResultActions result = this.mockMvc.perform(request);
+
+        // then
+        result
+                .andDo(MockMvcResultHandlers.print())
+                .andExpectAll(
+                        MockMvcResultMatchers.status().isTooManyRequests(),
+                        MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON),
+                        MockMvcResultMatchers.header().string(HttpHeaders.RETRY_AFTER, "60"),
+                        MockMvcResultMatchers.jsonPath("$.status", CoreMatchers.is(429)),
+                        MockMvcResultMatchers.jsonPath("$.title", CoreMatchers.is("Too Many Requests")),
+                        MockMvcResultMatchers.jsonPath("$.instance", CoreMatchers.is("/api/v1/products/999"))
+                );
+    }
+
+    @Test
+    @DisplayName("Test unauthenticated request over rate limit functionality")
+    public void givenUnauthenticatedRequests_whenGetAllActiveProducts_thenUnauthorizedResponse() throws Exception {
+        // given
+        RequestBuilder request = get("/api/v1/products/999");
+
+        // when
+        // then
+        for (int i = 0; i < 5; i++) {
+            this.mockMvc.perform(request).andExpect(MockMvcResultMatchers.status().isUnauthorized());
+        }
+    }
+
+}
@@ -0,0 +1,153 @@
+package ru.hehmdalolkek.shop.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import ru.hehmdalolkek.shop.config.RateLimitProperties;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimiterTest {
+
+    private static final String PRODUCTS_PATH = "/api/v1/products";
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    @Test
+    @DisplayName("Given burst used up, when tryAcquire, then rejected until next emission")
+    public void givenBurstUsedUp_whenTryAcquire_thenRejectedUntilNextEmission() {
+        // given
+        RateLimiter rateLimiter = rateLimiter(rule(HttpMethod.GET, "/api/v1/products/**", 10, 3));
+        for (int i = 0; i < 3; i++) {
+            assertThat(rateLimiter.tryAcquire("user", HttpMethod.GET, PRODUCTS_PATH)).isZero();
+        }
+
+        // when
+        long waitNanos = rateLimiter.tryAcquire("user", HttpMethod.GET, PRODUCTS_PATH);
+
+        // then
+        assertThat(waitNanos).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+        nanoTime.addAndGet(waitNanos);
+        assertThat(rateLimiter.tryAcquire("user", HttpMethod.GET, PRODUCTS_PATH)).isZero();
+        assertThat(rateLimiter.tryAcquire("user", HttpMethod.GET, PRODUCTS_PATH)).isPositive();
+    }
+
+    @Test
+    @DisplayName("Given idle client, when tryAcquire, then full burst is available again")
+    public void givenIdleClient_whenTryAcquire_thenFullBurstIsAvailableAgain() {
+        // given
+        RateLimiter rateLimiter = rateLimiter(rule(null, "/api/v1/products/**", 10, 2));
+        rateLimiter.tryAcquire("user", HttpMethod.GET, PRODUCTS_PATH);
+        rateLimiter.tryAcquire("user", HttpMethod.GET, PRODUCTS_PATH);
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        // when
+        // then
+        assertThat(rateLimiter.tryAcquire("user", HttpMethod.GET, PRODUCTS_PATH)).isZero();
+        assertThat(rateLimiter.tryAcquire("user", HttpMethod.GET, PRODUCTS_PATH)).isZero();
+        assertThat(rateLimiter.tryAcquire("user", HttpMethod.GET, PRODUCTS_PATH)).isPositive();
+    }
+
+    @Test
+    @DisplayName("Given one client limited, when another client tryAcquire, then admitted")
+    public void givenOneClientLimited_whenAnotherClientTryAcquire_thenAdmitted() {
+        // given
+        RateLimiter rateLimiter = rateLimiter(rule(null, "/api/v1/products/**", 1, 1));
+        rateLimiter.tryAcquire("first", HttpMethod.GET, PRODUCTS_PATH);
+        assertThat(rateLimiter.tryAcquire("first", HttpMethod.GET, PRODUCTS_PATH)).isPositive();
+
+        // when
+        long waitNanos = rateLimiter.tryAcquire("second", HttpMethod.GET, PRODUCTS_PATH);
+
+        // then
+        assertThat(waitNanos).isZero();
+    }
+
+    @Test
+    @DisplayName("Given rules per method, when tryAcquire, then first matching rule applies")
+    public void givenRulesPerMethod_whenTryAcquire_thenFirstMatchingRuleApplies() {
+        // given
+        RateLimiter rateLimiter = rateLimiter(
+                rule(HttpMethod.GET, "/api/v1/products/**", 100, 100),
+                rule(null, "/api/v1/products/**", 1, 1));
+
+        // when
+        // then
+        assertThat(rateLimiter.tryAcquire("user", HttpMethod.PUT, PRODUCTS_PATH + "/1")).isZero();
+        assertThat(rateLimiter.tryAcquire("user", HttpMethod.PUT, PRODUCTS_PATH + "/1")).isPositive();
+        assertThat(rateLimiter.tryAcquire("user", HttpMethod.GET, PRODUCTS_PATH + "/1")).isZero();
+        assertThat(rateLimiter.tryAcquire("user", HttpMethod.GET, PRODUCTS_PATH + "/1")).isZero();
+    }
+
+    @Test
+    @DisplayName("Given no matching rule, when tryAcquire, then admitted")
+    public void givenNoMatchingRule_whenTryAcquire_thenAdmitted() {
+        // given
+        RateLimiter rateLimiter = rateLimiter(rule(null, "/api/v1/products/**", 1, 1));
+
+        // when
+        // then
+        for (int i = 0; i < 10; i++) {
+            assertThat(rateLimiter.tryAcquire("user", HttpMethod.GET, "/actuator/health")).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("Given wait, when retryAfterSeconds, then rounded up to whole seconds")
+    public void givenWait_whenRetryAfterSeconds_thenRoundedUpToWholeSeconds() {
+        // given
+        // when
+        // then
+        assertThat(RateLimiter.retryAfterSeconds(1)).isEqualTo(1);
+        assertThat(RateLimiter.retryAfterSeconds(TimeUnit.SECONDS.toNanos(1))).isEqualTo(1);
+        assertThat(RateLimiter.retryAfterSeconds(TimeUnit.MILLISECONDS.toNanos(1500))).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Given rule without positive limit, when create, then throws")
+    public void givenRuleWithoutPositiveLimit_whenCreate_thenThrows() {
+        // given
+        RateLimitProperties.Rule rule = rule(HttpMethod.GET, "/api/v1/products/**", 0, 1);
+
+        // when
+        // then
+        assertThatThrownBy(() -> rateLimiter(rule))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Given limit above one per nanosecond, when create, then throws")
+    public void givenLimitAboveOnePerNanosecond_whenCreate_thenThrows() {
+        // given
+        RateLimitProperties.Rule rule = rule(HttpMethod.GET, "/api/v1/products/**", 10, 10);
+        rule.setPeriod(Duration.ofNanos(5));
+
+        // when
+        // then
+        assertThatThrownBy(() -> rateLimiter(rule))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private RateLimiter rateLimiter(RateLimitProperties.Rule... rules) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRules(List.of(rules));
+        return new RateLimiter(properties, nanoTime::get);
+    }
+
+    private static RateLimitProperties.Rule rule(HttpMethod method, String path, long limit, long burst) {
+        RateLimitProperties.Rule rule = new RateLimitProperties.Rule();
+        rule.setMethod(method);
+        rule.setPath(path);
+        rule.setLimit(limit);
+        rule.setPeriod(Duration.ofSeconds(1));
+        rule.setBurst(burst);
+        return rule;
+    }
+
+}
@@ -0,0 +1,40 @@
+package ru.hehmdalolkek.shop.service.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.hehmdalolkek.shop.model.event.ProductChangedEvent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogVersionServiceImplTest {
+
+    private final CatalogVersionServiceImpl catalogVersionService = new CatalogVersionServiceImpl();
+
+    @Test
+    @DisplayName("Given no changes, when getCatalogVersion, then get same version")
+    public void givenNoChanges_whenGetCatalogVersion_thenGetSameVersion() {
+        // given
+        String version = catalogVersionService.getCatalogVersion();
+
+        // when
+        String nextVersion = catalogVersionService.getCatalogVersion();
+
+        // then
+        assertThat(nextVersion).isEqualTo(version);
+    }
+
+    @Test
+    @DisplayName("Given product changed event, when getCatalogVersion, then get new version")
+    public void givenProductChangedEvent_whenGetCatalogVersion_thenGetNewVersion() {
+        // given
+        String version = catalogVersionService.getCatalogVersion();
+        catalogVersionService.onProductChanged(new ProductChangedEvent(1));
+
+        // when
+        String nextVersion = catalogVersionService.getCatalogVersion();
+
+        // then
+        assertThat(nextVersion).isNotEqualTo(version);
+    }
+
+}
@@ -6,14 +6,27 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import ru.hehmdalolkek.shop.dao.interfaces.ProductDao;
 import ru.hehmdalolkek.shop.model.Product;
+import ru.hehmdalolkek.shop.model.ProductSaveResult;
+import ru.hehmdalolkek.shop.model.ProductCursor;
+import ru.hehmdalolkek.shop.model.ProductFilter;
+import ru.hehmdalolkek.shop.model.ProductSaveStatus;
+import ru.hehmdalolkek.shop.model.ProductSort;
+import ru.hehmdalolkek.shop.model.event.ProductChangedEvent;
+import ru.hehmdalolkek.shop.model.exception.ProductCursorException;
 import ru.hehmdalolkek.shop.model.exception.ProductIsAlreadyExistsException;
 import ru.hehmdalolkek.shop.model.exception.ProductNotFoundException;
 import ru.hehmdalolkek.shop.web.dto.ProductDto;
+import ru.hehmdalolkek.shop.web.dto.ProductLookupDto;
+import ru.hehmdalolkek.shop.web.dto.ProductPageDto;
+import ru.hehmdalolkek.shop.web.dto.ProductSaveResultDto;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -25,6 +38,9 @@ class ProductServiceImplTest {
     @Mock
     private ProductDao productDao;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -32,20 +48,130 @@ class ProductServiceImplTest {
     @DisplayName("Given two active products, when getAllActiveProducts, then get all active products")
     public void givenTwoActiveProducts_whenGetAllActiveProducts_thenGetAllActiveProducts() {
         // given
-        Product p1 = new Product();
-        Product p2 = new Product();
-        List<Product> activeProducts = List.of(p1, p2);
+        ProductDto p1 = ProductDto.builder().productId(1).active(true).build();
+        ProductDto p2 = ProductDto.builder().productId(2).active(true).build();
+        List<ProductDto> activeProducts = List.of(p1, p2);
         when(productDao.getAllActiveProducts()).thenReturn(activeProducts);
 
         // when
         List<ProductDto> allActiveProducts = productService.getAllActiveProducts();
 
         // then
-        assertThat(allActiveProducts).isNotEmpty();
+        assertThat(allActiveProducts).containsExactly(p1, p2);
         verify(productDao).getAllActiveProducts();
         verifyNoMoreInteractions(productDao);
     }
 
+    @Test
+    @DisplayName("Given active products, when streamAllActiveProducts, then consumer gets products")
+    @SuppressWarnings("unchecked")
+    public void givenActiveProducts_whenStreamAllActiveProducts_thenConsumerGetsProducts() {
+        // given
+        ProductDto product = ProductDto.builder().productId(1).title("title").build();
+        doAnswer(invocation -> {
+            invocation.getArgument(0, Consumer.class).accept(product);
+            return null;
+        }).when(productDao).streamAllActiveProducts(any());
+        List<ProductDto> streamedProducts = new ArrayList<>();
+
+        // when
+        productService.streamAllActiveProducts(streamedProducts::add);
+
+        // then
+        assertThat(streamedProducts).extracting(ProductDto::getProductId).containsExactly(1);
+        verify(productDao).streamAllActiveProducts(any());
+        verifyNoMoreInteractions(productDao);
+    }
+
+    @Test
+    @DisplayName("Given more products than limit, when getActiveProductsPage, then get page with next cursor")
+    public void givenMoreProductsThanLimit_whenGetActiveProductsPage_thenGetPageWithNextCursor() {
+        // given
+        ProductDto p1 = ProductDto.builder().productId(1).build();
+        ProductDto p2 = ProductDto.builder().productId(2).build();
+        ProductDto p3 = ProductDto.builder().productId(3).build();
+        ProductFilter filter = new ProductFilter();
+        when(productDao.getActiveProducts(any(ProductFilter.class), any(ProductSort.class), any(), anyInt()))
+                .thenReturn(List.of(p1, p2, p3));
+
+        // when
+        ProductPageDto page = productService.getActiveProductsPage(filter, ProductSort.ID, null, 2);
+
+        // then
+        assertThat(page.getProducts()).extracting(ProductDto::getProductId).containsExactly(1, 2);
+        assertThat(page.getNextCursor()).isEqualTo("SUR8Mnw");
+        verify(productDao).getActiveProducts(filter, ProductSort.ID, null, 3);
+        verifyNoMoreInteractions(productDao);
+    }
+
+    @Test
+    @DisplayName("Given last page, when getActiveProductsPage, then get page without next cursor")
+    public void givenLastPage_whenGetActiveProductsPage_thenGetPageWithoutNextCursor() {
+        // given
+        ProductDto p1 = ProductDto.builder().productId(5).build();
+        ProductFilter filter = new ProductFilter(1.0, 100.0);
+        when(productDao.getActiveProducts(any(ProductFilter.class), any(ProductSort.class), any(), anyInt()))
+                .thenReturn(List.of(p1));
+
+        // when
+        ProductPageDto page = productService.getActiveProductsPage(
+                filter, ProductSort.PRICE_DESC, "UFJJQ0VfREVTQ3w0fDQ1LjIy", 2);
+
+        // then
+        assertThat(page.getProducts()).extracting(ProductDto::getProductId).containsExactly(5);
+        assertThat(page.getNextCursor()).isNull();
+        verify(productDao).getActiveProducts(filter, ProductSort.PRICE_DESC, new ProductCursor(4, 45.22, null), 3);
+        verifyNoMoreInteractions(productDao);
+    }
+
+    @Test
+    @DisplayName("Given next cursor of title page, when getActiveProductsPage, then get page after cursor title and id")
+    public void givenNextCursorOfTitlePage_whenGetActiveProductsPage_thenGetPageAfterCursorTitleAndId() {
+        // given
+        ProductDto p1 = ProductDto.builder().productId(7).title("Apple | Green").build();
+        ProductDto p2 = ProductDto.builder().productId(3).title("Banana").build();
+        ProductFilter filter = new ProductFilter();
+        when(productDao.getActiveProducts(any(ProductFilter.class), any(ProductSort.class), any(), anyInt()))
+                .thenReturn(List.of(p1, p2))
+                .thenReturn(List.of(p2));
+        String nextCursor = productService.getActiveProductsPage(filter, ProductSort.TITLE, null, 1).getNextCursor();
+
+        // when
+        productService.getActiveProductsPage(filter, ProductSort.TITLE, nextCursor, 1);
+
+        // then
+        verify(productDao).getActiveProducts(filter, ProductSort.TITLE, new ProductCursor(7, null, "Apple | Green"), 2);
+    }
+
+    @Test
+    @DisplayName("Given cursor of another sort, when getActiveProductsPage, then throw ProductCursorException")
+    public void givenCursorOfAnotherSort_whenGetActiveProductsPage_thenThrowProductCursorException() {
+        // given
+        ProductFilter filter = new ProductFilter();
+
+        // when
+        // then
+        assertThatThrownBy(() -> productService.getActiveProductsPage(filter, ProductSort.TITLE, "SUR8Mnw", 2))
+                .isInstanceOf(ProductCursorException.class);
+        verifyNoInteractions(productDao);
+    }
+
+    @Test
+    @DisplayName("Given query with surrounding spaces, when searchActiveProducts, then search by stripped query")
+    public void givenQueryWithSurroundingSpaces_whenSearchActiveProducts_thenSearchByStrippedQuery() {
+        // given
+        ProductDto p1 = ProductDto.builder().productId(2).title("Banana").build();
+        when(productDao.searchActiveProducts(anyString(), anyInt())).thenReturn(List.of(p1));
+
+        // when
+        List<ProductDto> products = productService.searchActiveProducts("  banan ", 20);
+
+        // then
+        assertThat(products).containsExactly(p1);
+        verify(productDao).searchActiveProducts("banan", 20);
+        verifyNoMoreInteractions(productDao);
+    }
+
     @Test
     @DisplayName("Given existing product id, when getProductById, then get product")
     public void givenExistingProductId_whenGetProductById_thenGetProduct() {
@@ -79,6 +205,26 @@ class ProductServiceImplTest {
         verifyNoMoreInteractions(productDao);
     }
 
+    @Test
+    @DisplayName("Given duplicate and missing ids, when getProductsByIds, then get products in requested order")
+    public void givenDuplicateAndMissingIds_whenGetProductsByIds_thenGetProductsInRequestedOrder() {
+        // given
+        Product first = new Product();
+        first.setId(1);
+        Product third = new Product();
+        third.setId(3);
+        when(productDao.getProductsByIds(anyCollection())).thenReturn(List.of(first, third));
+
+        // when
+        ProductLookupDto lookup = productService.getProductsByIds(List.of(3, 2, 1, 3));
+
+        // then
+        assertThat(lookup.getProducts()).extracting(ProductDto::getProductId).containsExactly(3, 1);
+        assertThat(lookup.getMissingIds()).containsExactly(2);
+        verify(productDao).getProductsByIds(argThat(ids -> List.copyOf(ids).equals(List.of(3, 2, 1))));
+        verifyNoMoreInteractions(productDao);
+    }
+
     @Test
     @DisplayName("Given product with non existing id, when createProduct, then get saved product")
     public void givenProductWithNonExistingId_whenCreateProduct_thenGetSavedProduct() {
@@ -92,34 +238,30 @@ class ProductServiceImplTest {
                 .title("title")
                 .active(true)
                 .build();
-        when(productDao.getProductById(anyInt())).thenReturn(Optional.empty());
-        when(productDao.saveProduct(any(Product.class))).thenReturn(product);
+        when(productDao.insertProduct(any(Product.class))).thenReturn(product);
 
         // when
         ProductDto savedProduct = productService.createProduct(productDto);
 
         // then
         assertThat(savedProduct).isNotNull();
-        verify(productDao).getProductById(anyInt());
-        verify(productDao).productExistsByTitle(anyString());
-        verify(productDao).saveProduct(any(Product.class));
+        assertThat(savedProduct.getProductId()).isEqualTo(1);
+        verify(productDao).insertProduct(any(Product.class));
         verifyNoMoreInteractions(productDao);
+        verify(eventPublisher).publishEvent(new ProductChangedEvent(1));
     }
 
     @Test
     @DisplayName("Given product with existing id, when createProduct, then throw exception")
     public void givenProductWithExistingId_whenCreateProduct_thenThrowException() {
         // given
-        Product product = new Product();
-        product.setId(1);
-        product.setTitle("title");
-        product.setActive(true);
         ProductDto productDto = ProductDto.builder()
                 .productId(1)
                 .title("title")
                 .active(true)
                 .build();
-        when(productDao.getProductById(anyInt())).thenReturn(Optional.of(product));
+        when(productDao.insertProduct(any(Product.class)))
+                .thenThrow(new ProductIsAlreadyExistsException("Product with id=1 is already exists"));
 
         // when
         // then
@@ -128,8 +270,9 @@ class ProductServiceImplTest {
         })
                 .isInstanceOf(ProductIsAlreadyExistsException.class)
                 .hasMessage("Product with id=1 is already exists");
-        verify(productDao).getProductById(anyInt());
+        verify(productDao).insertProduct(any(Product.class));
         verifyNoMoreInteractions(productDao);
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -144,16 +287,15 @@ class ProductServiceImplTest {
                 .title("1234567")
                 .active(true)
                 .build();
-        when(productDao.productExistsByTitle(anyString())).thenReturn(false);
-        when(productDao.saveProduct(any(Product.class))).thenReturn(product);
+        when(productDao.insertProduct(any(Product.class))).thenReturn(product);
 
         // when
         ProductDto savedProduct = productService.createProduct(productDto);
 
         // then
         assertThat(savedProduct).isNotNull();
-        verify(productDao).productExistsByTitle(anyString());
-        verify(productDao).saveProduct(any(Product.class));
+        assertThat(savedProduct.getTitle()).isEqualTo("1234567");
+        verify(productDao).insertProduct(any(Product.class));
         verifyNoMoreInteractions(productDao);
     }
 
@@ -161,15 +303,12 @@ class ProductServiceImplTest {
     @DisplayName("Given product with existing title, when createProduct, then throw exception")
     public void givenProductWithExistingTitle_whenCreateProduct_thenThrowException() {
         // given
-        Product product = new Product();
-        product.setId(1);
-        product.setTitle("1234567");
-        product.setActive(true);
         ProductDto productDto = ProductDto.builder()
                 .title("1234567")
                 .active(true)
                 .build();
-        when(productDao.productExistsByTitle(anyString())).thenReturn(true);
+        when(productDao.insertProduct(any(Product.class)))
+                .thenThrow(new ProductIsAlreadyExistsException("Product with title=1234567 is already exists"));
 
         // when
         // then
@@ -178,7 +317,7 @@ class ProductServiceImplTest {
         })
                 .isInstanceOf(ProductIsAlreadyExistsException.class)
                 .hasMessage("Product with title=1234567 is already exists");
-        verify(productDao).productExistsByTitle(anyString());
+        verify(productDao).insertProduct(any(Product.class));
         verifyNoMoreInteractions(productDao);
     }
 
@@ -187,30 +326,25 @@ class ProductServiceImplTest {
     public void givenProductAndExistingId_whenUpdateProduct_thenGetUpdatedProduct() {
         // given
         int productId = 1;
-        Product foundedProduct = new Product();
-        foundedProduct.setId(productId);
-        foundedProduct.setTitle("Apple");
         Product updatedProduct = new Product();
         updatedProduct.setId(productId);
         updatedProduct.setTitle("title");
         updatedProduct.setActive(true);
         ProductDto productToUpdate = ProductDto.builder()
-                .productId(1)
                 .title("title")
                 .active(true)
                 .build();
-        when(productDao.getProductById(anyInt())).thenReturn(Optional.of(foundedProduct));
-        when(productDao.saveProduct(any(Product.class))).thenReturn(updatedProduct);
+        when(productDao.updateProduct(any(Product.class))).thenReturn(Optional.of(updatedProduct));
 
         // when
         ProductDto updatedProductFromService = productService.updateProduct(productId, productToUpdate);
 
         // then
         assertThat(updatedProductFromService).isNotNull();
-        verify(productDao).getProductById(anyInt());
-        verify(productDao).productExistsByTitle(anyString());
-        verify(productDao).saveProduct(any(Product.class));
+        assertThat(updatedProductFromService.getProductId()).isEqualTo(productId);
+        verify(productDao).updateProduct(argThat(product -> product.getId() == productId));
         verifyNoMoreInteractions(productDao);
+        verify(eventPublisher).publishEvent(new ProductChangedEvent(productId));
     }
 
     @Test
@@ -222,7 +356,7 @@ class ProductServiceImplTest {
                 .title("title")
                 .active(true)
                 .build();
-        when(productDao.getProductById(anyInt())).thenReturn(Optional.empty());
+        when(productDao.updateProduct(any(Product.class))).thenReturn(Optional.empty());
 
         // when
         // then
@@ -231,72 +365,63 @@ class ProductServiceImplTest {
         })
                 .isInstanceOf(ProductNotFoundException.class)
                 .hasMessage("Product with id=1 not found");
-        verify(productDao).getProductById(anyInt());
+        verify(productDao).updateProduct(any(Product.class));
         verifyNoMoreInteractions(productDao);
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
-    @DisplayName("Given product with non existing title, when updateProduct, then get saved product")
-    public void givenProductWithNonExistingTitle_whenUpdateProduct_thenGetSavedProduct() {
+    @DisplayName("Given product with existing title, when updateProduct, then throws exception")
+    public void givenProductWithExistingTitle_whenUpdateProduct_thenThrowsException() {
         // given
         int productId = 1;
-        Product product = new Product();
-        product.setId(productId);
-        product.setTitle("1234567");
-        product.setActive(true);
-        Product foundedProduct = new Product();
-        foundedProduct.setId(productId);
-        foundedProduct.setTitle("Apple");
         ProductDto productDto = ProductDto.builder()
                 .productId(productId)
                 .title("1234567")
                 .active(true)
                 .build();
-        when(productDao.getProductById(anyInt())).thenReturn(Optional.of(foundedProduct));
-        when(productDao.productExistsByTitle(anyString())).thenReturn(false);
-        when(productDao.saveProduct(any(Product.class))).thenReturn(product);
+        when(productDao.updateProduct(any(Product.class)))
+                .thenThrow(new ProductIsAlreadyExistsException("Product with title=1234567 is already exists"));
 
         // when
-        ProductDto updateProduct = productService.updateProduct(productId, productDto);
-
         // then
-        assertThat(updateProduct).isNotNull();
-        verify(productDao).getProductById(anyInt());
-        verify(productDao).productExistsByTitle(anyString());
-        verify(productDao).saveProduct(any(Product.class));
+        assertThatThrownBy(() -> {
+            productService.updateProduct(productId, productDto);
+        })
+                .isInstanceOf(ProductIsAlreadyExistsException.class)
+                .hasMessage("Product with title=1234567 is already exists");
+        verify(productDao).updateProduct(any(Product.class));
         verifyNoMoreInteractions(productDao);
     }
 
     @Test
-    @DisplayName("Given product with existing title, when updateProduct, then throws exception")
-    public void givenProductWithExistingTitle_whenUpdateProduct_thenThrowsException() {
+    @DisplayName("Given products, when saveProducts, then get result per product")
+    public void givenProducts_whenSaveProducts_thenGetResultPerProduct() {
         // given
-        int productId = 1;
-        Product product = new Product();
-        product.setId(productId);
-        product.setTitle("1234567");
-        product.setActive(true);
-        Product foundedProduct = new Product();
-        foundedProduct.setId(productId);
-        foundedProduct.setTitle("Apple");
-        ProductDto productDto = ProductDto.builder()
-                .productId(productId)
-                .title("1234567")
-                .active(true)
-                .build();
-        when(productDao.getProductById(anyInt())).thenReturn(Optional.of(foundedProduct));
-        when(productDao.productExistsByTitle(anyString())).thenReturn(true);
+        Product created = new Product();
+        created.setId(10);
+        created.setTitle("title");
+        Product conflicting = new Product();
+        conflicting.setTitle("Apple");
+        List<ProductDto> productDtos = List.of(
+                ProductDto.builder().title("title").build(),
+                ProductDto.builder().title("Apple").build()
+        );
+        when(productDao.saveProducts(anyList())).thenReturn(List.of(
+                new ProductSaveResult(created, ProductSaveStatus.CREATED),
+                new ProductSaveResult(conflicting, ProductSaveStatus.CONFLICT)
+        ));
 
         // when
+        List<ProductSaveResultDto> results = productService.saveProducts(productDtos);
+
         // then
-        assertThatThrownBy(() -> {
-            productService.updateProduct(productId, productDto);
-        })
-                .isInstanceOf(ProductIsAlreadyExistsException.class)
-                .hasMessage("Product with title=1234567 is already exists");
-        verify(productDao).getProductById(anyInt());
-        verify(productDao).productExistsByTitle(anyString());
+        assertThat(results).extracting(ProductSaveResultDto::getStatus)
+                .containsExactly(ProductSaveStatus.CREATED, ProductSaveStatus.CONFLICT);
+        assertThat(results.get(0).getProduct().getProductId()).isEqualTo(10);
+        verify(productDao).saveProducts(anyList());
         verifyNoMoreInteractions(productDao);
+        verify(eventPublisher).publishEvent(any(ProductChangedEvent.class));
     }
 
     @Test
@@ -311,6 +436,7 @@ class ProductServiceImplTest {
         // then
         verify(productDao).softDeleteProduct(anyInt());
         verifyNoMoreInteractions(productDao);
+        verify(eventPublisher).publishEvent(new ProductChangedEvent(productId));
     }
 
     @Test
@@ -325,6 +451,7 @@ class ProductServiceImplTest {
         // then
         verify(productDao).hardDeleteProduct(anyInt());
         verifyNoMoreInteractions(productDao);
+        verify(eventPublisher).publishEvent(new ProductChangedEvent(productId));
     }
 
 }
\ No newline at end of file
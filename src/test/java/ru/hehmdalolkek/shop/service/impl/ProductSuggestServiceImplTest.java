@@ -0,0 +1,239 @@
+package ru.hehmdalolkek.shop.service.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.hehmdalolkek.shop.dao.interfaces.ProductDao;
+import ru.hehmdalolkek.shop.model.Product;
+import ru.hehmdalolkek.shop.model.event.ProductChangedEvent;
+import ru.hehmdalolkek.shop.web.dto.ProductDto;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSuggestServiceImplTest {
+
+    private static final Duration RELOAD_TIMEOUT = Duration.ofSeconds(5);
+
+    @Mock
+    private ProductDao productDao;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private ProductSuggestServiceImpl productSuggestService;
+
+    @AfterEach
+    public void tearDown() {
+        productSuggestService.destroy();
+    }
+
+    @Test
+    @DisplayName("Given loaded index, when suggestActiveProducts, then get products by case insensitive prefix")
+    public void givenLoadedIndex_whenSuggestActiveProducts_thenGetProductsByCaseInsensitivePrefix() {
+        // given
+        when(productDao.getAllActiveProducts()).thenReturn(List.of(
+                ProductDto.builder().productId(1).title("Apple").active(true).build(),
+                ProductDto.builder().productId(2).title("apricot").active(true).build(),
+                ProductDto.builder().productId(3).title("Banana").active(true).build()));
+        givenCachedProducts(product(1, "Apple", true), product(2, "apricot", true));
+        productSuggestService.onApplicationReady();
+
+        // when
+        List<ProductDto> products = productSuggestService.suggestActiveProducts("AP", 10);
+
+        // then
+        assertThat(products).extracting(ProductDto::getTitle).containsExactly("Apple", "apricot");
+    }
+
+    @Test
+    @DisplayName("Given more matches than limit, when suggestActiveProducts, then get limited products")
+    public void givenMoreMatchesThanLimit_whenSuggestActiveProducts_thenGetLimitedProducts() {
+        // given
+        when(productDao.getAllActiveProducts()).thenReturn(List.of(
+                ProductDto.builder().productId(1).title("Apple").active(true).build(),
+                ProductDto.builder().productId(2).title("Apricot").active(true).build()));
+        givenCachedProducts(product(1, "Apple", true), product(2, "Apricot", true));
+        productSuggestService.onApplicationReady();
+
+        // when
+        List<ProductDto> products = productSuggestService.suggestActiveProducts("a", 1);
+
+        // then
+        assertThat(products).extracting(ProductDto::getTitle).containsExactly("Apple");
+    }
+
+    @Test
+    @DisplayName("Given cached product changed since indexed, when suggestActiveProducts, then get cached product")
+    public void givenCachedProductChangedSinceIndexed_whenSuggestActiveProducts_thenGetCachedProduct() {
+        // given
+        when(productDao.getAllActiveProducts()).thenReturn(List.of(
+                ProductDto.builder().productId(1).title("Apple").active(true).build(),
+                ProductDto.builder().productId(2).title("Apricot").active(true).build()));
+        Product repriced = product(1, "Apple", true);
+        repriced.setPrice(99.0);
+        givenCachedProducts(repriced, product(2, "Banana", true));
+        productSuggestService.onApplicationReady();
+
+        // when
+        List<ProductDto> products = productSuggestService.suggestActiveProducts("ap", 10);
+
+        // then
+        assertThat(products).extracting(ProductDto::getProductId).containsExactly(1);
+        assertThat(products).extracting(ProductDto::getPrice).containsExactly(99.0);
+    }
+
+    @Test
+    @DisplayName("Given renamed product event, when suggestActiveProducts, then get product by new title only")
+    public void givenRenamedProductEvent_whenSuggestActiveProducts_thenGetProductByNewTitleOnly() {
+        // given
+        when(productDao.getAllActiveProducts()).thenReturn(List.of(
+                ProductDto.builder().productId(1).title("Apple").active(true).build()));
+        when(productDao.getProductById(1)).thenReturn(Optional.of(product(1, "Banana", true)));
+        productSuggestService.onApplicationReady();
+
+        // when
+        productSuggestService.onProductChanged(new ProductChangedEvent(1));
+
+        // then
+        assertThat(productSuggestService.suggestActiveProducts("app", 10)).isEmpty();
+        assertThat(productSuggestService.suggestActiveProducts("ban", 10))
+                .extracting(ProductDto::getProductId).containsExactly(1);
+    }
+
+    @Test
+    @DisplayName("Given later refresh applied first, when earlier refresh completes, then stale read skipped")
+    public void givenLaterRefreshAppliedFirst_whenEarlierRefreshCompletes_thenStaleReadSkipped() {
+        // given
+        when(productDao.getAllActiveProducts()).thenReturn(List.of(
+                ProductDto.builder().productId(1).title("Apple").active(true).build()));
+        when(productDao.getProductById(1))
+                .thenAnswer(invocation -> {
+                    productSuggestService.onProductChanged(new ProductChangedEvent(1));
+                    return Optional.of(product(1, "Banana", true));
+                })
+                .thenReturn(Optional.of(product(1, "Cherry", true)));
+        productSuggestService.onApplicationReady();
+
+        // when
+        productSuggestService.onProductChanged(new ProductChangedEvent(1));
+
+        // then
+        assertThat(productSuggestService.suggestActiveProducts("ban", 10)).isEmpty();
+        assertThat(productSuggestService.suggestActiveProducts("che", 10))
+                .extracting(ProductDto::getProductId).containsExactly(1);
+    }
+
+    @Test
+    @DisplayName("Given soft deleted product event, when suggestActiveProducts, then product not suggested")
+    public void givenSoftDeletedProductEvent_whenSuggestActiveProducts_thenProductNotSuggested() {
+        // given
+        when(productDao.getAllActiveProducts()).thenReturn(List.of(
+                ProductDto.builder().productId(1).title("Apple").active(true).build()));
+        when(productDao.getProductById(1)).thenReturn(Optional.of(product(1, "Apple", false)));
+        productSuggestService.onApplicationReady();
+
+        // when
+        productSuggestService.onProductChanged(new ProductChangedEvent(1));
+
+        // then
+        assertThat(productSuggestService.suggestActiveProducts("app", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Given many products changed event, when suggestActiveProducts, then index reloaded")
+    public void givenManyProductsChangedEvent_whenSuggestActiveProducts_thenIndexReloaded() {
+        // given
+        when(productDao.getAllActiveProducts())
+                .thenReturn(List.of(ProductDto.builder().productId(1).title("Apple").active(true).build()))
+                .thenReturn(List.of(ProductDto.builder().productId(2).title("Avocado").active(true).build()));
+        givenCachedProducts(product(1, "Apple", true), product(2, "Avocado", true));
+        productSuggestService.onApplicationReady();
+
+        // when
+        productSuggestService.onProductChanged(new ProductChangedEvent());
+
+        // then
+        await().atMost(RELOAD_TIMEOUT).untilAsserted(() ->
+                assertThat(productSuggestService.suggestActiveProducts("a", 10))
+                        .extracting(ProductDto::getTitle).containsExactly("Avocado"));
+        verify(productDao, times(2)).getAllActiveProducts();
+    }
+
+    @Test
+    @DisplayName("Given running reload, when many products changed events, then one more reload on another thread")
+    public void givenRunningReload_whenManyProductsChangedEvents_thenOneMoreReloadOnAnotherThread()
+            throws Exception {
+        // given
+        CountDownLatch reloadStarted = new CountDownLatch(1);
+        CountDownLatch releaseReload = new CountDownLatch(1);
+        Thread eventThread = Thread.currentThread();
+        List<Thread> reloadThreads = new CopyOnWriteArrayList<>();
+        when(productDao.getAllActiveProducts())
+                .thenReturn(List.of(ProductDto.builder().productId(1).title("Apple").active(true).build()))
+                .thenAnswer(invocation -> {
+                    reloadThreads.add(Thread.currentThread());
+                    reloadStarted.countDown();
+                    releaseReload.await();
+                    return List.of(ProductDto.builder().productId(2).title("Avocado").active(true).build());
+                })
+                .thenAnswer(invocation -> {
+                    reloadThreads.add(Thread.currentThread());
+                    return List.of(ProductDto.builder().productId(3).title("Apricot").active(true).build());
+                });
+        givenCachedProducts(product(1, "Apple", true), product(2, "Avocado", true), product(3, "Apricot", true));
+        productSuggestService.onApplicationReady();
+        productSuggestService.onProductChanged(new ProductChangedEvent());
+        assertThat(reloadStarted.await(RELOAD_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)).isTrue();
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            productSuggestService.onProductChanged(new ProductChangedEvent());
+        }
+        releaseReload.countDown();
+
+        // then
+        await().atMost(RELOAD_TIMEOUT).untilAsserted(() ->
+                assertThat(productSuggestService.suggestActiveProducts("a", 10))
+                        .extracting(ProductDto::getTitle).containsExactly("Apricot"));
+        verify(productDao, times(3)).getAllActiveProducts();
+        assertThat(reloadThreads).hasSize(2).doesNotContain(eventThread);
+    }
+
+    private void givenCachedProducts(Product... products) {
+        Map<Integer, Product> productsById = new HashMap<>();
+        for (Product product : products) {
+            productsById.put(product.getId(), product);
+        }
+        when(productDao.getProductById(anyInt()))
+                .thenAnswer(invocation -> Optional.ofNullable(productsById.get(invocation.<Integer>getArgument(0))));
+    }
+
+    private static Product product(int productId, String title, boolean active) {
+        Product product = new Product();
+        product.setId(productId);
+        product.setTitle(title);
+        product.setPrice(10.0);
+        product.setActive(active);
+        return product;
+    }
+
+}
@@ -0,0 +1,216 @@
+package ru.hehmdalolkek.shop.web.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.OctetSequenceKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import org.hamcrest.CoreMatchers;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.hehmdalolkek.shop.security.AccessTokenConfig;
+import ru.hehmdalolkek.shop.web.dto.AccessTokenDto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+        "shop.security.access-token.active-key-id=current",
+        "shop.security.access-token.keys.current=" + AccessTokenControllerIntegrationTest.CURRENT_KEY,
+        "shop.security.access-token.keys.previous=" + AccessTokenControllerIntegrationTest.PREVIOUS_KEY
+})
+@Testcontainers
+public class AccessTokenControllerIntegrationTest {
+
+    static final String CURRENT_KEY = "Y3VycmVudC1rZXktdXNlZC1mb3Itc2lnbmluZy10b2tlbnMtMDAwMA==";
+
+    static final String PREVIOUS_KEY = "cHJldmlvdXMta2V5LXN0aWxsLWFjY2VwdGVkLWZvci12ZXJpZnk=";
+
+    private static final String RETIRED_KEY = "cmV0aXJlZC1rZXktbm8tbG9uZ2VyLWNvbmZpZ3VyZWQtYXQtYWxs";
+
+    @Container
+    @ServiceConnection
+    private final static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    private static String SECURITY_USERNAME;
+
+    private static String SECURITY_PASSWORD;
+
+    @BeforeAll
+    public static void beforeAll(@Value("${security.username}") String username,
+                                 @Value("${security.password}") String password) {
+        SECURITY_USERNAME = username;
+        SECURITY_PASSWORD = password;
+    }
+
+    @Test
+    @DisplayName("Test issue access token functionality")
+    public void givenBasicCredentials_whenIssueAccessToken_thenSuccessResponse() throws Exception {
+        // given
+        RequestBuilder request = post(AccessTokenConfig.TOKEN_PATH)
+                .with(httpBasic(SECURITY_USERNAME, SECURITY_PASSWORD));
+
+        // when
+        ResultActions result = this.mockMvc.perform(request);
+
+        // then
+        result
+                .andDo(MockMvcResultHandlers.print())
+                .andExpectAll(
+                        MockMvcResultMatchers.status().isOk(),
+                        MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON),
+                        MockMvcResultMatchers.header().string(HttpHeaders.CACHE_CONTROL, "no-store"),
+                        MockMvcResultMatchers.jsonPath("$.accessToken", CoreMatchers.notNullValue()),
+                        MockMvcResultMatchers.jsonPath("$.tokenType", CoreMatchers.is("Bearer")),
+                        MockMvcResultMatchers.jsonPath("$.expiresIn", CoreMatchers.is(900))
+                );
+    }
+
+    @Test
+    @DisplayName("Test get products with issued access token functionality")
+    public void givenIssuedAccessToken_whenGetAllActiveProducts_thenSuccessResponse() throws Exception {
+        // given
+        RequestBuilder request = get("/api/v1/products")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + issueAccessToken());
+
+        // when
+        ResultActions result = this.mockMvc.perform(request);
+
+        // then
+        result
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk());
+    }
+
+    @Test
+    @DisplayName("Test issue access token with access token functionality")
+    public void givenAccessToken_whenIssueAccessToken_thenForbiddenResponse() throws Exception {
+        // given
+        RequestBuilder request = post(AccessTokenConfig.TOKEN_PATH)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + issueAccessToken());
+
+        // when
+        ResultActions result = this.mockMvc.perform(request);
+
+        // then
+        result
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Test get products with tampered access token functionality")
+    public void givenTamperedAccessToken_whenGetAllActiveProducts_thenUnauthorizedResponse() throws Exception {
+        // given
+        String[] parts = issueAccessToken().split("\\.");
+        String tamperedClaims = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8)
+                        .replace(SECURITY_USERNAME, "admin")
+                        .getBytes(StandardCharsets.UTF_8));
+        RequestBuilder request = get("/api/v1/products")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + parts[0] + "." + tamperedClaims + "." + parts[2]);
+
+        // when
+        ResultActions result = this.mockMvc.perform(request);
+
+        // then
+        result
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Test get products with access token signed by previous key functionality")
+    public void givenAccessTokenSignedByPreviousKey_whenGetAllActiveProducts_thenSuccessResponse() throws Exception {
+        // given
+        RequestBuilder request = get("/api/v1/products")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + signAccessToken("previous", PREVIOUS_KEY));
+
+        // when
+        ResultActions result = this.mockMvc.perform(request);
+
+        // then
+        result
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk());
+    }
+
+    @Test
+    @DisplayName("Test get products with access token signed by retired key functionality")
+    public void givenAccessTokenSignedByRetiredKey_whenGetAllActiveProducts_thenUnauthorizedResponse()
+            throws Exception {
+        // given
+        RequestBuilder request = get("/api/v1/products")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + signAccessToken("retired", RETIRED_KEY));
+
+        // when
+        ResultActions result = this.mockMvc.perform(request);
+
+        // then
+        result
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isUnauthorized());
+    }
+
+    private String issueAccessToken() throws Exception {
+        String response = this.mockMvc.perform(post(AccessTokenConfig.TOKEN_PATH)
+                        .with(httpBasic(SECURITY_USERNAME, SECURITY_PASSWORD)))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return this.objectMapper.readValue(response, AccessTokenDto.class).getAccessToken();
+    }
+
+    private static String signAccessToken(String keyId, String secret) {
+        OctetSequenceKey key = new OctetSequenceKey.Builder(Base64.getDecoder().decode(secret))
+                .keyID(keyId)
+                .algorithm(JWSAlgorithm.HS256)
+                .build();
+        Instant issuedAt = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuer(AccessTokenConfig.ISSUER)
+                .subject(SECURITY_USERNAME)
+                .issuedAt(issuedAt)
+                .expiresAt(issuedAt.plusSeconds(60))
+                .build();
+        return new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(key)))
+                .encode(JwtEncoderParameters.from(JwsHeader.with(MacAlgorithm.HS256).keyId(keyId).build(), claims))
+                .getTokenValue();
+    }
+
+}
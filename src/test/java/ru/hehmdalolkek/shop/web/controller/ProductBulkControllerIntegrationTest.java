@@ -0,0 +1,133 @@
+package ru.hehmdalolkek.shop.web.controller;
+
+import org.hamcrest.CoreMatchers;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers
+@Sql(value = "/db/data/create-data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(value = "/db/data/delete-data.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class ProductBulkControllerIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    private final static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+    @Autowired
+    MockMvc mockMvc;
+
+    private static String SECURITY_USERNAME;
+
+    private static String SECURITY_PASSWORD;
+
+    @BeforeAll
+    public static void beforeAll(@Value("${security.username}") String username,
+                                 @Value("${security.password}") String password) {
+        SECURITY_USERNAME = username;
+        SECURITY_PASSWORD = password;
+    }
+
+    @Test
+    @DisplayName("Test import products from csv functionality")
+    public void givenRequest_whenImportProducts_thenSuccessResponse() throws Exception {
+        // given
+        RequestBuilder request = post("/api/v1/products/import")
+                .with(httpBasic(SECURITY_USERNAME, SECURITY_PASSWORD))
+                .contentType("text/csv")
+                .content("""
+                        title,price,active
+                        Apple,20.5,true
+                        Pear,10,true
+                        """);
+
+        // when
+        ResultActions result = this.mockMvc.perform(request);
+
+        // then
+        result
+                .andDo(MockMvcResultHandlers.print())
+                .andExpectAll(
+                        MockMvcResultMatchers.status().isOk(),
+                        MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON),
+                        MockMvcResultMatchers.jsonPath("$.received", CoreMatchers.is(2)),
+                        MockMvcResultMatchers.jsonPath("$.imported", CoreMatchers.is(2))
+                );
+    }
+
+    @Test
+    @DisplayName("Test import products from invalid csv functionality")
+    public void givenRequest_whenImportProducts_thenBadRequestResponse() throws Exception {
+        // given
+        RequestBuilder request = post("/api/v1/products/import")
+                .with(httpBasic(SECURITY_USERNAME, SECURITY_PASSWORD))
+                .contentType("text/csv")
+                .content("""
+                        title,price,active
+                        Pear,abc,true
+                        """);
+
+        // when
+        ResultActions result = this.mockMvc.perform(request);
+
+        // then
+        result
+                .andDo(MockMvcResultHandlers.print())
+                .andExpectAll(
+                        MockMvcResultMatchers.status().isBadRequest(),
+                        MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON),
+                        MockMvcResultMatchers.jsonPath("$.status", CoreMatchers.is(400))
+                );
+    }
+
+    @Test
+    @DisplayName("Test export active products to csv functionality")
+    public void givenRequest_whenExportProducts_thenSuccessResponse() throws Exception {
+        // given
+        RequestBuilder request = get("/api/v1/products/export.csv")
+                .with(httpBasic(SECURITY_USERNAME, SECURITY_PASSWORD))
+                .queryParam("active", "false");
+        MvcResult asyncResult = this.mockMvc.perform(request)
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        // when
+        ResultActions result = this.mockMvc.perform(asyncDispatch(asyncResult));
+
+        // then
+        result
+                .andDo(MockMvcResultHandlers.print())
+                .andExpectAll(
+                        MockMvcResultMatchers.status().isOk(),
+                        MockMvcResultMatchers.content().contentType("text/csv"),
+                        MockMvcResultMatchers.content().string("""
+                                product_id,title,price,active
+                                5,Mango,200.4,f
+                                """)
+                );
+    }
+
+}
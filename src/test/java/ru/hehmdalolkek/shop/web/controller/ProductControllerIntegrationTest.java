@@ -10,10 +10,12 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.RequestBuilder;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
@@ -23,6 +25,10 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import ru.hehmdalolkek.shop.web.dto.ProductDto;
 
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 import static java.lang.String.format;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -30,7 +36,9 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 
 @ActiveProfiles("test")
 @AutoConfigureMockMvc
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+// notifications from the per-test data scripts arrive asynchronously and would move the catalog version mid-test
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "shop.product-changes.listen=false")
 @Testcontainers
 @Sql(value = "/db/data/create-data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
 @Sql(value = "/db/data/delete-data.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
@@ -104,6 +112,358 @@ public class ProductControllerIntegrationTest {
                 );
     }
 
+    @Test
+    @DisplayName("Test get page of active products functionality")
+    public void givenRequestWithCursor_whenGetAllActiveProducts_thenSuccessResponse() throws Exception {
+        // given
+        RequestBuilder request = get("/api/v1/products")
+                .with(httpBasic(SECURITY_USERNAME, SECURITY_PASSWORD))
+                .queryParam("after", "SUR8MXw")
+                .queryParam("limit", "2");
+
+        // when
+        ResultActions result = this.mockMvc.perform(request);
+
+        // then
+        result
+                .andDo(MockMvcResultHandlers.print())
+                .andExpectAll(
+                        MockMvcResultMatchers.status().isOk(),
+                        MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON),
+                        MockMvcResultMatchers.content().json("""
+                                {
+                                    "products": [
+                                        {
+                                            "productId": 2,
+                                            "title": "Banana",
+                                            "price": 30.0,
+                                            "active": true
+                                        },
+                                        {
+                                            "productId": 3,
+                                            "title": "Kiwi",
+                                            "price": 99.23,
+                                            "active": true
+                                        }
+                                    ],
+                                    "nextCursor": "SUR8M3w"
+                                }
+                                """)
+                );
+    }
+
+    @Test
+    @DisplayName("Test get page of active products with cursor of another sort functionality")
+    public void givenRequestWithCursorOfAnotherSort_whenGetAllActiveProducts_thenBadRequestResponse()
+            throws Exception {
+        // given
+        RequestBuilder request = get("/api/v1/products")
+                .with(httpBasic(SECURITY_USERNAME, SECURITY_PASSWORD))
+                .queryParam("after", "SUR8MXw")
+                .queryParam("sort", "PRICE");
+
+        // when
+        ResultActions result = this.mockMvc.perform(request);
+
+        // then
+        result
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Test get page of active products with invalid limit functionality")
+    public void givenRequestWithInvalidLimit_whenGetAllActiveProducts_thenBadRequestResponse() throws Exception {
+        // given
+        RequestBuilder request = get("/api/v1/products")
+                .with(httpBasic(SECURITY_USERNAME, SECURITY_PASSWORD))
+                .queryParam("limit", "0");
+
+        // when
+        ResultActions result = this.mockMvc.perform(request);
+
+        // then
+        result
+                .andDo(MockMvcResultHandlers.print())
+                .andExpectAll(
+                        MockMvcResultMatchers.status().isBadRequest(),
+                        MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON),
+                        MockMvcResultMatchers.jsonPath("$.status", CoreMatchers.is(400)),
+                        MockMvcResultMatchers.jsonPath("$.errors.limit", CoreMatchers.notNullValue())
+                );
+    }
+
+    @Test
+    @DisplayName("Test get products by ids functionality")
+    public void givenRequestWithIds_whenGetProductsByIds_thenSuccessResponse() throws Exception {
+        // given
+        RequestBuilder request = get("/api/v1/products")
+                .with(httpBasic(SECURITY_USERNAME, SECURITY_PASSWORD))
+                .queryParam("ids", "3,999,1,3");
+
+        // when
+        ResultActions result = this.mockMvc.perform(request);
+
+        // then
+        result
+                .andDo(MockMvcResultHandlers.print())
+                .andExpectAll(
+                        MockMvcResultMatchers.status().isOk(),
+                        MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON),
+                        MockMvcResultMatchers.header().exists(HttpHeaders.ETAG),
+                        MockMvcResultMatchers.jsonPath("$.products[*].productId", CoreMatchers.is(List.of(3, 1))),
+                        MockMvcResultMatchers.jsonPath("$.products[0].title", CoreMatchers.is("Kiwi")),
+                        MockMvcResultMatchers.jsonPath("$.missingIds", CoreMatchers.is(List.of(999)))
+                );
+    }
+
+    @Test
+    @DisplayName("Test get products by too many ids functionality")
+    public void givenRequestWithTooManyIds_whenGetProductsByIds_thenBadRequestResponse() throws Exception {
+        // given
+        String ids = IntStream.rangeClosed(1, 201)
+                .mapToObj(Integer::toString)
+                .collect(Collectors.joining(","));
+        RequestBuilder request = get("/api/v1/products")
+                .with(httpBasic(SECURITY_USERNAME, SECURITY_PASSWORD))
+                .queryParam("ids", ids);
+
+        // when
+        ResultActions result = this.mockMvc.perform(request);
+
+        // then
+        result
+                .andDo(MockMvcResultHandlers.print())
+                .andExpectAll(
+                        MockMvcResultMatchers.status().isBadRequest(),
+                        MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON),
+                        MockMvcResultMatchers.jsonPath("$.status", CoreMatchers.is(400)),
+                        MockMvcResultMatchers.jsonPath("$.errors.ids", CoreMatchers.notNullValue())
+                );
+    }
+
+    @Test
+    @DisplayName("Test lookup products by ids functionality")
+    public void givenRequest_whenLookupProductsByIds_thenSuccessResponse() throws Exception {
+        // given
+        RequestBuilder request = post("/api/v1/products/lookup")
+                .with(httpBasic(SECURITY_USERNAME, SECURITY_PASSWORD))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[5, 2, 1000]");
+
+        // when
+        ResultActions result = this.mockMvc.perform(request);
+
+        // then
+        result
+                .andDo(MockMvcResultHandlers.print())
+                .andExpectAll(
+                        MockMvcResultMatchers.status().isOk(),
+                        MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON),
+                        MockMvcResultMatchers.jsonPath("$.products[*].productId", CoreMatchers.is(List.of(5, 2))),
+                        MockMvcResultMatchers.jsonPath("$.products[0].active", CoreMatchers.is(false)),
+                        MockMvcResultMatchers.jsonPath("$.missingIds", CoreMatchers.is(List.of(1000)))
+                );
+    }
+
+    @Test
+    @DisplayName("Test get active products filtered by price and sorted by price desc functionality")
+    public void givenRequestWithPriceRangeAndSort_whenGetAllActiveProducts_thenSuccessResponse() throws Exception {
+        // given
+        RequestBuilder request = get("/api/v1/products")
+                .with(httpBasic(SECURITY_USERNAME, SECURITY_PASSWORD))
+                .queryParam("minPrice", "20")
+                .queryParam("maxPrice", "50")
+                .queryParam("sort", "PRICE_DESC");
+
+        // when
+        ResultActions result = this.mockMvc.perform(request);
+
+        // then
+        result
+                .andDo(MockMvcResultHandlers.print())
+                .andExpectAll(
+                        MockMvcResultMatchers.status().isOk(),
+                        MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON),
+                        MockMvcResultMatchers.content().json("""
+                                {
+                                    "products": [
+                                        {
+                                            "productId": 4,
+                                            "title": "Orange",
+                                            "price": 45.22,
+                                            "active": true
+                                        },
+                                        {
+                                            "productId": 2,
+                                            "title": "Banana",
+                                            "price": 30.0,
+                                            "active": true
+                                        }
+                                    ],
+                                    "nextCursor": null
+                                }
+                                """)
+                );
+    }
+
+    @Test
+    @DisplayName("Test search active products by title functionality")
+    public void givenRequestWithQuery_whenSearchActiveProducts_thenSuccessResponse() throws Exception {
+        // given
+        RequestBuilder request = get("/api/v1/products/search")
+                .with(httpBasic(SECURITY_USERNAME, SECURITY_PASSWORD))
+                .queryParam("q", "banan");
+
+        // when
+        ResultActions result = this.mockMvc.perform(request);
+
+        // then
+        result
+                .andDo(MockMvcResultHandlers.print())
+                .andExpectAll(
+                        MockMvcResultMatchers.status().isOk(),
+                        MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON),
+                        MockMvcResultMatchers.header().exists(HttpHeaders.ETAG),
+                        MockMvcResultMatchers.content().json("""
+                                [
+                                    {
+                                        "productId": 2,
+                                        "title": "Banana",
+                                        "price": 30.0,
+                                        "active": true
+                                    }
+                                ]
+                                """)
+                );
+    }
+
+    @Test
+    @DisplayName("Test search active products with blank query functionality")
+    public void givenRequestWithBlankQuery_whenSearchActiveProducts_thenBadRequestResponse() throws Exception {
+        // given
+        RequestBuilder request = get("/api/v1/products/search")
+                .with(httpBasic(SECURITY_USERNAME, SECURITY_PASSWORD))
+                .queryParam("q", " ");
+
+        // when
+        ResultActions result = this.mockMvc.perform(request);
+
+        // then
+        result
+                .andDo(MockMvcResultHandlers.print())
+                .andExpectAll(
+                        MockMvcResultMatchers.status().isBadRequest(),
+                        MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON),
+                        MockMvcResultMatchers.jsonPath("$.status", CoreMatchers.is(400)),
+                        MockMvcResultMatchers.jsonPath("$.errors.q", CoreMatchers.notNullValue())
+                );
+    }
+
+    @Test
+    @DisplayName("Test suggest created product by title prefix functionality")
+    public void givenCreatedProduct_whenSuggestActiveProducts_thenSuccessResponse() throws Exception {
+        // given
+        ProductDto productDto = ProductDto.builder()
+                .title("Pineapple")
+                .price(120.5)
+                .build();
+        this.mockMvc.perform(post("/api/v1/products")
+                        .with(httpBasic(SECURITY_USERNAME, SECURITY_PASSWORD))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.objectMapper.writeValueAsString(productDto)))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+        RequestBuilder request = get("/api/v1/products/suggest")
+                .with(httpBasic(SECURITY_USERNAME, SECURITY_PASSWORD))
+                .queryParam("prefix", "pine");
+
+        // when
+        ResultActions result = this.mockMvc.perform(request);
+
+        // then
+        result
+                .andDo(MockMvcResultHandlers.print())
+                .andExpectAll(
+                        MockMvcResultMatchers.status().isOk(),
+                        MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON),
+                        MockMvcResultMatchers.jsonPath("$[*].title", CoreMatchers.hasItem("Pineapple"))
+                );
+    }
+
+    @Test
+    @DisplayName("Test dao operation metrics functionality")
+    public void givenProductRead_whenGetDaoOperationsMetric_thenSuccessResponse() throws Exception {
+        // given
+        this.mockMvc.perform(get("/api/v1/products/{productId}", 1)
+                        .with(httpBasic(SECURITY_USERNAME, SECURITY_PASSWORD)))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        RequestBuilder request = get("/actuator/metrics/shop.dao.operations")
+                .with(httpBasic(SECURITY_USERNAME, SECURITY_PASSWORD))
+                .queryParam("tag", "operation:getProductById", "outcome:SUCCESS");
+
+        // when
+        ResultActions result = this.mockMvc.perform(request);
+
+        // then
+        result
+                .andDo(MockMvcResultHandlers.print())
+                .andExpectAll(
+                        MockMvcResultMatchers.status().isOk(),
+                        MockMvcResultMatchers.jsonPath("$.measurements[?(@.statistic == 'COUNT')].value",
+                                CoreMatchers.hasItem(CoreMatchers.notNullValue()))
+                );
+    }
+
+    @Test
+    @DisplayName("Test get active products with invalid sort functionality")
+    public void givenRequestWithInvalidSort_whenGetAllActiveProducts_thenBadRequestResponse() throws Exception {
+        // given
+        RequestBuilder request = get("/api/v1/products")
+                .with(httpBasic(SECURITY_USERNAME, SECURITY_PASSWORD))
+                .queryParam("sort", "popularity");
+
+        // when
+        ResultActions result = this.mockMvc.perform(request);
+
+        // then
+        result
+                .andDo(MockMvcResultHandlers.print())
+                .andExpectAll(
+                        MockMvcResultMatchers.status().isBadRequest(),
+                        MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON),
+                        MockMvcResultMatchers.jsonPath("$.status", CoreMatchers.is(400)),
+                        MockMvcResultMatchers.jsonPath("$.errors.sort", CoreMatchers.notNullValue())
+                );
+    }
+
+    @Test
+    @DisplayName("Test stream all active products functionality")
+    public void givenRequest_whenStreamAllActiveProducts_thenSuccessResponse() throws Exception {
+        // given
+        RequestBuilder request = get("/api/v1/products/stream")
+                .with(httpBasic(SECURITY_USERNAME, SECURITY_PASSWORD));
+        MvcResult asyncResult = this.mockMvc.perform(request)
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        // when
+        ResultActions result = this.mockMvc.perform(asyncDispatch(asyncResult));
+
+        // then
+        result
+                .andDo(MockMvcResultHandlers.print())
+                .andExpectAll(
+                        MockMvcResultMatchers.status().isOk(),
+                        MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_NDJSON),
+                        MockMvcResultMatchers.content().string("""
+                                {"productId":1,"title":"Apple","price":15.99,"active":true}
+                                {"productId":2,"title":"Banana","price":30.0,"active":true}
+                                {"productId":3,"title":"Kiwi","price":99.23,"active":true}
+                                {"productId":4,"title":"Orange","price":45.22,"active":true}
+                                """)
+                );
+    }
+
     @Test
     @DisplayName("Test get exists product by id functionality")
     public void givenRequest_whenGetProductById_thenSuccessResponse() throws Exception {
@@ -132,6 +492,60 @@ public class ProductControllerIntegrationTest {
                 );
     }
 
+    @Test
+    @DisplayName("Test get all active products with matching etag functionality")
+    public void givenRequestWithMatchingETag_whenGetAllActiveProducts_thenNotModifiedResponse() throws Exception {
+        // given
+        String eTag = this.mockMvc.perform(get("/api/v1/products")
+                        .with(httpBasic(SECURITY_USERNAME, SECURITY_PASSWORD)))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        RequestBuilder request = get("/api/v1/products")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .with(httpBasic(SECURITY_USERNAME, SECURITY_PASSWORD));
+
+        // when
+        ResultActions result = this.mockMvc.perform(request);
+
+        // then
+        result
+                .andDo(MockMvcResultHandlers.print())
+                .andExpectAll(
+                        MockMvcResultMatchers.status().isNotModified(),
+                        MockMvcResultMatchers.header().string(HttpHeaders.ETAG, eTag),
+                        MockMvcResultMatchers.content().string("")
+                );
+    }
+
+    @Test
+    @DisplayName("Test get all active products with stale etag functionality")
+    public void givenRequestWithStaleETag_whenGetAllActiveProducts_thenSuccessResponse() throws Exception {
+        // given
+        String eTag = this.mockMvc.perform(get("/api/v1/products")
+                        .with(httpBasic(SECURITY_USERNAME, SECURITY_PASSWORD)))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        this.mockMvc.perform(delete("/api/v1/products/1")
+                .with(httpBasic(SECURITY_USERNAME, SECURITY_PASSWORD)));
+        RequestBuilder request = get("/api/v1/products")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .with(httpBasic(SECURITY_USERNAME, SECURITY_PASSWORD));
+
+        // when
+        ResultActions result = this.mockMvc.perform(request);
+
+        // then
+        result
+                .andDo(MockMvcResultHandlers.print())
+                .andExpectAll(
+                        MockMvcResultMatchers.status().isOk(),
+                        MockMvcResultMatchers.header().string(HttpHeaders.ETAG, CoreMatchers.not(eTag)),
+                        MockMvcResultMatchers.jsonPath("$[?(@.productId == 1)]").isEmpty()
+                );
+    }
+
     @Test
     @DisplayName("Test get non exists product by id functionality")
     public void givenRequest_whenGetProductById_thenNotFoundResponse() throws Exception {
@@ -273,6 +687,62 @@ public class ProductControllerIntegrationTest {
                 );
     }
 
+    @Test
+    @DisplayName("Test save products batch functionality")
+    public void givenRequest_whenSaveProducts_thenSuccessResponse() throws Exception {
+        // given
+        List<ProductDto> products = List.of(
+                ProductDto.builder().title("Title").price(10.0).build(),
+                ProductDto.builder().productId(2).title("Banana").price(35.0).active(true).build(),
+                ProductDto.builder().title("Apple").price(10.0).build()
+        );
+        RequestBuilder request = post("/api/v1/products/batch")
+                .with(httpBasic(SECURITY_USERNAME, SECURITY_PASSWORD))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(products));
+
+        // when
+        ResultActions result = this.mockMvc.perform(request);
+
+        // then
+        result
+                .andDo(MockMvcResultHandlers.print())
+                .andExpectAll(
+                        MockMvcResultMatchers.status().isOk(),
+                        MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON),
+                        MockMvcResultMatchers.jsonPath("$[0].status", CoreMatchers.is("CREATED")),
+                        MockMvcResultMatchers.jsonPath("$[0].product.productId", CoreMatchers.notNullValue()),
+                        MockMvcResultMatchers.jsonPath("$[1].status", CoreMatchers.is("UPDATED")),
+                        MockMvcResultMatchers.jsonPath("$[1].product.price", CoreMatchers.is(35.0)),
+                        MockMvcResultMatchers.jsonPath("$[2].status", CoreMatchers.is("CONFLICT"))
+                );
+    }
+
+    @Test
+    @DisplayName("Test save products batch with invalid data functionality")
+    public void givenRequest_whenSaveProducts_thenBadRequestResponse() throws Exception {
+        // given
+        List<ProductDto> products = List.of(ProductDto.builder().title("").price(10.0).build());
+        RequestBuilder request = post("/api/v1/products/batch")
+                .with(httpBasic(SECURITY_USERNAME, SECURITY_PASSWORD))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(products));
+
+        // when
+        ResultActions result = this.mockMvc.perform(request);
+
+        // then
+        result
+                .andDo(MockMvcResultHandlers.print())
+                .andExpectAll(
+                        MockMvcResultMatchers.status().isBadRequest(),
+                        MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON),
+                        MockMvcResultMatchers.jsonPath("$.status", CoreMatchers.is(400)),
+                        MockMvcResultMatchers.jsonPath("$.errors['products[0].title']",
+                                CoreMatchers.is("The size must be greater than 1 and less than 256 characters"))
+                );
+    }
+
     @Test
     @DisplayName("Test update product functionality")
     public void givenRequest_whenUpdateProduct_thenSuccessResponse() throws Exception {
@@ -7,18 +7,31 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.util.UriComponentsBuilder;
+import ru.hehmdalolkek.shop.model.ProductFilter;
+import ru.hehmdalolkek.shop.model.ProductSaveStatus;
+import ru.hehmdalolkek.shop.model.ProductSort;
+import ru.hehmdalolkek.shop.service.interfaces.CatalogVersionService;
 import ru.hehmdalolkek.shop.service.interfaces.ProductService;
+import ru.hehmdalolkek.shop.service.interfaces.ProductSuggestService;
 import ru.hehmdalolkek.shop.web.dto.ProductDto;
+import ru.hehmdalolkek.shop.web.dto.ProductPageDto;
+import ru.hehmdalolkek.shop.web.dto.ProductSaveResultDto;
 
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +40,12 @@ class ProductControllerTest {
     @Mock
     private ProductService productService;
 
+    @Mock
+    private ProductSuggestService productSuggestService;
+
+    @Mock
+    private CatalogVersionService catalogVersionService;
+
     @InjectMocks
     private ProductController productController;
 
@@ -38,19 +57,129 @@ class ProductControllerTest {
         ProductDto p2 = ProductDto.builder().active(true).build();
         List<ProductDto> activeProducts = List.of(p1, p2);
         when(productService.getAllActiveProducts()).thenReturn(activeProducts);
+        when(catalogVersionService.getCatalogVersion()).thenReturn("epoch-1");
+        ServletWebRequest webRequest = new ServletWebRequest(new MockHttpServletRequest());
 
         // when
-        ResponseEntity<?> response = this.productController.getAllActiveProducts();
+        ResponseEntity<?> response = this.productController.getAllActiveProducts(null, null, null, null, null, webRequest);
 
         // then
         assertThat(response).isNotNull();
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"epoch-1\"");
         assertThat(response.getBody()).isEqualTo(activeProducts);
         verify(this.productService).getAllActiveProducts();
         verifyNoMoreInteractions(this.productService);
     }
 
+    @Test
+    @DisplayName("Given cursor and limit, when getAllActiveProducts, then returned page of active products")
+    public void givenCursorAndLimit_whenGetAllActiveProducts_thenReturnPageOfActiveProducts() {
+        // given
+        ProductPageDto page = ProductPageDto.builder()
+                .products(List.of(ProductDto.builder().productId(2).active(true).build()))
+                .nextCursor("SUR8Mnw")
+                .build();
+        when(productService.getActiveProductsPage(any(ProductFilter.class), any(ProductSort.class), anyString(), anyInt()))
+                .thenReturn(page);
+        when(catalogVersionService.getCatalogVersion()).thenReturn("epoch-1");
+        ServletWebRequest webRequest = new ServletWebRequest(new MockHttpServletRequest());
+
+        // when
+        ResponseEntity<?> response = this.productController.getAllActiveProducts("SUR8MXw", 1, null, null, null, webRequest);
+
+        // then
+        assertThat(response).isNotNull();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(response.getBody()).isEqualTo(page);
+        verify(this.productService).getActiveProductsPage(new ProductFilter(), ProductSort.ID, "SUR8MXw", 1);
+        verifyNoMoreInteractions(this.productService);
+    }
+
+    @Test
+    @DisplayName("Given price range and sort, when getAllActiveProducts, then returned first page with default limit")
+    public void givenPriceRangeAndSort_whenGetAllActiveProducts_thenReturnFirstPageWithDefaultLimit() {
+        // given
+        ProductPageDto page = ProductPageDto.builder()
+                .products(List.of(ProductDto.builder().productId(2).price(30.0).active(true).build()))
+                .build();
+        when(productService.getActiveProductsPage(any(ProductFilter.class), any(ProductSort.class), any(), anyInt()))
+                .thenReturn(page);
+        when(catalogVersionService.getCatalogVersion()).thenReturn("epoch-1");
+        ServletWebRequest webRequest = new ServletWebRequest(new MockHttpServletRequest());
+
+        // when
+        ResponseEntity<?> response = this.productController
+                .getAllActiveProducts(null, null, 20.0, 50.0, ProductSort.PRICE_DESC, webRequest);
+
+        // then
+        assertThat(response).isNotNull();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(page);
+        verify(this.productService)
+                .getActiveProductsPage(new ProductFilter(20.0, 50.0), ProductSort.PRICE_DESC, null, 50);
+        verifyNoMoreInteractions(this.productService);
+    }
+
+    @Test
+    @DisplayName("Given query, when searchActiveProducts, then returned found products with default limit")
+    public void givenQuery_whenSearchActiveProducts_thenReturnFoundProductsWithDefaultLimit() {
+        // given
+        List<ProductDto> products = List.of(ProductDto.builder().productId(2).title("Banana").active(true).build());
+        when(productService.searchActiveProducts(anyString(), anyInt())).thenReturn(products);
+        when(catalogVersionService.getCatalogVersion()).thenReturn("epoch-1");
+        ServletWebRequest webRequest = new ServletWebRequest(new MockHttpServletRequest());
+
+        // when
+        ResponseEntity<?> response = this.productController.searchActiveProducts("banan", null, webRequest);
+
+        // then
+        assertThat(response).isNotNull();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"epoch-1\"");
+        assertThat(response.getBody()).isEqualTo(products);
+        verify(this.productService).searchActiveProducts("banan", 20);
+        verifyNoMoreInteractions(this.productService);
+    }
+
+    @Test
+    @DisplayName("Given prefix, when suggestActiveProducts, then returned suggestions with default limit")
+    public void givenPrefix_whenSuggestActiveProducts_thenReturnSuggestionsWithDefaultLimit() {
+        // given
+        List<ProductDto> products = List.of(ProductDto.builder().productId(2).title("Banana").active(true).build());
+        when(productSuggestService.suggestActiveProducts(anyString(), anyInt())).thenReturn(products);
+        when(catalogVersionService.getCatalogVersion()).thenReturn("epoch-1");
+        ServletWebRequest webRequest = new ServletWebRequest(new MockHttpServletRequest());
+
+        // when
+        ResponseEntity<?> response = this.productController.suggestActiveProducts("ba", null, webRequest);
+
+        // then
+        assertThat(response).isNotNull();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(response.getBody()).isEqualTo(products);
+        verify(this.productSuggestService).suggestActiveProducts("ba", 10);
+        verifyNoInteractions(this.productService);
+    }
+
+    @Test
+    @DisplayName("When streamAllActiveProducts, then returned streaming ndjson response")
+    public void whenStreamAllActiveProducts_thenReturnStreamingNdjsonResponse() {
+        // when
+        ResponseEntity<?> response = this.productController.streamAllActiveProducts();
+
+        // then
+        assertThat(response).isNotNull();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON);
+        assertThat(response.getBody()).isNotNull();
+        verifyNoInteractions(this.productService);
+    }
+
     @Test
     @DisplayName("Given productId, when getProductById, then returned product")
     public void givenProductId_whenGetProductById_thenReturnProduct() {
@@ -58,19 +187,61 @@ class ProductControllerTest {
         int productId = 1;
         ProductDto product = ProductDto.builder().productId(productId).build();
         when(productService.getProductById(anyInt())).thenReturn(product);
+        when(catalogVersionService.getCatalogVersion()).thenReturn("epoch-1");
+        ServletWebRequest webRequest = new ServletWebRequest(new MockHttpServletRequest());
 
         // when
-        ResponseEntity<?> response = this.productController.getProductById(productId);
+        ResponseEntity<?> response = this.productController.getProductById(productId, webRequest);
 
         // then
         assertThat(response).isNotNull();
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"epoch-1\"");
         assertThat(response.getBody()).isEqualTo(product);
         verify(this.productService).getProductById(anyInt());
         verifyNoMoreInteractions(this.productService);
     }
 
+    @Test
+    @DisplayName("Given matching If-None-Match, when getProductById, then not modified without reading product")
+    public void givenMatchingIfNoneMatch_whenGetProductById_thenNotModified() {
+        // given
+        when(catalogVersionService.getCatalogVersion()).thenReturn("epoch-1");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/products/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"epoch-1\"");
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+        ServletWebRequest webRequest = new ServletWebRequest(request, servletResponse);
+
+        // when
+        ResponseEntity<?> response = this.productController.getProductById(1, webRequest);
+
+        // then
+        assertThat(response).isNull();
+        assertThat(servletResponse.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+        assertThat(servletResponse.getHeader(HttpHeaders.ETAG)).isEqualTo("\"epoch-1\"");
+        verifyNoInteractions(this.productService);
+    }
+
+    @Test
+    @DisplayName("Given matching If-None-Match, when getAllActiveProducts, then not modified without reading products")
+    public void givenMatchingIfNoneMatch_whenGetAllActiveProducts_thenNotModified() {
+        // given
+        when(catalogVersionService.getCatalogVersion()).thenReturn("epoch-1");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/products");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"epoch-0\", \"epoch-1\"");
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+        ServletWebRequest webRequest = new ServletWebRequest(request, servletResponse);
+
+        // when
+        ResponseEntity<?> response = this.productController.getAllActiveProducts(null, null, null, null, null, webRequest);
+
+        // then
+        assertThat(response).isNull();
+        assertThat(servletResponse.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+        verifyNoInteractions(this.productService);
+    }
+
     @Test
     @DisplayName("Given product, when createProduct, then returned created product")
     public void givenProduct_whenCreateProduct_thenReturnCreatedProduct() {
@@ -101,6 +272,32 @@ class ProductControllerTest {
         verifyNoMoreInteractions(this.productService);
     }
 
+    @Test
+    @DisplayName("Given products, when saveProducts, then returned result per product")
+    public void givenProducts_whenSaveProducts_thenReturnResultPerProduct() {
+        // given
+        List<ProductDto> products = List.of(ProductDto.builder()
+                .title("Title")
+                .price(100.99)
+                .build());
+        List<ProductSaveResultDto> results = List.of(ProductSaveResultDto.builder()
+                .product(ProductDto.builder().productId(1).title("Title").price(100.99).active(true).build())
+                .status(ProductSaveStatus.CREATED)
+                .build());
+        when(productService.saveProducts(anyList())).thenReturn(results);
+
+        // when
+        ResponseEntity<?> response = this.productController.saveProducts(products);
+
+        // then
+        assertThat(response).isNotNull();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(response.getBody()).isEqualTo(results);
+        verify(this.productService).saveProducts(anyList());
+        verifyNoMoreInteractions(this.productService);
+    }
+
     @Test
     @DisplayName("Given product, when updateProduct, then returned updated product")
     public void givenProduct_whenUpdateProduct_thenReturnUpdatedProduct() {
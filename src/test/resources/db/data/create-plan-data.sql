@@ -0,0 +1,12 @@
+INSERT INTO public.products (product_id, title, price, active)
+SELECT g, 'Product ' || g, (g % 1000) + 0.99, g % 5 <> 0
+FROM generate_series(1, 100000) AS g;
+
+SELECT setval('products_product_id_seq', (SELECT MAX(product_id) FROM products));
+
+SELECT gin_clean_pending_list('idx_products_active_title_trgm');
+
+-- a sample as large as the table, so the statistics and the costs do not change between runs
+SET default_statistics_target = 1000;
+ANALYZE public.products;
+RESET default_statistics_target;
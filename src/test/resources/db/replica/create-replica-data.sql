@@ -0,0 +1,10 @@
+CREATE TABLE products
+(
+    product_id SERIAL PRIMARY KEY,
+    title      VARCHAR(255)     NOT NULL UNIQUE,
+    price      DOUBLE PRECISION NOT NULL,
+    active     BOOLEAN          NOT NULL DEFAULT true
+);
+
+INSERT INTO products (product_id, title, price, active)
+VALUES (100, 'Replica product', 10.5, true);